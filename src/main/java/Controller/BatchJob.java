@@ -0,0 +1,171 @@
+package Controller;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import javafx.concurrent.Task;
+
+/**
+ * Represents a single execution of a batch of programs within the system (e.g.,
+ * every program in a directory).
+ *
+ * Each program in the batch is run as it's own ProgramJob (with it's own staging
+ * directory) on the ProgramRunner's worker pool, so programs in the batch run
+ * in parallel up to the pool's limit. The batch itself waits for the programs on
+ * a thread of it's own, and produces a CSV report of how each program run went.
+ *
+ * Stopping a batch stops all of the programs in it that have not yet finished.
+ */
+public class BatchJob extends Task<String>{
+
+    // member variables
+    private String batchName;
+    private ArrayList<File> programs;
+    private ArrayList<File> availableFiles;
+    private ArrayList<ProgramJob> programJobs; /** The jobs running the programs (filled once the batch starts) */
+    private int succeededCount;
+    private int erroredCount;
+    private int failedCount;
+    private int stoppedCount;
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * @param batchName The name of the batch (displayed in the Terminal).
+     * @param programs The program files in the batch.
+     * @param availableFiles The files (e.g., tables) available to the programs when they are run.
+     */
+    public BatchJob(String batchName, ArrayList<File> programs, ArrayList<File> availableFiles){
+        // initializing
+        this.batchName = batchName;
+        this.programs = programs;
+        this.availableFiles = availableFiles;
+        this.programJobs = new ArrayList<ProgramJob>();
+        this.succeededCount = 0;
+        this.erroredCount = 0;
+        this.failedCount = 0;
+        this.stoppedCount = 0;
+    }
+
+    ///////////////
+    // EXECUTING //
+    ///////////////
+
+    /**
+     * Executes the batch - called on the thread the batch was started on.
+     *
+     * @return The CSV report of the batch.
+     * @throws Exception Thrown if the batch could not be run.
+     */
+    @Override
+    protected String call() throws Exception{
+        return ProgramRunner.executeBatchJob(this);
+    }
+
+    /**
+     * Updates the number of programs in the batch that have finished.
+     *
+     * @param finishedCount The number of programs that have finished.
+     */
+    public void setFinishedCount(int finishedCount){
+        this.updateMessage(finishedCount + " of " + this.programs.size() + " programs run");
+        this.updateProgress(finishedCount, this.programs.size());
+    }
+
+    /**
+     * Records the status of a finished program in the batch.
+     *
+     * @param status The status of the program ("ok", "error", "failed" or "stopped").
+     */
+    public synchronized void recordStatus(String status){
+        if(status.equals("ok")){
+            this.succeededCount++;
+        }
+        else if(status.equals("error")){
+            this.erroredCount++;
+        }
+        else if(status.equals("failed")){
+            this.failedCount++;
+        }
+        else{
+            this.stoppedCount++;
+        }
+    }
+
+    ///////////////////
+    // MANAGING JOBS //
+    ///////////////////
+
+    /**
+     * Adds a ProgramJob to the batch, so that it is stopped if the batch is stopped.
+     *
+     * If the batch has already been stopped, the job is stopped straight away.
+     *
+     * @param programJob The ProgramJob running a program in the batch.
+     */
+    public synchronized void addProgramJob(ProgramJob programJob){
+        this.programJobs.add(programJob);
+
+        // batch already stopped - stopping the job
+        if(this.isCancelled()){
+            programJob.cancel();
+        }
+    }
+
+    /**
+     * Stops the batch, stopping all of the programs in it that have not yet finished.
+     *
+     * @param mayInterruptIfRunning If the thread running the batch should be interrupted.
+     * @return False if the batch could not be stopped (i.e., it has already finished), true otherwise.
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning){
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+
+        // stopping the program jobs
+        synchronized(this){
+            for(ProgramJob programJob : this.programJobs){
+                programJob.cancel();
+            }
+        }
+
+        return cancelled;
+    }
+
+    ///////////////
+    // REPORTING //
+    ///////////////
+
+    /**
+     * Returns a summary of the batch (e.g., "12 programs : 10 ok, 1 error, 1 failed, 0 stopped").
+     *
+     * @return A summary of the batch.
+     */
+    public synchronized String getSummary(){
+        return this.programs.size() + " programs : " +
+               this.succeededCount + " ok, " +
+               this.erroredCount + " error, " +
+               this.failedCount + " failed, " +
+               this.stoppedCount + " stopped";
+    }
+
+    /////////////////////////
+    // GETTERS AND SETTERS //
+    /////////////////////////
+
+    public String getBatchName(){
+        return this.batchName;
+    }
+
+    public ArrayList<File> getPrograms(){
+        return this.programs;
+    }
+
+    public ArrayList<File> getAvailableFiles(){
+        return this.availableFiles;
+    }
+}
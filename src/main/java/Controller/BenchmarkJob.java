@@ -0,0 +1,230 @@
+package Controller;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Locale;
+
+import javafx.concurrent.Task;
+
+import Model.FileType;
+
+/**
+ * Represents a benchmark of a single program - the program is run a number of
+ * times in a row, and the latency of each run is recorded.
+ *
+ * The first runs are warm-up runs (e.g., to warm the Python worker and the
+ * filesystem cache) and are not included in the statistics. Runs are made one
+ * at a time (on the ProgramRunner's worker pool) so that they do not compete
+ * with each other, and never use the ResultCache. The benchmark produces a CSV
+ * report of the latency statistics (min, median, p95, max, mean and variance)
+ * and the size of the program's output.
+ *
+ * Stopping a benchmark stops the run it is currently making.
+ */
+public class BenchmarkJob extends Task<String>{
+
+    // member variables
+    private String programName;
+    private FileType programType;
+    private ArrayList<File> neededFiles;
+    private int iterations;
+    private int warmups;
+    private ProgramJob currentJob; /** The job making the current run (null between runs) */
+    private String summary;
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * @param programName The name of the program being benchmarked.
+     * @param programType The FileType of the program being benchmarked.
+     * @param neededFiles The files needed by the program when it is run.
+     * @param iterations The number of measured runs.
+     * @param warmups The number of warm-up runs made before the measured runs.
+     */
+    public BenchmarkJob(String programName, FileType programType, ArrayList<File> neededFiles, int iterations, int warmups){
+        // initializing
+        this.programName = programName;
+        this.programType = programType;
+        this.neededFiles = neededFiles;
+        this.iterations = iterations;
+        this.warmups = warmups;
+        this.currentJob = null;
+        this.summary = "";
+    }
+
+    ///////////////
+    // EXECUTING //
+    ///////////////
+
+    /**
+     * Executes the benchmark - called on the thread the benchmark was started on.
+     *
+     * @return The CSV report of the benchmark.
+     * @throws Exception Thrown if a run of the program failed.
+     */
+    @Override
+    protected String call() throws Exception{
+        return ProgramRunner.executeBenchmarkJob(this);
+    }
+
+    /**
+     * Updates the run of the benchmark that is displayed to the user.
+     *
+     * @param runNumber The number of the run being made (starting from 1, including warm-ups).
+     */
+    public void setRunNumber(int runNumber){
+        if(runNumber <= this.warmups){
+            this.updateMessage("Warm-up " + runNumber + " of " + this.warmups);
+        }
+        else{
+            this.updateMessage("Run " + (runNumber - this.warmups) + " of " + this.iterations);
+        }
+        this.updateProgress(runNumber - 1, this.warmups + this.iterations);
+    }
+
+    ///////////////////
+    // MANAGING JOBS //
+    ///////////////////
+
+    /**
+     * Sets the job making the current run, so that it is stopped if the benchmark
+     * is stopped.
+     *
+     * If the benchmark has already been stopped, the job is stopped straight away.
+     *
+     * @param currentJob The ProgramJob making the current run.
+     */
+    public synchronized void setCurrentJob(ProgramJob currentJob){
+        this.currentJob = currentJob;
+
+        // benchmark already stopped - stopping the job
+        if(this.isCancelled() && currentJob != null){
+            currentJob.cancel();
+        }
+    }
+
+    /**
+     * Stops the benchmark, stopping the run it is currently making.
+     *
+     * @param mayInterruptIfRunning If the thread running the benchmark should be interrupted.
+     * @return False if the benchmark could not be stopped (i.e., it has already finished), true otherwise.
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning){
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+
+        // stopping the current run
+        synchronized(this){
+            if(this.currentJob != null){
+                this.currentJob.cancel();
+            }
+        }
+
+        return cancelled;
+    }
+
+    ///////////////
+    // REPORTING //
+    ///////////////
+
+    /**
+     * Creates the CSV report of the benchmark from the measured latencies.
+     *
+     * @param latencies The latency of each measured run in milliseconds.
+     * @param outputLines The number of lines output by the program.
+     * @param outputBytes The size of the program's output.
+     * @return The CSV report of the benchmark.
+     */
+    public String createReport(ArrayList<Double> latencies, long outputLines, long outputBytes){
+        // sorted latencies (for the order statistics)
+        ArrayList<Double> sorted = new ArrayList<Double>(latencies);
+        Collections.sort(sorted);
+
+        // mean and (sample) variance
+        double mean = 0;
+        for(double latency : latencies){
+            mean += latency;
+        }
+        mean /= latencies.size();
+
+        double variance = 0;
+        for(double latency : latencies){
+            variance += (latency - mean) * (latency - mean);
+        }
+        variance = (latencies.size() > 1) ? variance / (latencies.size() - 1) : 0;
+
+        double median = BenchmarkJob.getPercentile(sorted, 0.5);
+
+        // summary displayed with the report
+        this.summary = String.format(Locale.ROOT, "%d runs : median %.1f ms, p95 %.1f ms", latencies.size(), median, BenchmarkJob.getPercentile(sorted, 0.95));
+
+        // REPORT //
+
+        StringBuilder report = new StringBuilder("statistic,value");
+        report.append("\nprogram,").append(this.programName);
+        report.append("\niterations,").append(this.iterations);
+        report.append("\nwarmups,").append(this.warmups);
+        report.append(String.format(Locale.ROOT, "\nmin_ms,%.3f", sorted.get(0)));
+        report.append(String.format(Locale.ROOT, "\nmedian_ms,%.3f", median));
+        report.append(String.format(Locale.ROOT, "\np95_ms,%.3f", BenchmarkJob.getPercentile(sorted, 0.95)));
+        report.append(String.format(Locale.ROOT, "\nmax_ms,%.3f", sorted.get(sorted.size() - 1)));
+        report.append(String.format(Locale.ROOT, "\nmean_ms,%.3f", mean));
+        report.append(String.format(Locale.ROOT, "\nvariance_ms2,%.3f", variance));
+        report.append(String.format(Locale.ROOT, "\nstddev_ms,%.3f", Math.sqrt(variance)));
+        report.append("\noutput_lines,").append(outputLines);
+        report.append("\noutput_bytes,").append(outputBytes);
+
+        // individual runs (in the order they were made)
+        for(int i = 0; i < latencies.size(); i++){
+            report.append(String.format(Locale.ROOT, "\nrun_%d_ms,%.3f", i + 1, latencies.get(i)));
+        }
+
+        return report.toString();
+    }
+
+    /**
+     * Returns the provided percentile of the provided sorted values (using the
+     * nearest-rank method).
+     *
+     * @param sorted The values, sorted in ascending order.
+     * @param percentile The percentile (between 0 and 1).
+     * @return The value at the percentile.
+     */
+    private static double getPercentile(ArrayList<Double> sorted, double percentile){
+        int rank = (int) Math.ceil(percentile * sorted.size());
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, rank - 1)));
+    }
+
+    /////////////////////////
+    // GETTERS AND SETTERS //
+    /////////////////////////
+
+    public String getProgramName(){
+        return this.programName;
+    }
+
+    public FileType getProgramType(){
+        return this.programType;
+    }
+
+    public ArrayList<File> getNeededFiles(){
+        return this.neededFiles;
+    }
+
+    public int getIterations(){
+        return this.iterations;
+    }
+
+    public int getWarmups(){
+        return this.warmups;
+    }
+
+    public String getSummary(){
+        return this.summary;
+    }
+}
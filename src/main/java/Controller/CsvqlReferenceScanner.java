@@ -0,0 +1,266 @@
+package Controller;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import Model.FileType;
+
+/**
+ * Lightweight scanner that determines which tables a CSVQL program makes use
+ * of, without fully parsing the program.
+ *
+ * The program is broken into tokens (quoted strings and words), and any token
+ * that names a table file (e.g., "A.csv") is treated as a reference to that
+ * table. Tokens that match the name of an available table without it's
+ * extension (e.g., "A" for "A.csv") are also treated as references.
+ *
+ * The scanner errs on the side of including tables - a false match only means
+ * an extra table is staged for the run (or copied rather than linked).
+ */
+public class CsvqlReferenceScanner {
+
+    // constants
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("\"([^\"]*)\"|'([^']*)'|([A-Za-z0-9_\\-./\\\\]+)");
+    private static final Pattern STATEMENT_PATTERN = Pattern.compile(TOKEN_PATTERN.pattern() + "|(;)"); /** Tokens, and the semi-colons that end statements */
+    private static final List<String> WRITE_KEYWORDS = Arrays.asList("INSERT", "UPDATE", "DELETE", "INTO"); /** Keywords of statements that write to a table */
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * Private as cannot be instantiated.
+     */
+    private CsvqlReferenceScanner(){}
+
+    //////////////
+    // SCANNING //
+    //////////////
+
+    /**
+     * Gathers all of the tokens within the provided program that name a table
+     * file (i.e., have a table file extension).
+     *
+     * @param program The source code of the CSVQL program.
+     * @return The names of all table files named in the program.
+     */
+    public static LinkedHashSet<String> getReferencedTableNames(String program){
+        // set to hold table names (in order of appearance)
+        LinkedHashSet<String> tableNames = new LinkedHashSet<String>();
+
+        // iterating through tokens
+        for(String token : CsvqlReferenceScanner.getTokens(program)){
+            // gathering the name of the file (in case a path was given)
+            String name = new File(token).getName();
+
+            if(FileType.TABLE.fileHasSameFileType(name)){
+                tableNames.add(name);
+            }
+        }
+
+        // returning table names
+        return tableNames;
+    }
+
+    /**
+     * Determines which of the provided table files are referenced by the provided
+     * program.
+     *
+     * @param program The source code of the CSVQL program.
+     * @param tables The table files available to the program.
+     * @return The table files referenced by the program.
+     */
+    public static ArrayList<File> getReferencedTables(String program, ArrayList<File> tables){
+        // gathering tokens in the program
+        LinkedHashSet<String> tokens = new LinkedHashSet<String>();
+        for(String token : CsvqlReferenceScanner.getTokens(program)){
+            tokens.add(new File(token).getName());
+        }
+
+        // returning referenced tables
+        return CsvqlReferenceScanner.getNamedTables(tokens, tables);
+    }
+
+    /**
+     * Determines which of the provided table files the provided program may
+     * write to - the tables named in any statement that inserts into, updates
+     * or deletes from a table (directly, or through a variable the table was
+     * read into).
+     *
+     * @param program The source code of the CSVQL program.
+     * @param tables The table files available to the program.
+     * @return The table files the program may write to.
+     */
+    public static ArrayList<File> getWrittenTables(String program, ArrayList<File> tables){
+        LinkedHashSet<String> writtenNames = new LinkedHashSet<String>();
+        HashMap<String, ArrayList<String>> variables = new HashMap<String, ArrayList<String>>();
+
+        // gathering the names in write statements, and the names each variable is made from
+        for(ArrayList<String> statement : CsvqlReferenceScanner.getStatements(program)){
+            if(statement.size() > 1 && statement.get(0).equals("LET")){
+                variables.put(statement.get(1), statement);
+            }
+            if(!Collections.disjoint(statement, WRITE_KEYWORDS)){
+                writtenNames.addAll(statement);
+            }
+        }
+
+        // names written through a variable (the variable may itself be made from other variables)
+        ArrayList<String> unexpanded = new ArrayList<String>(writtenNames);
+        while(!unexpanded.isEmpty()){
+            ArrayList<String> names = variables.get(unexpanded.remove(unexpanded.size() - 1));
+            if(names != null){
+                for(String name : names){
+                    if(writtenNames.add(name)){
+                        unexpanded.add(name);
+                    }
+                }
+            }
+        }
+
+        // gathering the file names of the written names
+        LinkedHashSet<String> writtenFileNames = new LinkedHashSet<String>();
+        for(String name : writtenNames){
+            writtenFileNames.add(new File(name).getName());
+        }
+
+        // returning written tables
+        return CsvqlReferenceScanner.getNamedTables(writtenFileNames, tables);
+    }
+
+    /**
+     * Determines which table files are named in the provided program but are
+     * not within the provided list of available tables.
+     *
+     * @param program The source code of the CSVQL program.
+     * @param tables The table files available to the program.
+     * @return The names of the table files named in the program that are not available.
+     */
+    public static ArrayList<String> getMissingTableNames(String program, ArrayList<File> tables){
+        // gathering names of available tables
+        ArrayList<String> availableNames = new ArrayList<String>();
+        for(File table : tables){
+            availableNames.add(table.getName());
+        }
+
+        // list to store missing table names
+        ArrayList<String> missingNames = new ArrayList<String>();
+
+        // table missing if it is named but not available
+        for(String tableName : CsvqlReferenceScanner.getReferencedTableNames(program)){
+            if(!availableNames.contains(tableName)){
+                missingNames.add(tableName);
+            }
+        }
+
+        // returning missing table names
+        return missingNames;
+    }
+
+    ////////////////////
+    // HELPER METHODS //
+    ////////////////////
+
+    /**
+     * Determines which of the provided table files are named by the provided
+     * tokens - a table is named if it's name (with or without extension) is
+     * one of the tokens.
+     *
+     * @param tokens The tokens being checked.
+     * @param tables The table files available to the program.
+     * @return The table files named by the tokens.
+     */
+    private static ArrayList<File> getNamedTables(LinkedHashSet<String> tokens, ArrayList<File> tables){
+        // list to store named tables
+        ArrayList<File> namedTables = new ArrayList<File>();
+
+        // table named if it's name (with or without extension) is a token
+        for(File table : tables){
+            String name = table.getName();
+            String nameWithoutExtension = name.contains(".") ? name.substring(0, name.lastIndexOf(".")) : name;
+
+            if(tokens.contains(name) || tokens.contains(nameWithoutExtension)){
+                namedTables.add(table);
+            }
+        }
+
+        // returning named tables
+        return namedTables;
+    }
+
+    /**
+     * Breaks the provided program into it's statements (ended by semi-colons
+     * outside of quoted strings), each as a list of it's tokens.
+     *
+     * @param program The source code of the CSVQL program.
+     * @return The tokens of each statement within the program.
+     */
+    private static ArrayList<ArrayList<String>> getStatements(String program){
+        // list to store statements
+        ArrayList<ArrayList<String>> statements = new ArrayList<ArrayList<String>>();
+        ArrayList<String> statement = new ArrayList<String>();
+
+        // iterating through matches
+        Matcher matcher = STATEMENT_PATTERN.matcher(program);
+        while(matcher.find()){
+            // end of the statement
+            if(matcher.group(4) != null){
+                statements.add(statement);
+                statement = new ArrayList<String>();
+                continue;
+            }
+
+            // gathering whichever group matched (double quoted, single quoted or word)
+            for(int group = 1; group <= 3; group++){
+                if(matcher.group(group) != null){
+                    statement.add(matcher.group(group).trim());
+                    break;
+                }
+            }
+        }
+
+        // final statement (not ended by a semi-colon)
+        if(!statement.isEmpty()){
+            statements.add(statement);
+        }
+
+        // returning statements
+        return statements;
+    }
+
+    /**
+     * Breaks the provided program into it's tokens - the content of quoted strings
+     * and the words outside of them.
+     *
+     * @param program The source code of the CSVQL program.
+     * @return The tokens within the program.
+     */
+    private static ArrayList<String> getTokens(String program){
+        // list to store tokens
+        ArrayList<String> tokens = new ArrayList<String>();
+
+        // iterating through matches
+        Matcher matcher = TOKEN_PATTERN.matcher(program);
+        while(matcher.find()){
+            // gathering whichever group matched (double quoted, single quoted or word)
+            for(int group = 1; group <= 3; group++){
+                if(matcher.group(group) != null){
+                    tokens.add(matcher.group(group).trim());
+                    break;
+                }
+            }
+        }
+
+        // returning tokens
+        return tokens;
+    }
+}
@@ -0,0 +1,330 @@
+package Controller.Engine;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+
+/**
+ * A single column of a ColumnarTable.
+ *
+ * Values are dictionary encoded - each distinct value is stored once, and each
+ * row holds the code of it's value (as a byte or short when the dictionary is
+ * small enough). Rows that do not have the column at all (rows shorter than
+ * the table) are marked in a null bitmap.
+ *
+ * A column is built by appending values a row at a time, and then finished -
+ * after which it cannot be changed.
+ */
+public class Column {
+
+    // constants
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // member variables
+    private int[] codes; /** Dictionary code of each row's value (while building, or for large dictionaries) */
+    private byte[] byteCodes; /** Codes for dictionaries of up to 256 values */
+    private short[] shortCodes; /** Codes for dictionaries of up to 65536 values */
+    private int rowCount;
+    private BitSet nulls; /** Rows that do not have this column */
+    private String[] dictionary; /** Distinct values, indexed by code (null until finished) */
+    private HashMap<String, Integer> dictionaryBuilder; /** Codes of the values seen so far (null once finished) */
+    private ArrayList<String> valuesBuilder; /** Values seen so far, indexed by code (null once finished) */
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * @param nullRows The number of rows before this column was first seen
+     * (which do not have the column).
+     */
+    public Column(int nullRows){
+        // initializing
+        this.codes = new int[Math.max(INITIAL_CAPACITY, nullRows)];
+        this.rowCount = 0;
+        this.nulls = new BitSet();
+        this.dictionary = null;
+        this.dictionaryBuilder = new HashMap<String, Integer>();
+        this.valuesBuilder = new ArrayList<String>();
+
+        // rows that came before the column
+        for(int row = 0; row < nullRows; row++){
+            this.appendNull();
+        }
+    }
+
+    /**
+     * Class constructor.
+     *
+     * Creates an empty column to be filled in by readBinary().
+     */
+    private Column(){}
+
+    //////////////
+    // BUILDING //
+    //////////////
+
+    /**
+     * Appends a value to the end of the column.
+     *
+     * @param value The value being appended.
+     */
+    public void append(String value){
+        Integer code = this.dictionaryBuilder.get(value);
+        if(code == null){
+            code = this.valuesBuilder.size();
+            this.dictionaryBuilder.put(value, code);
+            this.valuesBuilder.add(value);
+        }
+        this.appendCode(code);
+    }
+
+    /**
+     * Appends a row that does not have this column.
+     */
+    public void appendNull(){
+        this.nulls.set(this.rowCount);
+        this.appendCode(0);
+    }
+
+    /**
+     * Appends the rows of another (unfinished) column to the end of this one,
+     * re-coding it's values into this column's dictionary.
+     *
+     * @param other The column being appended.
+     */
+    public void appendColumn(Column other){
+        // mapping the other column's codes onto this column's codes
+        int[] remap = new int[other.valuesBuilder.size()];
+        for(int code = 0; code < remap.length; code++){
+            String value = other.valuesBuilder.get(code);
+            Integer thisCode = this.dictionaryBuilder.get(value);
+            if(thisCode == null){
+                thisCode = this.valuesBuilder.size();
+                this.dictionaryBuilder.put(value, thisCode);
+                this.valuesBuilder.add(value);
+            }
+            remap[code] = thisCode;
+        }
+
+        // appending the rows
+        for(int row = 0; row < other.rowCount; row++){
+            if(other.nulls.get(row)){
+                this.appendNull();
+            }
+            else{
+                this.appendCode(remap[other.codes[row]]);
+            }
+        }
+    }
+
+    /**
+     * Appends a dictionary code to the end of the column.
+     *
+     * @param code The code being appended.
+     */
+    private void appendCode(int code){
+        if(this.rowCount == this.codes.length){
+            this.codes = Arrays.copyOf(this.codes, this.codes.length * 2);
+        }
+        this.codes[this.rowCount++] = code;
+    }
+
+    /**
+     * Finishes building the column, trimming the codes and discarding the data
+     * only needed while building.
+     */
+    public void finish(){
+        // narrowing the codes to the smallest type that can hold them
+        if(this.valuesBuilder.size() <= 256){
+            this.byteCodes = new byte[this.rowCount];
+            for(int row = 0; row < this.rowCount; row++){
+                this.byteCodes[row] = (byte) this.codes[row];
+            }
+            this.codes = null;
+        }
+        else if(this.valuesBuilder.size() <= 65536){
+            this.shortCodes = new short[this.rowCount];
+            for(int row = 0; row < this.rowCount; row++){
+                this.shortCodes[row] = (short) this.codes[row];
+            }
+            this.codes = null;
+        }
+        else{
+            this.codes = Arrays.copyOf(this.codes, this.rowCount);
+        }
+
+        this.dictionary = this.valuesBuilder.toArray(new String[0]);
+        this.dictionaryBuilder = null;
+        this.valuesBuilder = null;
+    }
+
+    /////////////////
+    // SERIALIZING //
+    /////////////////
+
+    /**
+     * Writes the (finished) column in binary form.
+     *
+     * @param out The stream the column is written to.
+     * @throws Exception Thrown if the column could not be written.
+     */
+    public void writeBinary(DataOutputStream out) throws Exception{
+        // dictionary
+        out.writeInt(this.dictionary.length);
+        for(String value : this.dictionary){
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        // codes
+        out.writeInt(this.rowCount);
+        if(this.byteCodes != null){
+            out.writeByte(1);
+            out.write(this.byteCodes);
+        }
+        else if(this.shortCodes != null){
+            out.writeByte(2);
+            for(short code : this.shortCodes){
+                out.writeShort(code);
+            }
+        }
+        else{
+            out.writeByte(4);
+            for(int code : this.codes){
+                out.writeInt(code);
+            }
+        }
+
+        // null bitmap
+        long[] nullWords = this.nulls.toLongArray();
+        out.writeInt(nullWords.length);
+        for(long word : nullWords){
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * Reads a finished column written by writeBinary().
+     *
+     * @param in The stream the column is read from.
+     * @return The column.
+     * @throws Exception Thrown if the column could not be read.
+     */
+    public static Column readBinary(DataInputStream in) throws Exception{
+        Column column = new Column();
+
+        // dictionary
+        column.dictionary = new String[in.readInt()];
+        for(int code = 0; code < column.dictionary.length; code++){
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            column.dictionary[code] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        // codes
+        column.rowCount = in.readInt();
+        int codeWidth = in.readByte();
+        if(codeWidth == 1){
+            column.byteCodes = new byte[column.rowCount];
+            in.readFully(column.byteCodes);
+        }
+        else if(codeWidth == 2){
+            column.shortCodes = new short[column.rowCount];
+            for(int row = 0; row < column.rowCount; row++){
+                column.shortCodes[row] = in.readShort();
+            }
+        }
+        else{
+            column.codes = new int[column.rowCount];
+            for(int row = 0; row < column.rowCount; row++){
+                column.codes[row] = in.readInt();
+            }
+        }
+
+        // null bitmap
+        long[] nullWords = new long[in.readInt()];
+        for(int word = 0; word < nullWords.length; word++){
+            nullWords[word] = in.readLong();
+        }
+        column.nulls = BitSet.valueOf(nullWords);
+
+        return column;
+    }
+
+    ///////////////
+    // ACCESSING //
+    ///////////////
+
+    /**
+     * Returns the value in the provided row.
+     *
+     * @param row The index of the row.
+     * @return The value in the row (null if the row does not have the column).
+     */
+    public String get(int row){
+        return this.nulls.get(row) ? null : this.dictionary[this.getCode(row)];
+    }
+
+    /**
+     * Determines if the provided row does not have this column.
+     *
+     * @param row The index of the row.
+     * @return True if the row does not have the column, false otherwise.
+     */
+    public boolean isNull(int row){
+        return this.nulls.get(row);
+    }
+
+    /**
+     * Returns an estimate of the memory used by the column.
+     *
+     * @return The estimated size of the column in bytes.
+     */
+    public long getMemoryUsage(){
+        long bytes = 16 + this.nulls.size() / 8;
+        if(this.byteCodes != null){
+            bytes += this.byteCodes.length;
+        }
+        else if(this.shortCodes != null){
+            bytes += 2L * this.shortCodes.length;
+        }
+        else{
+            bytes += 4L * this.codes.length;
+        }
+        for(String value : this.dictionary){
+            // object and array headers, plus the (Latin-1) characters
+            bytes += 56 + value.length();
+        }
+        return bytes;
+    }
+
+    /////////////////////////
+    // GETTERS AND SETTERS //
+    /////////////////////////
+
+    public int getCode(int row){
+        if(this.byteCodes != null){
+            return this.byteCodes[row] & 0xFF;
+        }
+        else if(this.shortCodes != null){
+            return this.shortCodes[row] & 0xFFFF;
+        }
+        return this.codes[row];
+    }
+
+    public String[] getDictionary(){
+        return this.dictionary;
+    }
+
+    public int getRowCount(){
+        return this.rowCount;
+    }
+}
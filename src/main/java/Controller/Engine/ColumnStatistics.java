@@ -0,0 +1,257 @@
+package Controller.Engine;
+
+import java.io.File;
+import java.util.Arrays;
+
+import Controller.MappedCsvReader;
+
+/**
+ * Statistics describing a single column of a table, for display and for
+ * estimating the cost of queries (e.g., the number of distinct keys a join
+ * will hash).
+ *
+ * Statistics are gathered in a single pass over the values of the column -
+ * either a Column of a ColumnarTable, or a table read straight from it's file
+ * (without building it's columnar form). The distinct count is estimated with
+ * a HyperLogLog sketch, so gathering it takes the same small amount of memory
+ * for a column of any size.
+ */
+public class ColumnStatistics {
+
+    // member variables
+    private int rowCount; /** Number of rows in the table */
+    private int nullCount; /** Number of rows that do not have the column */
+    private int emptyCount; /** Number of rows where the column is empty */
+    private int distinctCount; /** Estimated number of distinct values in the column (including empty) */
+    private boolean numeric; /** If every non-empty value in the column is a number */
+    private String min; /** Smallest non-empty value (null if there are none) */
+    private String max; /** Largest non-empty value (null if there are none) */
+    private HyperLogLog sketch; /** Sketch of the distinct values (null once finished) */
+    private String textMin; /** Smallest non-empty value as text (while gathering) */
+    private String textMax; /** Largest non-empty value as text (while gathering) */
+    private double numericMin; /** Smallest non-empty value as a number (while gathering) */
+    private double numericMax; /** Largest non-empty value as a number (while gathering) */
+    private String numericMinValue; /** Value holding numericMin (while gathering) */
+    private String numericMaxValue; /** Value holding numericMax (while gathering) */
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * Private as statistics are created through compute() and read().
+     */
+    private ColumnStatistics(){
+        this.sketch = new HyperLogLog();
+        this.numeric = true;
+    }
+
+    /**
+     * Computes the statistics of the provided (finished) column.
+     *
+     * Each distinct value of the column is only looked at once (through it's
+     * dictionary) - only the null and empty counts need a scan of it's rows.
+     *
+     * @param column The column being described.
+     * @return The statistics of the column.
+     */
+    public static ColumnStatistics compute(Column column){
+        ColumnStatistics statistics = new ColumnStatistics();
+
+        // SCANNING THE DICTIONARY //
+
+        String[] dictionary = column.getDictionary();
+        int emptyCode = -1;
+        for(int code = 0; code < dictionary.length; code++){
+            if(dictionary[code].isEmpty()){
+                emptyCode = code;
+            }
+            statistics.addValue(dictionary[code]);
+        }
+
+        // SCANNING THE ROWS //
+
+        statistics.rowCount = column.getRowCount();
+        for(int row = 0; row < statistics.rowCount; row++){
+            if(column.isNull(row)){
+                statistics.nullCount++;
+            }
+            else if(column.getCode(row) == emptyCode){
+                statistics.emptyCount++;
+            }
+        }
+
+        statistics.finish();
+        return statistics;
+    }
+
+    /**
+     * Reads the statistics of every column of the table stored in the provided
+     * file, in a single pass over the file (the table is not held in memory).
+     *
+     * @param file The file the table is stored in.
+     * @param delim The delimiter used in the file.
+     * @return The statistics of each column, in order.
+     * @throws Exception Thrown if the file could not be read.
+     */
+    public static ColumnStatistics[] read(File file, String delim) throws Exception{
+        ColumnStatistics[] statistics = new ColumnStatistics[0];
+
+        try(MappedCsvReader reader = new MappedCsvReader(file, delim, Runtime.getRuntime().availableProcessors())){
+            int rowCount = reader.getRowCount();
+            for(int row = 0; row < rowCount; row++){
+                String[] values = reader.getRow(row);
+
+                // columns first seen in this row (missing from every row before it)
+                if(values.length > statistics.length){
+                    int oldLength = statistics.length;
+                    statistics = Arrays.copyOf(statistics, values.length);
+                    for(int column = oldLength; column < values.length; column++){
+                        statistics[column] = new ColumnStatistics();
+                        statistics[column].nullCount = row;
+                    }
+                }
+
+                for(int column = 0; column < statistics.length; column++){
+                    if(column >= values.length){
+                        statistics[column].nullCount++;
+                        continue;
+                    }
+                    if(values[column].isEmpty()){
+                        statistics[column].emptyCount++;
+                    }
+                    statistics[column].addValue(values[column]);
+                }
+            }
+
+            for(ColumnStatistics columnStatistics : statistics){
+                columnStatistics.rowCount = rowCount;
+                columnStatistics.finish();
+            }
+        }
+
+        return statistics;
+    }
+
+    ///////////////
+    // GATHERING //
+    ///////////////
+
+    /**
+     * Adds a (non-missing) value of the column to the statistics.
+     *
+     * @param value The value being added.
+     */
+    private void addValue(String value){
+        this.sketch.add(value);
+        if(value.isEmpty()){
+            return;
+        }
+
+        // smallest and largest as text
+        if(this.textMin == null || value.compareTo(this.textMin) < 0){
+            this.textMin = value;
+        }
+        if(this.textMax == null || value.compareTo(this.textMax) > 0){
+            this.textMax = value;
+        }
+
+        // smallest and largest as a number (while every value is one)
+        if(this.numeric){
+            Double number = ColumnStatistics.toNumber(value);
+            if(number == null){
+                this.numeric = false;
+                this.numericMinValue = null;
+                this.numericMaxValue = null;
+            }
+            else{
+                if(this.numericMinValue == null || number < this.numericMin){
+                    this.numericMin = number;
+                    this.numericMinValue = value;
+                }
+                if(this.numericMaxValue == null || number > this.numericMax){
+                    this.numericMax = number;
+                    this.numericMaxValue = value;
+                }
+            }
+        }
+    }
+
+    /**
+     * Completes the statistics once every value has been added (min and max are
+     * numeric if every value is a number), releasing the state used to gather them.
+     */
+    private void finish(){
+        this.distinctCount = (int) Math.min(Integer.MAX_VALUE, this.sketch.estimate());
+        this.numeric = this.numeric && this.textMin != null;
+        this.min = this.numeric ? this.numericMinValue : this.textMin;
+        this.max = this.numeric ? this.numericMaxValue : this.textMax;
+
+        this.sketch = null;
+        this.textMin = null;
+        this.textMax = null;
+        this.numericMinValue = null;
+        this.numericMaxValue = null;
+    }
+
+    /////////////
+    // HELPERS //
+    /////////////
+
+    /**
+     * Converts the provided value to a number.
+     *
+     * @param value The value being converted.
+     * @return The value as a number (null if it is not a number).
+     */
+    private static Double toNumber(String value){
+        try{
+            return Double.parseDouble(value);
+        }
+        catch(NumberFormatException e){
+            return null;
+        }
+    }
+
+    /////////////////////////
+    // GETTERS AND SETTERS //
+    /////////////////////////
+
+    public int getRowCount(){
+        return this.rowCount;
+    }
+
+    public int getNullCount(){
+        return this.nullCount;
+    }
+
+    public int getEmptyCount(){
+        return this.emptyCount;
+    }
+
+    public int getDistinctCount(){
+        return this.distinctCount;
+    }
+
+    public boolean isNumeric(){
+        return this.numeric;
+    }
+
+    public String getMin(){
+        return this.min;
+    }
+
+    public String getMax(){
+        return this.max;
+    }
+
+    @Override
+    public String toString(){
+        String range = (this.min == null) ? "no values" : (this.min + " to " + this.max).replace('\n', ' ');
+        return "~" + this.distinctCount + " distinct, " + range + 
+               ((this.numeric) ? " (numeric)" : "") + 
+               ((this.nullCount + this.emptyCount > 0) ? ", " + (this.nullCount + this.emptyCount) + " missing" : "");
+    }
+}
@@ -0,0 +1,225 @@
+package Controller.Engine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import Controller.FileManager;
+
+/**
+ * On-disk cache of ColumnarTables, so that a table only has to be parsed from
+ * it's CSV file once - including across restarts of the IDE.
+ *
+ * Each table file has one cache file in a per-user cache directory (named after
+ * the checksum of the table's path and delimiter), holding the table in binary
+ * columnar form. The cache file starts with the key of the version of the table
+ * it holds (path, size, modified time, delimiter and a sampled content hash), so
+ * a changed table file is parsed again, and it's cache file rebuilt in the
+ * background.
+ *
+ * The cache is kept within a size budget by evicting the least recently used
+ * tables.
+ */
+public class ColumnarCache {
+
+    // constants
+    private static final String CACHE_NAME = "tables";
+    private static final String TABLE_EXTENSION = ".bin";
+    private static final int MAGIC = 0x4353514C; /** "CSQL" - marks a cache file */
+    private static final int FORMAT_VERSION = 1; /** Changed whenever the binary format changes */
+    private static final long SIZE_BUDGET = 2L * 1024 * 1024 * 1024; /** Maximum total size of cached tables */
+
+    // member variables
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor((runnable) -> {
+        // writer thread is a daemon so that it does not keep the application alive
+        Thread thread = new Thread(runnable, "table-cache-writer");
+        thread.setDaemon(true);
+        return thread;
+    }); /** Writes cache files in the background, one at a time */
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * Private as cannot be instantiated.
+     */
+    private ColumnarCache(){}
+
+    //////////////////////
+    // CREATING THE KEY //
+    //////////////////////
+
+    /**
+     * Creates the key for the current version of the provided table file.
+     *
+     * @param file The table file.
+     * @param delim The delimiter the table is read with.
+     * @return The key for the current version of the table.
+     * @throws Exception Thrown if the file could not be fingerprinted.
+     */
+    public static String getKey(File file, String delim) throws Exception{
+        return file.getAbsolutePath() + ":" + 
+               file.length() + ":" + 
+               file.lastModified() + ":" + 
+               delim + ":" + 
+               FileManager.getSampledChecksum(file);
+    }
+
+    /////////////
+    // LOADING //
+    /////////////
+
+    /**
+     * Loads the cached version of the provided table file (if there is one
+     * for the current version of the file).
+     *
+     * @param file The table file.
+     * @param delim The delimiter the table is read with.
+     * @param key The key for the current version of the table.
+     * @return The cached table, or null if there is no current cached table.
+     * @throws Exception Thrown if the cache file could not be read.
+     */
+    public static ColumnarTable load(File file, String delim, String key) throws Exception{
+        File cacheFile = ColumnarCache.getCacheFile(file, delim);
+        if(!cacheFile.isFile()){
+            return null;
+        }
+
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile.toPath()), 1024 * 1024))){
+            // checking the file holds the current version of the table
+            if(in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !in.readUTF().equals(key)){
+                return null;
+            }
+
+            ColumnarTable table = ColumnarTable.readBinary(in);
+
+            // marking the table as recently used
+            cacheFile.setLastModified(System.currentTimeMillis());
+
+            return table;
+        }
+    }
+
+    /////////////
+    // STORING //
+    /////////////
+
+    /**
+     * Stores the provided table in the cache on a background thread.
+     *
+     * @param file The table file.
+     * @param delim The delimiter the table was read with.
+     * @param key The key for the version of the table that was read.
+     * @param table The table read from the file.
+     */
+    public static void storeInBackground(File file, String delim, String key, ColumnarTable table){
+        ColumnarCache.writer.submit(() -> {
+            try{
+                ColumnarCache.store(file, delim, key, table);
+            }
+            catch(Exception e){
+                // table could not be cached - it will be parsed again next time
+            }
+        });
+    }
+
+    /**
+     * Stores the provided table in the cache, and evicts the least recently
+     * used tables if the cache is over budget.
+     *
+     * @param file The table file.
+     * @param delim The delimiter the table was read with.
+     * @param key The key for the version of the table that was read.
+     * @param table The table read from the file.
+     * @throws Exception Thrown if the table could not be stored.
+     */
+    public static synchronized void store(File file, String delim, String key, ColumnarTable table) throws Exception{
+        File cacheFile = ColumnarCache.getCacheFile(file, delim);
+
+        // writing to a temp file and moving it into place (so a partially written table is never loaded)
+        Path tmpFile = Files.createTempFile(cacheFile.getParentFile().toPath(), cacheFile.getName(), ".tmp");
+        try{
+            try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile), 1024 * 1024))){
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(key);
+                table.writeBinary(out);
+            }
+
+            // tables larger than the budget are never cached
+            if(Files.size(tmpFile) > SIZE_BUDGET){
+                return;
+            }
+
+            Files.move(tmpFile, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally{
+            Files.deleteIfExists(tmpFile);
+        }
+
+        // keeping within budget
+        ColumnarCache.evict(cacheFile.getParentFile());
+    }
+
+    ////////////////////
+    // HELPER METHODS //
+    ////////////////////
+
+    /**
+     * Returns the cache file for the provided table file.
+     *
+     * @param file The table file.
+     * @param delim The delimiter the table is read with.
+     * @return The cache file for the table.
+     * @throws Exception Thrown if the cache directory could not be created.
+     */
+    private static File getCacheFile(File file, String delim) throws Exception{
+        String name = FileManager.getChecksum((file.getAbsolutePath() + ":" + delim).getBytes(StandardCharsets.UTF_8));
+        return new File(FileManager.getCacheDirectory(CACHE_NAME), name + TABLE_EXTENSION);
+    }
+
+    /**
+     * Deletes the least recently used tables in the cache until it is within
+     * the size budget.
+     *
+     * @param cacheDirectory The directory holding the cached tables.
+     */
+    private static void evict(File cacheDirectory){
+        File[] tables = cacheDirectory.listFiles((dir, name) -> name.endsWith(TABLE_EXTENSION));
+        if(tables == null){
+            return;
+        }
+
+        // total size of the cache
+        long totalSize = 0;
+        for(File table : tables){
+            totalSize += table.length();
+        }
+
+        // deleting least recently used first
+        Arrays.sort(tables, Comparator.comparingLong(File::lastModified));
+        for(File table : tables){
+            if(totalSize <= SIZE_BUDGET){
+                break;
+            }
+
+            long size = table.length();
+            if(table.delete()){
+                totalSize -= size;
+            }
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package Controller.Engine;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import Controller.MappedCsvReader;
+
+/**
+ * A Table held as a set of dictionary encoded Columns.
+ *
+ * Tables read from disk are held this way - each distinct value in a column is
+ * only stored once, so a table usually takes up much less memory than the text
+ * of it's file, and can be kept in memory and queried repeatedly without being
+ * parsed again.
+ */
+public class ColumnarTable extends Table{
+
+    // constants
+    private static final int MIN_PARALLEL_ROWS = 100_000; /** Tables with fewer rows are always parsed sequentially */
+    private static final int CHUNKS_PER_THREAD = 4; /** Chunks of rows per thread, so that uneven chunks balance out */
+
+    // member variables
+    private ArrayList<Column> columns;
+    private int rowCount;
+    private boolean quoted; /** If any of the fields in the table's file were quoted */
+    private ColumnStatistics[] statistics; /** Statistics of each column (each null until first asked for) */
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * Creates an empty table - rows are added with addRow(), and the table must
+     * be finished with finish() before it is used.
+     */
+    public ColumnarTable(){
+        // initializing
+        this.columns = new ArrayList<Column>();
+        this.rowCount = 0;
+        this.quoted = false;
+    }
+
+    /**
+     * Reads the table stored in the provided file, using all of the available
+     * processors for large files.
+     *
+     * Fields are separated by the delimiter, and may be enclosed in double
+     * quotes (in which case they may contain the delimiter, line breaks and
+     * doubled quotes).
+     *
+     * @param file The file the table is stored in.
+     * @param delim The delimiter used in the file.
+     * @return The table stored in the file.
+     * @throws Exception Thrown if the file could not be read.
+     */
+    public static ColumnarTable read(File file, String delim) throws Exception{
+        return ColumnarTable.read(file, delim, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Reads the table stored in the provided file.
+     *
+     * With a parallelism above 1, the rows are indexed and parsed in chunks on
+     * the ForkJoinPool - each chunk builds a partial table of it's rows, and
+     * the partial tables are then stitched together in order.
+     *
+     * @param file The file the table is stored in.
+     * @param delim The delimiter used in the file.
+     * @param parallelism The number of threads used (1 to read sequentially).
+     * @return The table stored in the file.
+     * @throws Exception Thrown if the file could not be read.
+     */
+    public static ColumnarTable read(File file, String delim, int parallelism) throws Exception{
+        ColumnarTable table = new ColumnarTable();
+
+        // reading the rows straight from the mapped file
+        try(MappedCsvReader reader = new MappedCsvReader(file, delim, parallelism)){
+            int rowCount = reader.getRowCount();
+            int chunkCount = (parallelism > 1 && rowCount >= MIN_PARALLEL_ROWS) ? parallelism * CHUNKS_PER_THREAD : 1;
+            int chunkSize = (rowCount + chunkCount - 1) / Math.max(1, chunkCount);
+
+            // parsing each chunk of rows into a partial table
+            List<ColumnarTable> chunks = MappedCsvReader.runChunks(chunkCount, (chunk) -> () -> {
+                ColumnarTable chunkTable = new ColumnarTable();
+                int end = Math.min(rowCount, (chunk + 1) * chunkSize);
+                for(int row = chunk * chunkSize; row < end; row++){
+                    chunkTable.addRow(reader.getRow(row));
+                }
+                return chunkTable;
+            });
+
+            // stitching the partial tables together
+            table = chunks.get(0);
+            for(int chunk = 1; chunk < chunks.size(); chunk++){
+                table.appendTable(chunks.get(chunk));
+            }
+            table.quoted = reader.isQuoted();
+        }
+
+        table.finish();
+        return table;
+    }
+
+    //////////////
+    // BUILDING //
+    //////////////
+
+    /**
+     * Appends a row to the end of the table.
+     *
+     * @param values The values in the row.
+     */
+    public void addRow(String[] values){
+        // adding columns for rows wider than any seen so far
+        while(this.columns.size() < values.length){
+            this.columns.add(new Column(this.rowCount));
+        }
+
+        for(int column = 0; column < this.columns.size(); column++){
+            if(column < values.length){
+                this.columns.get(column).append(values[column]);
+            }
+            else{
+                this.columns.get(column).appendNull();
+            }
+        }
+        this.rowCount++;
+    }
+
+    /**
+     * Appends the rows of another (unfinished) table to the end of this one.
+     *
+     * @param other The table being appended.
+     */
+    public void appendTable(ColumnarTable other){
+        // adding columns for a wider table
+        while(this.columns.size() < other.columns.size()){
+            this.columns.add(new Column(this.rowCount));
+        }
+
+        for(int column = 0; column < this.columns.size(); column++){
+            if(column < other.columns.size()){
+                this.columns.get(column).appendColumn(other.columns.get(column));
+            }
+            else{
+                for(int row = 0; row < other.rowCount; row++){
+                    this.columns.get(column).appendNull();
+                }
+            }
+        }
+        this.rowCount += other.rowCount;
+    }
+
+    /**
+     * Finishes building the table.
+     */
+    public void finish(){
+        for(Column column : this.columns){
+            column.finish();
+        }
+        this.columns.trimToSize();
+    }
+
+    /////////////////
+    // SERIALIZING //
+    /////////////////
+
+    /**
+     * Writes the (finished) table in binary form.
+     *
+     * @param out The stream the table is written to.
+     * @throws Exception Thrown if the table could not be written.
+     */
+    public void writeBinary(DataOutputStream out) throws Exception{
+        out.writeBoolean(this.quoted);
+        out.writeInt(this.rowCount);
+        out.writeInt(this.columns.size());
+        for(Column column : this.columns){
+            column.writeBinary(out);
+        }
+    }
+
+    /**
+     * Reads a finished table written by writeBinary().
+     *
+     * @param in The stream the table is read from.
+     * @return The table.
+     * @throws Exception Thrown if the table could not be read.
+     */
+    public static ColumnarTable readBinary(DataInputStream in) throws Exception{
+        ColumnarTable table = new ColumnarTable();
+        table.quoted = in.readBoolean();
+        table.rowCount = in.readInt();
+        int columnCount = in.readInt();
+        for(int column = 0; column < columnCount; column++){
+            table.columns.add(Column.readBinary(in));
+        }
+        return table;
+    }
+
+    ///////////////
+    // ACCESSING //
+    ///////////////
+
+    @Override
+    public String get(int row, int column){
+        if(column >= this.columns.size()){
+            return "";
+        }
+        String value = this.columns.get(column).get(row);
+        return (value == null) ? "" : value;
+    }
+
+    @Override
+    public String[] getRow(int row){
+        // rows only have the columns up to their first missing one
+        int width = 0;
+        while(width < this.columns.size() && !this.columns.get(width).isNull(row)){
+            width++;
+        }
+
+        String[] values = new String[width];
+        for(int column = 0; column < width; column++){
+            values[column] = this.columns.get(column).get(row);
+        }
+        return values;
+    }
+
+    /**
+     * Returns the statistics of the provided column of the (finished) table,
+     * computing them the first time they are asked for (so only the columns a
+     * query uses are ever scanned).
+     *
+     * @param column The index of the column.
+     * @return The statistics of the column.
+     */
+    public synchronized ColumnStatistics getStatistics(int column){
+        if(this.statistics == null){
+            this.statistics = new ColumnStatistics[this.columns.size()];
+        }
+        if(this.statistics[column] == null){
+            this.statistics[column] = ColumnStatistics.compute(this.columns.get(column));
+        }
+        return this.statistics[column];
+    }
+
+    /**
+     * Returns an estimate of the memory used by the table.
+     *
+     * @return The estimated size of the table in bytes.
+     */
+    public long getMemoryUsage(){
+        long bytes = 0;
+        for(Column column : this.columns){
+            bytes += column.getMemoryUsage();
+        }
+        return bytes;
+    }
+
+    /////////////////////////
+    // GETTERS AND SETTERS //
+    /////////////////////////
+
+    public Column getColumn(int column){
+        return this.columns.get(column);
+    }
+
+    @Override
+    public int getRowCount(){
+        return this.rowCount;
+    }
+
+    @Override
+    public int getColumnCount(){
+        return this.columns.size();
+    }
+
+    public boolean isQuoted(){
+        return this.quoted;
+    }
+}
@@ -0,0 +1,155 @@
+package Controller.Engine;
+
+/**
+ * A condition within the WHERE clause of a SELECT query, evaluated against each
+ * row of a table.
+ *
+ * Comparisons are between column references (1-based column numbers) and
+ * string literals. Two values are compared numerically if they are both
+ * numbers, and as strings otherwise.
+ */
+public class Condition {
+
+    /**
+     * The types of condition.
+     */
+    public enum Type{
+        AND,
+        OR,
+        NOT,
+        COMPARISON
+    }
+
+    // member variables
+    private Type type;
+    private Condition left; /** First sub-condition (AND, OR, NOT) */
+    private Condition right; /** Second sub-condition (AND, OR) */
+    private String operator; /** Comparison operator (COMPARISON) - one of = != < > <= >= */
+    private Token leftOperand; /** Left side of the comparison - a NUMBER (column) or STRING token */
+    private Token rightOperand; /** Right side of the comparison - a NUMBER (column) or STRING token */
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * Private as conditions are created through the static factory methods.
+     */
+    private Condition(Type type){
+        this.type = type;
+    }
+
+    /**
+     * Creates a condition combining two sub-conditions.
+     *
+     * @param type The type of the condition (AND or OR).
+     * @param left The first sub-condition.
+     * @param right The second sub-condition.
+     * @return The new condition.
+     */
+    public static Condition combine(Type type, Condition left, Condition right){
+        Condition condition = new Condition(type);
+        condition.left = left;
+        condition.right = right;
+        return condition;
+    }
+
+    /**
+     * Creates a condition negating a sub-condition.
+     *
+     * @param inner The sub-condition being negated.
+     * @return The new condition.
+     */
+    public static Condition negate(Condition inner){
+        Condition condition = new Condition(Type.NOT);
+        condition.left = inner;
+        return condition;
+    }
+
+    /**
+     * Creates a condition comparing two operands.
+     *
+     * @param leftOperand The left side of the comparison.
+     * @param operator The comparison operator.
+     * @param rightOperand The right side of the comparison.
+     * @return The new condition.
+     */
+    public static Condition compare(Token leftOperand, String operator, Token rightOperand){
+        Condition condition = new Condition(Type.COMPARISON);
+        condition.leftOperand = leftOperand;
+        condition.operator = operator;
+        condition.rightOperand = rightOperand;
+        return condition;
+    }
+
+    ////////////////
+    // EVALUATING //
+    ////////////////
+
+    /**
+     * Evaluates the condition against the provided row.
+     *
+     * @param table The table the row belongs to.
+     * @param row The index of the row.
+     * @return True if the row meets the condition, false otherwise.
+     * @throws UnsupportedProgramException Thrown if a column reference is not
+     * within the table.
+     */
+    public boolean evaluate(Table table, int row) throws UnsupportedProgramException{
+        switch(this.type){
+            case AND:
+                return this.left.evaluate(table, row) && this.right.evaluate(table, row);
+            case OR:
+                return this.left.evaluate(table, row) || this.right.evaluate(table, row);
+            case NOT:
+                return !this.left.evaluate(table, row);
+            default:
+                int comparison = Condition.compareValues(Condition.getValue(this.leftOperand, table, row), Condition.getValue(this.rightOperand, table, row));
+                switch(this.operator){
+                    case "=":  return comparison == 0;
+                    case "!=": return comparison != 0;
+                    case "<":  return comparison < 0;
+                    case ">":  return comparison > 0;
+                    case "<=": return comparison <= 0;
+                    default:   return comparison >= 0;
+                }
+        }
+    }
+
+    /**
+     * Returns the value of an operand for the provided row.
+     *
+     * @param operand The operand (a column number or string literal).
+     * @param table The table the row belongs to.
+     * @param row The index of the row.
+     * @return The value of the operand.
+     * @throws UnsupportedProgramException Thrown if a column reference is not
+     * within the table.
+     */
+    private static String getValue(Token operand, Table table, int row) throws UnsupportedProgramException{
+        if(operand.getType() == Token.Type.STRING){
+            return operand.getText();
+        }
+        return table.get(row, Operator.getColumnIndex(operand, table));
+    }
+
+    /**
+     * Compares two values - numerically if both are numbers, as strings
+     * otherwise.
+     *
+     * @param a The first value.
+     * @param b The second value.
+     * @return Negative, zero or positive as a is less than, equal to or greater
+     * than b.
+     */
+    public static int compareValues(String a, String b){
+        try{
+            return Double.compare(Double.parseDouble(a), Double.parseDouble(b));
+        }
+        catch(NumberFormatException e){
+            return a.compareTo(b);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package Controller.Engine;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Runs CSVQL programs inside the IDE's JVM, without spawning the CSVQL
+ * interpreter.
+ *
+ * The engine supports a subset of the language - SETUP delimiters, LET and
+ * RETURN statements, READ, SELECT ... FROM ... WHERE, UNION / INTERSECTION /
+ * DIFFERENCE, INNER / LEFT / RIGHT / FULL JOIN ... ON, UNIQUE, TRANSPOSE,
+ * ORDER BY and LIMIT / OFFSET (see Parser for the full grammar). Tables are read
+ * through the TableCache, so they are shared between runs.
+ *
+ * Whenever the engine is unsure it would produce the same output as the
+ * interpreter (unsupported syntax, quoted fields, a column outside a table, an
+ * undefined variable...) it throws an UnsupportedProgramException, and the
+ * program should be run by the interpreter instead. All statements are executed
+ * before any output is produced, so nothing needs to be undone when this
+ * happens.
+ */
+public class CsvqlEngine {
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * Private as cannot be instantiated.
+     */
+    private CsvqlEngine(){}
+
+    /////////////
+    // RUNNING //
+    /////////////
+
+    /**
+     * Runs the provided CSVQL program.
+     *
+     * @param program The source code of the program.
+     * @param neededFiles The files the program can read (the tables in the
+     * workspace).
+     * @param onParsed Run once the program has been parsed, before any of it's
+     * statements are executed.
+     * @return The lines of output produced by the program.
+     * @throws UnsupportedProgramException Thrown if the program cannot be run by
+     * the engine.
+     * @throws InterruptedException Thrown if the thread was interrupted (i.e., 
+     * the run was stopped) while the program was executing.
+     */
+    public static ArrayList<String> run(String program, ArrayList<File> neededFiles, Runnable onParsed) throws UnsupportedProgramException, InterruptedException{
+        // parsing the program
+        Parser parser = new Parser(Lexer.tokenise(program));
+        ArrayList<Statement> statements = parser.parseProgram();
+        onParsed.run();
+
+        // configuring the context
+        HashMap<String, File> files = new HashMap<String, File>();
+        for(File file : neededFiles){
+            files.put(file.getName(), file);
+        }
+        ExecutionContext context = new ExecutionContext(files);
+        for(String[] setting : parser.getSetup()){
+            if(setting[0].equals("INPUTDELIM")){
+                context.setInputDelim(setting[1]);
+            }
+            else{
+                context.setOutputDelim(setting[1]);
+            }
+        }
+
+        // executing the statements
+        ArrayList<Table> returned = new ArrayList<Table>();
+        for(Statement statement : statements){
+            if(Thread.currentThread().isInterrupted()){
+                throw new InterruptedException("Run was stopped.");
+            }
+            statement.execute(context, returned);
+        }
+
+        // formatting the output
+        return CsvqlEngine.formatOutput(returned, context.getOutputDelim());
+    }
+
+    /**
+     * Formats the returned tables as lines of output - one line per row, with
+     * the fields separated by the output delimiter.
+     *
+     * @param returned The tables returned by the program, in order.
+     * @param delim The output delimiter.
+     * @return The lines of output.
+     * @throws UnsupportedProgramException Thrown if a field would need quoting.
+     */
+    private static ArrayList<String> formatOutput(ArrayList<Table> returned, String delim) throws UnsupportedProgramException{
+        ArrayList<String> lines = new ArrayList<String>();
+
+        for(Table table : returned){
+            for(int row = 0; row < table.getRowCount(); row++){
+                StringBuilder line = new StringBuilder();
+                String[] values = table.getRow(row);
+                for(int column = 0; column < values.length; column++){
+                    String value = values[column];
+                    // fields that would need quoting are left to the interpreter
+                    if(value.contains(delim) || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0){
+                        throw new UnsupportedProgramException("Output field needs quoting.");
+                    }
+                    if(column > 0){
+                        line.append(delim);
+                    }
+                    line.append(value);
+                }
+                lines.add(line.toString());
+            }
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,90 @@
+package Controller.Engine;
+
+import java.io.File;
+import java.util.HashMap;
+
+/**
+ * The state of a CSVQL program while it is being executed by the CsvqlEngine -
+ * the delimiters in use, the variables that have been defined and the files the
+ * program can read.
+ */
+public class ExecutionContext {
+
+    // member variables
+    private String inputDelim; /** Delimiter used when reading tables */
+    private String outputDelim; /** Delimiter used when writing the output */
+    private HashMap<String, Table> variables; /** Tables assigned to variables, by name */
+    private HashMap<String, File> files; /** Files the program can read, by name */
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * @param files The files the program can read, by name.
+     */
+    public ExecutionContext(HashMap<String, File> files){
+        // initializing
+        this.inputDelim = ",";
+        this.outputDelim = ",";
+        this.variables = new HashMap<String, Table>();
+        this.files = files;
+    }
+
+    ///////////////
+    // ACCESSING //
+    ///////////////
+
+    /**
+     * Returns the table assigned to the provided variable.
+     *
+     * @param name The name of the variable.
+     * @return The table assigned to the variable.
+     * @throws UnsupportedProgramException Thrown if the variable is not defined.
+     */
+    public Table getVariable(String name) throws UnsupportedProgramException{
+        Table table = this.variables.get(name);
+        if(table == null){
+            throw new UnsupportedProgramException("Variable '@" + name + "' is not defined.");
+        }
+        return table;
+    }
+
+    /**
+     * Reads the table stored in the provided file.
+     *
+     * @param name The name of the file, as written in the program.
+     * @return The table stored in the file.
+     * @throws UnsupportedProgramException Thrown if the file is not available to
+     * the program, or cannot be read.
+     */
+    public Table readTable(String name) throws UnsupportedProgramException{
+        File file = this.files.get(name);
+        if(file == null || !file.isFile()){
+            throw new UnsupportedProgramException("Table '" + name + "' is not available.");
+        }
+        return TableCache.getTable(file, this.inputDelim);
+    }
+
+    /////////////////////////
+    // GETTERS AND SETTERS //
+    /////////////////////////
+
+    public String getOutputDelim(){
+        return this.outputDelim;
+    }
+
+    public void setInputDelim(String inputDelim){
+        this.inputDelim = inputDelim;
+    }
+
+    public void setOutputDelim(String outputDelim){
+        this.outputDelim = outputDelim;
+    }
+
+    public void setVariable(String name, Table table){
+        this.variables.put(name, table);
+    }
+}
@@ -0,0 +1,211 @@
+package Controller.Engine;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash table used by the JoinOperator, mapping the values of
+ * the join column of the build table to the rows holding them.
+ *
+ * The table is held entirely in primitive arrays - each slot holds the hash of
+ * a distinct value and the first entry holding it, and the entries holding the
+ * same value are chained through a per-entry 'next' array. Values themselves
+ * are not copied - they are compared by looking them up in the build table.
+ *
+ * The table can hold every row of the build table, or only some of them (one
+ * partition of a grace hash join). Entries are numbered within the rows being
+ * held, so the arrays are only as large as the partition, and getRow() maps an
+ * entry back to it's row of the build table.
+ */
+public class JoinHashTable {
+
+    // constants
+    private static final int EMPTY = -1;
+
+    // member variables
+    private Table table; /** The build table */
+    private int column; /** The join column of the build table */
+    private int[] rows; /** Row of the build table of each entry (null if the entries are every row) */
+    private int[] slotHashes; /** Hash of the value in each slot */
+    private int[] slotHeads; /** First entry holding the value in each slot (EMPTY if the slot is free) */
+    private int[] next; /** Next entry holding the same value as each entry (EMPTY at the end of a chain) */
+    private int mask; /** Number of slots - 1 (slots are a power of two) */
+    private int valueCount; /** Number of distinct values in the table */
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * @param table The build table.
+     * @param column The join column of the build table.
+     * @param rows The rows of the build table held in the hash table, in
+     * ascending order (null if it holds every row).
+     * @param expectedValues The expected number of distinct values being added.
+     */
+    public JoinHashTable(Table table, int column, int[] rows, int expectedValues){
+        // initializing
+        this.table = table;
+        this.column = column;
+        this.rows = rows;
+
+        // at most half full, so probe sequences stay short
+        int slots = JoinHashTable.getSlotCount(expectedValues);
+        this.slotHashes = new int[slots];
+        this.slotHeads = new int[slots];
+        this.next = new int[(rows == null) ? table.getRowCount() : rows.length];
+        this.mask = slots - 1;
+        Arrays.fill(this.slotHeads, EMPTY);
+    }
+
+    //////////////
+    // BUILDING //
+    //////////////
+
+    /**
+     * Adds an entry (one of the rows being held) to the hash table.
+     *
+     * Entries are added to the front of their value's chain, so they should be
+     * added in descending order for chains to be in ascending order.
+     *
+     * @param entry The index of the entry within the rows being held.
+     * @param hash The hash of the entry's value (from hash()).
+     */
+    public void add(int entry, int hash){
+        String value = this.table.get(this.getRow(entry), this.column);
+        int slot = hash & this.mask;
+
+        while(this.slotHeads[slot] != EMPTY){
+            // value already in the table - adding to the front of it's chain
+            if(this.slotHashes[slot] == hash && this.table.get(this.getRow(this.slotHeads[slot]), this.column).equals(value)){
+                this.next[entry] = this.slotHeads[slot];
+                this.slotHeads[slot] = entry;
+                return;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+
+        // new value (growing first if the table would be over half full)
+        if((this.valueCount + 1) * 2 > this.slotHeads.length){
+            this.grow();
+            this.add(entry, hash);
+            return;
+        }
+        this.slotHashes[slot] = hash;
+        this.slotHeads[slot] = entry;
+        this.next[entry] = EMPTY;
+        this.valueCount++;
+    }
+
+    /**
+     * Doubles the number of slots in the table, re-inserting every value.
+     */
+    private void grow(){
+        int[] oldHashes = this.slotHashes;
+        int[] oldHeads = this.slotHeads;
+
+        this.slotHashes = new int[oldHeads.length * 2];
+        this.slotHeads = new int[oldHeads.length * 2];
+        this.mask = this.slotHeads.length - 1;
+        Arrays.fill(this.slotHeads, EMPTY);
+
+        for(int oldSlot = 0; oldSlot < oldHeads.length; oldSlot++){
+            if(oldHeads[oldSlot] != EMPTY){
+                int slot = oldHashes[oldSlot] & this.mask;
+                while(this.slotHeads[slot] != EMPTY){
+                    slot = (slot + 1) & this.mask;
+                }
+                this.slotHashes[slot] = oldHashes[oldSlot];
+                this.slotHeads[slot] = oldHeads[oldSlot];
+            }
+        }
+    }
+
+    /////////////
+    // PROBING //
+    /////////////
+
+    /**
+     * Returns the first entry holding the provided value.
+     *
+     * @param value The value being looked up.
+     * @param hash The hash of the value (from hash()).
+     * @return The first entry holding the value (-1 if there is none).
+     */
+    public int getFirst(String value, int hash){
+        int slot = hash & this.mask;
+        while(this.slotHeads[slot] != EMPTY){
+            if(this.slotHashes[slot] == hash && this.table.get(this.getRow(this.slotHeads[slot]), this.column).equals(value)){
+                return this.slotHeads[slot];
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Returns the next entry holding the same value as the provided entry.
+     *
+     * @param entry The current entry.
+     * @return The next entry holding the value (-1 if there is none).
+     */
+    public int getNext(int entry){
+        return this.next[entry];
+    }
+
+    /**
+     * Returns the row of the build table an entry was added for.
+     *
+     * @param entry The entry.
+     * @return The index of the entry's row within the build table.
+     */
+    public int getRow(int entry){
+        return (this.rows == null) ? entry : this.rows[entry];
+    }
+
+    /////////////
+    // HELPERS //
+    /////////////
+
+    /**
+     * Returns the number of slots a table starts with for the provided number
+     * of values (a power of two, at most half full).
+     *
+     * @param expectedValues The expected number of distinct values.
+     * @return The number of slots.
+     */
+    private static int getSlotCount(int expectedValues){
+        return Integer.highestOneBit(Math.max(16, expectedValues) * 2 - 1) << 1;
+    }
+
+    /**
+     * Estimates the memory used by a hash table holding the provided number of
+     * entries (assuming the rows of the entries are held, as for a partition).
+     *
+     * @param entries The number of entries (rows) held.
+     * @param expectedValues The expected number of distinct values.
+     * @return The estimated size of the hash table in bytes.
+     */
+    public static long getMemoryUsage(int entries, int expectedValues){
+        // two ints per slot, and two ints (next and row) per entry
+        return 8L * JoinHashTable.getSlotCount(expectedValues) + 8L * entries;
+    }
+
+    /**
+     * Hashes a value, spreading the bits of it's hash code so that similar
+     * values do not cluster in the table.
+     *
+     * @param value The value being hashed.
+     * @return The hash of the value.
+     */
+    public static int hash(String value){
+        int h = value.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
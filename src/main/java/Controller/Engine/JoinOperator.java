@@ -0,0 +1,483 @@
+package Controller.Engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Operator for '[INNER|LEFT|RIGHT|FULL] JOIN ... ON a = b' - joins two tables on
+ * the equality of a column from each.
+ *
+ * Result rows contain the columns of the left table followed by the columns of
+ * the right table, in order of the left row and then the right row. Unmatched
+ * rows of outer joins are padded with empty fields (unmatched right rows come
+ * last).
+ *
+ * Matching rows are found with a hash join (see findMatches()).
+ */
+public class JoinOperator extends Operator{
+
+    // constants
+    private static final long MAX_BUILD_BYTES = 64L * 1024 * 1024; /** Largest hash table (in bytes) built before partitioning */
+    private static final int MAX_PARTITIONS = 1024; /** Most partitions a table is split into at once */
+    private static final int MAX_PARTITION_DEPTH = 4; /** Most times a partition is split again */
+
+    // member variables
+    private String type; /** INNER, LEFT, RIGHT or FULL */
+    private Operator left;
+    private Operator right;
+    private Token leftColumn; /** Column of the left table being joined on */
+    private Token rightColumn; /** Column of the right table being joined on */
+
+    /**
+     * Class constructor.
+     *
+     * @param type The type of join (INNER, LEFT, RIGHT or FULL).
+     * @param left The operator producing the left table.
+     * @param right The operator producing the right table.
+     * @param leftColumn The NUMBER token of the left column being joined on.
+     * @param rightColumn The NUMBER token of the right column being joined on.
+     */
+    public JoinOperator(String type, Operator left, Operator right, Token leftColumn, Token rightColumn){
+        this.type = type;
+        this.left = left;
+        this.right = right;
+        this.leftColumn = leftColumn;
+        this.rightColumn = rightColumn;
+    }
+
+    @Override
+    public Table execute(ExecutionContext context) throws UnsupportedProgramException{
+        Table leftTable = this.left.execute(context);
+        Table rightTable = this.right.execute(context);
+        int leftIndex = Operator.getColumnIndex(this.leftColumn, leftTable);
+        int rightIndex = Operator.getColumnIndex(this.rightColumn, rightTable);
+        boolean keepLeft = this.type.equals("LEFT") || this.type.equals("FULL");
+        boolean keepRight = this.type.equals("RIGHT") || this.type.equals("FULL");
+
+        // matching rows, in order of left row and then right row
+        long[] matches = JoinOperator.findMatches(leftTable, leftIndex, rightTable, rightIndex);
+
+        ArrayList<String[]> rows = new ArrayList<String[]>();
+        boolean[] rightMatched = new boolean[rightTable.getRowCount()];
+        int match = 0;
+
+        // joined rows
+        for(int l = 0; l < leftTable.getRowCount(); l++){
+            boolean matched = false;
+            while(match < matches.length && (int) (matches[match] >>> 32) == l){
+                int r = (int) matches[match++];
+                rows.add(JoinOperator.concat(leftTable.getPaddedRow(l), rightTable.getPaddedRow(r)));
+                rightMatched[r] = true;
+                matched = true;
+            }
+            if(!matched && keepLeft){
+                rows.add(JoinOperator.concat(leftTable.getPaddedRow(l), new String[rightTable.getColumnCount()]));
+            }
+        }
+
+        // unmatched right rows
+        if(keepRight){
+            for(int r = 0; r < rightTable.getRowCount(); r++){
+                if(!rightMatched[r]){
+                    rows.add(JoinOperator.concat(new String[leftTable.getColumnCount()], rightTable.getPaddedRow(r)));
+                }
+            }
+        }
+
+        return new RowTable(rows);
+    }
+
+    //////////////////
+    // HASH JOINING //
+    //////////////////
+
+    /**
+     * Finds the pairs of rows whose join columns are equal, using a hash join.
+     *
+     * The smaller table is used as the build side (the one held in the
+     * JoinHashTable), and the other is probed against it. If the hash table
+     * for the build side would be larger than the memory budget, both tables
+     * are first partitioned on the hash of their join column (a grace hash
+     * join), and each pair of partitions is joined on it's own (see 
+     * joinPartition()).
+     *
+     * @param leftTable The left table.
+     * @param leftIndex The join column of the left table.
+     * @param rightTable The right table.
+     * @param rightIndex The join column of the right table.
+     * @return The matching pairs, as (left row << 32 | right row), sorted by
+     * left row and then right row.
+     */
+    public static long[] findMatches(Table leftTable, int leftIndex, Table rightTable, int rightIndex){
+        return JoinOperator.findMatches(leftTable, leftIndex, rightTable, rightIndex, MAX_BUILD_BYTES);
+    }
+
+    /**
+     * Finds the pairs of rows whose join columns are equal, using a hash join
+     * with the provided memory budget (see findMatches(Table, int, Table, int)).
+     *
+     * @param leftTable The left table.
+     * @param leftIndex The join column of the left table.
+     * @param rightTable The right table.
+     * @param rightIndex The join column of the right table.
+     * @param maxBuildBytes The largest hash table (in bytes) built before partitioning.
+     * @return The matching pairs, as (left row << 32 | right row), sorted by
+     * left row and then right row.
+     */
+    static long[] findMatches(Table leftTable, int leftIndex, Table rightTable, int rightIndex, long maxBuildBytes){
+        // BUILD SIDE SELECTION //
+
+        boolean buildLeft = leftTable.getRowCount() < rightTable.getRowCount();
+        Table build = buildLeft ? leftTable : rightTable;
+        Table probe = buildLeft ? rightTable : leftTable;
+        int buildIndex = buildLeft ? leftIndex : rightIndex;
+        int probeIndex = buildLeft ? rightIndex : leftIndex;
+
+        // HASHING THE JOIN COLUMNS //
+
+        ColumnHasher buildHasher = new ColumnHasher(build, buildIndex);
+        ColumnHasher probeHasher = new ColumnHasher(probe, probeIndex);
+
+        // JOINING //
+
+        // distinct values in the build table's join column (every value is assumed distinct if it is not columnar)
+        int distinctValues = build.getRowCount();
+        if(build instanceof ColumnarTable){
+            distinctValues = ((ColumnarTable) build).getColumn(buildIndex).getDictionary().length + 1; // (+1 for missing fields)
+        }
+        double valuesPerRow = Math.min(1.0, (double) distinctValues / Math.max(1, build.getRowCount()));
+
+        Matches matches = new Matches(buildLeft);
+        JoinOperator.joinPartition(new Side(build, buildIndex, buildHasher, null), 
+                                   new Side(probe, probeIndex, probeHasher, null), 
+                                   valuesPerRow, maxBuildBytes, 0, matches);
+
+        /**
+         * Probing the left table against a single right hash table already 
+         * produces the pairs in order - otherwise they need to be sorted.
+         */
+        long[] pairs = matches.toArray();
+        if(buildLeft || matches.isPartitioned()){
+            Arrays.sort(pairs);
+        }
+
+        return pairs;
+    }
+
+    /**
+     * Joins the rows of a partition of the build table with the rows of the
+     * same partition of the probe table.
+     *
+     * If the hash table for the partition would be larger than the memory 
+     * budget, the partition is split further on a different mix of the hash.
+     * A partition that does not split (all of it's rows share a few values - a
+     * skewed join column) is joined as it is, as the rows of a single value 
+     * cannot be spread over partitions.
+     *
+     * @param build The rows of the build table in the partition.
+     * @param probe The rows of the probe table in the partition.
+     * @param valuesPerRow The fraction of the build table's rows that hold a
+     * distinct value (used to estimate the size of the hash table).
+     * @param maxBuildBytes The largest hash table (in bytes) built before partitioning.
+     * @param depth The number of times the tables have been partitioned.
+     * @param matches The matching pairs found so far.
+     */
+    private static void joinPartition(Side build, Side probe, double valuesPerRow, long maxBuildBytes, int depth, Matches matches){
+        int buildCount = build.getRowCount();
+        int probeCount = probe.getRowCount();
+        if(buildCount == 0 || probeCount == 0){
+            return;
+        }
+
+        // PARTITIONING //
+
+        int expectedValues = (int) Math.max(1, Math.min(buildCount, Math.ceil(buildCount * valuesPerRow)));
+        long hashTableSize = JoinHashTable.getMemoryUsage(buildCount, expectedValues);
+
+        if(hashTableSize > maxBuildBytes && depth < MAX_PARTITION_DEPTH){
+            int partitionCount = (int) Math.min(MAX_PARTITIONS, (hashTableSize + maxBuildBytes - 1) / maxBuildBytes);
+            int[][] buildPartitions = JoinOperator.partition(build, partitionCount, depth);
+
+            // splitting only if the rows were spread over the partitions (they are not if the build side is skewed)
+            if(JoinOperator.getLargestPartition(buildPartitions) < buildCount){
+                int[][] probePartitions = JoinOperator.partition(probe, partitionCount, depth);
+                matches.setPartitioned();
+
+                for(int partition = 0; partition < partitionCount; partition++){
+                    JoinOperator.joinPartition(build.getPartition(buildPartitions[partition]), 
+                                               probe.getPartition(probePartitions[partition]), 
+                                               valuesPerRow, maxBuildBytes, depth + 1, matches);
+                }
+                return;
+            }
+        }
+
+        // BUILDING //
+
+        // (in descending order, so each value's chain is ascending)
+        JoinHashTable hashTable = new JoinHashTable(build.table, build.column, build.rows, expectedValues);
+        for(int entry = buildCount - 1; entry >= 0; entry--){
+            hashTable.add(entry, build.hasher.hash(hashTable.getRow(entry)));
+        }
+
+        // PROBING //
+
+        for(int i = 0; i < probeCount; i++){
+            int probeRow = probe.getRow(i);
+            int entry = hashTable.getFirst(probe.table.get(probeRow, probe.column), probe.hasher.hash(probeRow));
+            while(entry >= 0){
+                matches.add(hashTable.getRow(entry), probeRow);
+                entry = hashTable.getNext(entry);
+            }
+        }
+    }
+
+    /**
+     * Splits the rows of one side of a join into partitions on the hash of
+     * their join column (keeping the rows of each partition in ascending 
+     * order).
+     *
+     * @param side The rows being partitioned.
+     * @param partitionCount The number of partitions.
+     * @param depth The number of times the rows have already been partitioned.
+     * @return The rows in each partition.
+     */
+    private static int[][] partition(Side side, int partitionCount, int depth){
+        int[][] partitions = new int[partitionCount][];
+        int rowCount = side.getRowCount();
+
+        // counting the rows in each partition
+        int[] sizes = new int[partitionCount];
+        for(int i = 0; i < rowCount; i++){
+            sizes[JoinOperator.getPartition(side.hasher.hash(side.getRow(i)), partitionCount, depth)]++;
+        }
+        for(int partition = 0; partition < partitionCount; partition++){
+            partitions[partition] = new int[sizes[partition]];
+            sizes[partition] = 0;
+        }
+
+        // filling the partitions
+        for(int i = 0; i < rowCount; i++){
+            int row = side.getRow(i);
+            int partition = JoinOperator.getPartition(side.hasher.hash(row), partitionCount, depth);
+            partitions[partition][sizes[partition]++] = row;
+        }
+
+        return partitions;
+    }
+
+    /**
+     * Returns the partition a hash belongs to.
+     *
+     * The hash is mixed again at each depth, so the rows of a partition that is
+     * split again are spread over the new partitions. The high bits are used,
+     * as the low bits pick the hash table slot.
+     *
+     * @param hash The hash of a value.
+     * @param partitionCount The number of partitions.
+     * @param depth The number of times the rows have already been partitioned.
+     * @return The index of the partition.
+     */
+    private static int getPartition(int hash, int partitionCount, int depth){
+        for(int i = 0; i < depth; i++){
+            hash *= 0x9e3779b9;
+            hash ^= hash >>> 15;
+        }
+        return (int) (((hash >>> 16) * (long) partitionCount) >>> 16);
+    }
+
+    /**
+     * Returns the number of rows in the largest of the provided partitions.
+     *
+     * @param partitions The rows in each partition.
+     * @return The number of rows in the largest partition.
+     */
+    private static int getLargestPartition(int[][] partitions){
+        int largest = 0;
+        for(int[] partition : partitions){
+            largest = Math.max(largest, partition.length);
+        }
+        return largest;
+    }
+
+    /**
+     * Joins two rows into one, replacing missing (null) fields with empty ones.
+     *
+     * @param left The fields of the left row.
+     * @param right The fields of the right row.
+     * @return The joined row.
+     */
+    public static String[] concat(String[] left, String[] right){
+        String[] row = new String[left.length + right.length];
+        for(int i = 0; i < row.length; i++){
+            String value = (i < left.length) ? left[i] : right[i - left.length];
+            row[i] = (value == null) ? "" : value;
+        }
+        return row;
+    }
+
+    ////////////////////
+    // HELPER CLASSES //
+    ////////////////////
+
+    /**
+     * The rows of one side of a join (the whole table, or one partition of it)
+     * along with the table's join column.
+     */
+    private static class Side{
+
+        // member variables
+        private Table table;
+        private int column; /** The join column */
+        private ColumnHasher hasher; /** Hasher of the join column */
+        private int[] rows; /** The rows of the table, in ascending order (null if every row) */
+
+        /**
+         * Class constructor.
+         *
+         * @param table The table.
+         * @param column The join column of the table.
+         * @param hasher The hasher of the join column.
+         * @param rows The rows of the table, in ascending order (null if every row).
+         */
+        public Side(Table table, int column, ColumnHasher hasher, int[] rows){
+            this.table = table;
+            this.column = column;
+            this.hasher = hasher;
+            this.rows = rows;
+        }
+
+        /**
+         * Returns the provided rows of the same table.
+         *
+         * @param rows The rows of the table, in ascending order.
+         * @return The rows as a side of the join.
+         */
+        public Side getPartition(int[] rows){
+            return new Side(this.table, this.column, this.hasher, rows);
+        }
+
+        /**
+         * Returns the row of the table at the provided index within the rows.
+         *
+         * @param index The index within the rows.
+         * @return The index of the row within the table.
+         */
+        public int getRow(int index){
+            return (this.rows == null) ? index : this.rows[index];
+        }
+
+        public int getRowCount(){
+            return (this.rows == null) ? this.table.getRowCount() : this.rows.length;
+        }
+    }
+
+    /**
+     * The matching pairs of rows found by a join, as (left row << 32 | right
+     * row).
+     */
+    private static class Matches{
+
+        // member variables
+        private boolean buildLeft; /** If the build side is the left table */
+        private long[] pairs;
+        private int count;
+        private boolean partitioned; /** If the tables were partitioned (so the pairs are not in order) */
+
+        /**
+         * Class constructor.
+         *
+         * @param buildLeft If the build side is the left table.
+         */
+        public Matches(boolean buildLeft){
+            this.buildLeft = buildLeft;
+            this.pairs = new long[16];
+            this.count = 0;
+            this.partitioned = false;
+        }
+
+        /**
+         * Adds a matching pair.
+         *
+         * @param buildRow The matching row of the build table.
+         * @param probeRow The matching row of the probe table.
+         */
+        public void add(int buildRow, int probeRow){
+            if(this.count == this.pairs.length){
+                this.pairs = Arrays.copyOf(this.pairs, this.count * 2);
+            }
+            int l = this.buildLeft ? buildRow : probeRow;
+            int r = this.buildLeft ? probeRow : buildRow;
+            this.pairs[this.count++] = ((long) l << 32) | r;
+        }
+
+        /**
+         * Returns the matching pairs found.
+         *
+         * @return The matching pairs, in the order they were found.
+         */
+        public long[] toArray(){
+            return Arrays.copyOf(this.pairs, this.count);
+        }
+
+        public boolean isPartitioned(){
+            return this.partitioned;
+        }
+
+        public void setPartitioned(){
+            this.partitioned = true;
+        }
+    }
+
+    /**
+     * Hashes the values of the join column of a table, one row at a time (so
+     * no array of hashes the size of the table is needed).
+     *
+     * The distinct values of a ColumnarTable's column are hashed once up front,
+     * so hashing one of it's rows is just a lookup of the row's code.
+     */
+    private static class ColumnHasher{
+
+        // member variables
+        private Table table;
+        private int column;
+        private Column values; /** The column (null if the table is not columnar) */
+        private int[] dictionaryHashes; /** Hash of each distinct value of the column (null if the table is not columnar) */
+        private int emptyHash; /** Hash of the empty value (missing fields are joined as empty) */
+
+        /**
+         * Class constructor.
+         *
+         * @param table The table.
+         * @param column The column being hashed.
+         */
+        public ColumnHasher(Table table, int column){
+            this.table = table;
+            this.column = column;
+            this.emptyHash = JoinHashTable.hash("");
+
+            if(table instanceof ColumnarTable){
+                // hashing each distinct value once
+                this.values = ((ColumnarTable) table).getColumn(column);
+                String[] dictionary = this.values.getDictionary();
+                this.dictionaryHashes = new int[dictionary.length];
+                for(int code = 0; code < dictionary.length; code++){
+                    this.dictionaryHashes[code] = JoinHashTable.hash(dictionary[code]);
+                }
+            }
+        }
+
+        /**
+         * Returns the hash of the column's value in the provided row.
+         *
+         * @param row The index of the row.
+         * @return The hash of the value (from JoinHashTable.hash()).
+         */
+        public int hash(int row){
+            if(this.values != null){
+                return this.values.isNull(row) ? this.emptyHash : this.dictionaryHashes[this.values.getCode(row)];
+            }
+            return JoinHashTable.hash(this.table.get(row, this.column));
+        }
+    }
+}
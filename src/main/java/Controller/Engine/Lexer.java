@@ -0,0 +1,126 @@
+package Controller.Engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * Breaks the source code of a CSVQL program into Tokens.
+ *
+ * The keywords recognised are those highlighted by the editor (the
+ * text/x-csvql CodeMirror mode). Words that are not keywords are not part of
+ * the syntax the engine supports, so they are rejected.
+ */
+public class Lexer {
+
+    // constants
+    private static final HashSet<String> KEYWORDS = new HashSet<String>(Arrays.asList(
+        "SETUP", "LET", "READ", "RETURN", "SELECT", "FROM", "WHERE", "DELETE", "UPDATE", "TO", "ON",
+        "INSERT", "VALUES", "COLUMN", "INTO", "UNION", "INTERSECTION", "DIFFERENCE", "JOIN", "INNER",
+        "LEFT", "RIGHT", "OUTER", "FULL", "MERGE", "KEEPING", "ORDER", "IN", "ASC", "DESC", "BY",
+        "LIMIT", "OFFSET", "LAST", "UNIQUE", "TRANSPOSE", "INDEX", "NOT", "AND", "OR",
+        "PRETTYPRINT", "INPUTDELIM", "OUTPUTDELIM"));
+    private static final String[] SYMBOLS = {"!=", "<=", ">=", ";", ",", "=", "<", ">", "(", ")", "{", "}", "*"};
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * Private as cannot be instantiated.
+     */
+    private Lexer(){}
+
+    ////////////////
+    // TOKENISING //
+    ////////////////
+
+    /**
+     * Breaks the provided program into tokens.
+     *
+     * @param program The source code of the CSVQL program.
+     * @return The tokens of the program (ending with an END token).
+     * @throws UnsupportedProgramException Thrown if the program contains text the
+     * engine does not recognise.
+     */
+    public static ArrayList<Token> tokenise(String program) throws UnsupportedProgramException{
+        ArrayList<Token> tokens = new ArrayList<Token>();
+        int line = 1;
+        int i = 0;
+
+        while(i < program.length()){
+            char c = program.charAt(i);
+
+            // WHITESPACE //
+            if(Character.isWhitespace(c)){
+                if(c == '\n'){
+                    line++;
+                }
+                i++;
+            }
+            // STRING //
+            else if(c == '"'){
+                int end = program.indexOf('"', i + 1);
+                if(end < 0){
+                    throw new UnsupportedProgramException("Unterminated string on line " + line + ".");
+                }
+                tokens.add(new Token(Token.Type.STRING, program.substring(i + 1, end), line));
+                i = end + 1;
+            }
+            // VARIABLE //
+            else if(c == '@'){
+                int end = i + 1;
+                while(end < program.length() && (Character.isLetterOrDigit(program.charAt(end)) || program.charAt(end) == '_')){
+                    end++;
+                }
+                if(end == i + 1){
+                    throw new UnsupportedProgramException("Variable without a name on line " + line + ".");
+                }
+                tokens.add(new Token(Token.Type.VARIABLE, program.substring(i + 1, end), line));
+                i = end;
+            }
+            // NUMBER //
+            else if(Character.isDigit(c)){
+                int end = i;
+                while(end < program.length() && Character.isDigit(program.charAt(end))){
+                    end++;
+                }
+                tokens.add(new Token(Token.Type.NUMBER, program.substring(i, end), line));
+                i = end;
+            }
+            // KEYWORD //
+            else if(Character.isLetter(c)){
+                int end = i;
+                while(end < program.length() && Character.isLetter(program.charAt(end))){
+                    end++;
+                }
+                String word = program.substring(i, end);
+                if(!KEYWORDS.contains(word)){
+                    throw new UnsupportedProgramException("Unrecognised word '" + word + "' on line " + line + ".");
+                }
+                tokens.add(new Token(Token.Type.KEYWORD, word, line));
+                i = end;
+            }
+            // SYMBOL //
+            else{
+                String symbol = null;
+                for(String candidate : SYMBOLS){
+                    if(program.startsWith(candidate, i)){
+                        symbol = candidate;
+                        break;
+                    }
+                }
+                if(symbol == null){
+                    throw new UnsupportedProgramException("Unrecognised character '" + c + "' on line " + line + ".");
+                }
+                tokens.add(new Token(Token.Type.SYMBOL, symbol, line));
+                i += symbol.length();
+            }
+        }
+
+        tokens.add(new Token(Token.Type.END, "", line));
+        return tokens;
+    }
+}
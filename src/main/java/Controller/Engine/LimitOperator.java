@@ -0,0 +1,39 @@
+package Controller.Engine;
+
+import java.util.ArrayList;
+
+/**
+ * Operator for 'table LIMIT n [OFFSET m]' - keeps at most n rows, after
+ * skipping the first m.
+ */
+public class LimitOperator extends Operator{
+
+    // member variables
+    private Operator source;
+    private int limit;
+    private int offset;
+
+    /**
+     * Class constructor.
+     *
+     * @param source The operator producing the table.
+     * @param limit The maximum number of rows kept.
+     * @param offset The number of rows skipped.
+     */
+    public LimitOperator(Operator source, int limit, int offset){
+        this.source = source;
+        this.limit = limit;
+        this.offset = offset;
+    }
+
+    @Override
+    public Table execute(ExecutionContext context) throws UnsupportedProgramException{
+        Table table = this.source.execute(context);
+
+        ArrayList<String[]> rows = new ArrayList<String[]>();
+        for(int row = this.offset; row < table.getRowCount() && rows.size() < this.limit; row++){
+            rows.add(table.getRow(row));
+        }
+        return new RowTable(rows);
+    }
+}
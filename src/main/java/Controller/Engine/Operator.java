@@ -0,0 +1,51 @@
+package Controller.Engine;
+
+/**
+ * A step within the plan of a CSVQL query, produced by the Parser.
+ *
+ * Each operator computes a new table from the tables produced by the operators
+ * beneath it - tables are never modified in place.
+ */
+public abstract class Operator {
+
+    ///////////////
+    // EXECUTING //
+    ///////////////
+
+    /**
+     * Computes the table produced by the operator.
+     *
+     * @param context The state of the program being executed.
+     * @return The table produced by the operator.
+     * @throws UnsupportedProgramException Thrown if the operator cannot be
+     * executed by the engine.
+     */
+    public abstract Table execute(ExecutionContext context) throws UnsupportedProgramException;
+
+    /////////////
+    // HELPERS //
+    /////////////
+
+    /**
+     * Converts a column reference into the index of a column within a table.
+     *
+     * @param column The NUMBER token referencing the column (starting from 1).
+     * @param table The table the column belongs to.
+     * @return The index of the column (starting from 0).
+     * @throws UnsupportedProgramException Thrown if the column is not within the
+     * table.
+     */
+    public static int getColumnIndex(Token column, Table table) throws UnsupportedProgramException{
+        int index;
+        try{
+            index = Integer.parseInt(column.getText());
+        }
+        catch(NumberFormatException e){
+            index = 0;
+        }
+        if(index < 1 || index > table.getColumnCount()){
+            throw new UnsupportedProgramException("Column " + column + " is not within the table.");
+        }
+        return index - 1;
+    }
+}
@@ -0,0 +1,47 @@
+package Controller.Engine;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+
+/**
+ * Operator for 'table ORDER BY column [ASC|DESC]' - sorts the rows of a table
+ * on a column (stable, so equal rows keep their order).
+ */
+public class OrderOperator extends Operator{
+
+    // member variables
+    private Operator source;
+    private Token column;
+    private boolean descending;
+
+    /**
+     * Class constructor.
+     *
+     * @param source The operator producing the table.
+     * @param column The NUMBER token of the column being sorted on.
+     * @param descending If the rows are sorted in descending order.
+     */
+    public OrderOperator(Operator source, Token column, boolean descending){
+        this.source = source;
+        this.column = column;
+        this.descending = descending;
+    }
+
+    @Override
+    public Table execute(ExecutionContext context) throws UnsupportedProgramException{
+        Table table = this.source.execute(context);
+        int index = Operator.getColumnIndex(this.column, table);
+
+        ArrayList<String[]> rows = new ArrayList<String[]>();
+        for(int row = 0; row < table.getRowCount(); row++){
+            rows.add(table.getRow(row));
+        }
+
+        Comparator<String[]> comparator = (a, b) -> Condition.compareValues(
+            (index < a.length) ? a[index] : "",
+            (index < b.length) ? b[index] : "");
+        rows.sort(this.descending ? comparator.reversed() : comparator);
+
+        return new RowTable(rows);
+    }
+}
@@ -0,0 +1,305 @@
+package Controller.Engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parses the tokens of a CSVQL program into Statements (whose queries are trees
+ * of Operators).
+ *
+ * The grammar supported is:
+ *
+ *     program   := [SETUP { (INPUTDELIM "s" ; | OUTPUTDELIM "s" ;)* }] statement*
+ *     statement := LET @v = query ; | RETURN query ;
+ *     query     := joinTerm ((UNION | INTERSECTION | DIFFERENCE) joinTerm)*
+ *     joinTerm  := postfix ([INNER | LEFT [OUTER] | RIGHT [OUTER] | FULL [OUTER]] JOIN postfix ON n = n)*
+ *     postfix   := primary (ORDER BY n [ASC | DESC] | LIMIT n [OFFSET n])*
+ *     primary   := READ "file" | @v | ( query ) | SELECT (* | n, ...) FROM postfix [WHERE condition]
+ *                | UNIQUE primary | TRANSPOSE primary
+ *     condition := conjunct (OR conjunct)*
+ *     conjunct  := negation (AND negation)*
+ *     negation  := NOT negation | ( condition ) | operand (= | != | < | > | <= | >=) operand
+ *     operand   := n | "s"
+ *
+ * Anything else is reported as an UnsupportedProgramException.
+ */
+public class Parser {
+
+    // constants
+    private static final List<String> COMPARISONS = Arrays.asList("=", "!=", "<", ">", "<=", ">=");
+
+    // member variables
+    private ArrayList<Token> tokens;
+    private int position;
+    private ArrayList<String[]> setup; /** Delimiter settings from the SETUP block, as {keyword, value} */
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * @param tokens The tokens of the program (ending with an END token).
+     */
+    public Parser(ArrayList<Token> tokens){
+        // initializing
+        this.tokens = tokens;
+        this.position = 0;
+        this.setup = new ArrayList<String[]>();
+    }
+
+    /////////////
+    // PARSING //
+    /////////////
+
+    /**
+     * Parses the program.
+     *
+     * @return The statements of the program, in order.
+     * @throws UnsupportedProgramException Thrown if the program uses syntax the
+     * engine does not support.
+     */
+    public ArrayList<Statement> parseProgram() throws UnsupportedProgramException{
+        ArrayList<Statement> statements = new ArrayList<Statement>();
+
+        // setup block
+        if(this.accept(Token.Type.KEYWORD, "SETUP")){
+            this.expect(Token.Type.SYMBOL, "{");
+            while(!this.accept(Token.Type.SYMBOL, "}")){
+                Token keyword = this.next();
+                if(!keyword.is(Token.Type.KEYWORD, "INPUTDELIM") && !keyword.is(Token.Type.KEYWORD, "OUTPUTDELIM")){
+                    throw this.unsupported(keyword);
+                }
+                String value = this.expectType(Token.Type.STRING).getText();
+                if(value.isEmpty()){
+                    throw new UnsupportedProgramException("Empty delimiter on line " + keyword.getLine() + ".");
+                }
+                this.setup.add(new String[]{keyword.getText(), value});
+                this.expect(Token.Type.SYMBOL, ";");
+            }
+        }
+
+        // statements
+        while(this.peek().getType() != Token.Type.END){
+            if(this.accept(Token.Type.KEYWORD, "LET")){
+                String variable = this.expectType(Token.Type.VARIABLE).getText();
+                this.expect(Token.Type.SYMBOL, "=");
+                statements.add(new Statement(variable, this.parseQuery()));
+            }
+            else{
+                this.expect(Token.Type.KEYWORD, "RETURN");
+                statements.add(new Statement(null, this.parseQuery()));
+            }
+            this.expect(Token.Type.SYMBOL, ";");
+        }
+
+        return statements;
+    }
+
+    private Operator parseQuery() throws UnsupportedProgramException{
+        Operator query = this.parseJoinTerm();
+        while(true){
+            Token token = this.peek();
+            if(token.is(Token.Type.KEYWORD, "UNION") || token.is(Token.Type.KEYWORD, "INTERSECTION") || token.is(Token.Type.KEYWORD, "DIFFERENCE")){
+                this.next();
+                query = new SetOperator(token.getText(), query, this.parseJoinTerm());
+            }
+            else{
+                return query;
+            }
+        }
+    }
+
+    private Operator parseJoinTerm() throws UnsupportedProgramException{
+        Operator query = this.parsePostfix();
+        while(true){
+            String type;
+            if(this.accept(Token.Type.KEYWORD, "JOIN")){
+                type = "INNER";
+            }
+            else if(this.accept(Token.Type.KEYWORD, "INNER")){
+                type = "INNER";
+                this.expect(Token.Type.KEYWORD, "JOIN");
+            }
+            else if(this.peek().is(Token.Type.KEYWORD, "LEFT") || this.peek().is(Token.Type.KEYWORD, "RIGHT") || this.peek().is(Token.Type.KEYWORD, "FULL")){
+                type = this.next().getText();
+                this.accept(Token.Type.KEYWORD, "OUTER");
+                this.expect(Token.Type.KEYWORD, "JOIN");
+            }
+            else{
+                return query;
+            }
+            Operator right = this.parsePostfix();
+            this.expect(Token.Type.KEYWORD, "ON");
+            Token leftColumn = this.expectType(Token.Type.NUMBER);
+            this.expect(Token.Type.SYMBOL, "=");
+            Token rightColumn = this.expectType(Token.Type.NUMBER);
+            query = new JoinOperator(type, query, right, leftColumn, rightColumn);
+        }
+    }
+
+    private Operator parsePostfix() throws UnsupportedProgramException{
+        Operator query = this.parsePrimary();
+        while(true){
+            if(this.accept(Token.Type.KEYWORD, "ORDER")){
+                this.expect(Token.Type.KEYWORD, "BY");
+                Token column = this.expectType(Token.Type.NUMBER);
+                boolean descending = this.accept(Token.Type.KEYWORD, "DESC");
+                if(!descending){
+                    this.accept(Token.Type.KEYWORD, "ASC");
+                }
+                query = new OrderOperator(query, column, descending);
+            }
+            else if(this.accept(Token.Type.KEYWORD, "LIMIT")){
+                int limit = this.parseCount();
+                int offset = this.accept(Token.Type.KEYWORD, "OFFSET") ? this.parseCount() : 0;
+                query = new LimitOperator(query, limit, offset);
+            }
+            else{
+                return query;
+            }
+        }
+    }
+
+    private Operator parsePrimary() throws UnsupportedProgramException{
+        Token token = this.next();
+
+        if(token.is(Token.Type.KEYWORD, "READ")){
+            return new ReadOperator(this.expectType(Token.Type.STRING).getText());
+        }
+        else if(token.getType() == Token.Type.VARIABLE){
+            return new VariableOperator(token.getText());
+        }
+        else if(token.is(Token.Type.SYMBOL, "(")){
+            Operator query = this.parseQuery();
+            this.expect(Token.Type.SYMBOL, ")");
+            return query;
+        }
+        else if(token.is(Token.Type.KEYWORD, "SELECT")){
+            ArrayList<Token> columns = null;
+            if(!this.accept(Token.Type.SYMBOL, "*")){
+                columns = new ArrayList<Token>();
+                do{
+                    columns.add(this.expectType(Token.Type.NUMBER));
+                }
+                while(this.accept(Token.Type.SYMBOL, ","));
+            }
+            this.expect(Token.Type.KEYWORD, "FROM");
+            Operator source = this.parsePostfix();
+            Condition condition = this.accept(Token.Type.KEYWORD, "WHERE") ? this.parseCondition() : null;
+            return new SelectOperator(columns, source, condition);
+        }
+        else if(token.is(Token.Type.KEYWORD, "UNIQUE")){
+            return new UniqueOperator(this.parsePrimary());
+        }
+        else if(token.is(Token.Type.KEYWORD, "TRANSPOSE")){
+            return new TransposeOperator(this.parsePrimary());
+        }
+
+        throw this.unsupported(token);
+    }
+
+    private Condition parseCondition() throws UnsupportedProgramException{
+        Condition condition = this.parseConjunct();
+        while(this.accept(Token.Type.KEYWORD, "OR")){
+            condition = Condition.combine(Condition.Type.OR, condition, this.parseConjunct());
+        }
+        return condition;
+    }
+
+    private Condition parseConjunct() throws UnsupportedProgramException{
+        Condition condition = this.parseNegation();
+        while(this.accept(Token.Type.KEYWORD, "AND")){
+            condition = Condition.combine(Condition.Type.AND, condition, this.parseNegation());
+        }
+        return condition;
+    }
+
+    private Condition parseNegation() throws UnsupportedProgramException{
+        if(this.accept(Token.Type.KEYWORD, "NOT")){
+            return Condition.negate(this.parseNegation());
+        }
+        if(this.accept(Token.Type.SYMBOL, "(")){
+            Condition condition = this.parseCondition();
+            this.expect(Token.Type.SYMBOL, ")");
+            return condition;
+        }
+
+        Token left = this.parseOperand();
+        Token operator = this.next();
+        if(operator.getType() != Token.Type.SYMBOL || !COMPARISONS.contains(operator.getText())){
+            throw this.unsupported(operator);
+        }
+        return Condition.compare(left, operator.getText(), this.parseOperand());
+    }
+
+    private Token parseOperand() throws UnsupportedProgramException{
+        Token token = this.next();
+        if(token.getType() != Token.Type.NUMBER && token.getType() != Token.Type.STRING){
+            throw this.unsupported(token);
+        }
+        return token;
+    }
+
+    private int parseCount() throws UnsupportedProgramException{
+        Token token = this.expectType(Token.Type.NUMBER);
+        try{
+            return Integer.parseInt(token.getText());
+        }
+        catch(NumberFormatException e){
+            throw this.unsupported(token);
+        }
+    }
+
+    /////////////
+    // HELPERS //
+    /////////////
+
+    private Token peek(){
+        return this.tokens.get(this.position);
+    }
+
+    private Token next(){
+        Token token = this.tokens.get(this.position);
+        if(token.getType() != Token.Type.END){
+            this.position++;
+        }
+        return token;
+    }
+
+    private boolean accept(Token.Type type, String text){
+        if(this.peek().is(type, text)){
+            this.next();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(Token.Type type, String text) throws UnsupportedProgramException{
+        if(!this.accept(type, text)){
+            throw this.unsupported(this.peek());
+        }
+    }
+
+    private Token expectType(Token.Type type) throws UnsupportedProgramException{
+        Token token = this.next();
+        if(token.getType() != type){
+            throw this.unsupported(token);
+        }
+        return token;
+    }
+
+    private UnsupportedProgramException unsupported(Token token){
+        return new UnsupportedProgramException("Unexpected " + token + ".");
+    }
+
+    /////////////////////////
+    // GETTERS AND SETTERS //
+    /////////////////////////
+
+    public ArrayList<String[]> getSetup(){
+        return this.setup;
+    }
+}
@@ -0,0 +1,24 @@
+package Controller.Engine;
+
+/**
+ * Operator for 'READ "file"' - reads a table from disk.
+ */
+public class ReadOperator extends Operator{
+
+    // member variables
+    private String fileName;
+
+    /**
+     * Class constructor.
+     *
+     * @param fileName The name of the file being read.
+     */
+    public ReadOperator(String fileName){
+        this.fileName = fileName;
+    }
+
+    @Override
+    public Table execute(ExecutionContext context) throws UnsupportedProgramException{
+        return context.readTable(this.fileName);
+    }
+}
@@ -0,0 +1,61 @@
+package Controller.Engine;
+
+import java.util.ArrayList;
+
+/**
+ * A Table held as a list of rows, where each row is an array of field values.
+ *
+ * Used for the intermediate results of operators, which are built a row at a
+ * time and are usually short lived.
+ */
+public class RowTable extends Table{
+
+    // member variables
+    private ArrayList<String[]> rows;
+    private int columnCount;
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * @param rows The rows of the table.
+     */
+    public RowTable(ArrayList<String[]> rows){
+        // initializing
+        this.rows = rows;
+        this.columnCount = 0;
+
+        // width of the widest row
+        for(String[] row : rows){
+            this.columnCount = Math.max(this.columnCount, row.length);
+        }
+    }
+
+    ///////////////
+    // ACCESSING //
+    ///////////////
+
+    @Override
+    public String get(int row, int column){
+        String[] values = this.rows.get(row);
+        return (column < values.length) ? values[column] : "";
+    }
+
+    @Override
+    public String[] getRow(int row){
+        return this.rows.get(row);
+    }
+
+    @Override
+    public int getRowCount(){
+        return this.rows.size();
+    }
+
+    @Override
+    public int getColumnCount(){
+        return this.columnCount;
+    }
+}
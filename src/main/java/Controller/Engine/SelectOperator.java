@@ -0,0 +1,62 @@
+package Controller.Engine;
+
+import java.util.ArrayList;
+
+/**
+ * Operator for 'SELECT columns FROM table [WHERE condition]' - keeps the rows
+ * meeting the condition, and the listed columns (or all columns for '*').
+ */
+public class SelectOperator extends Operator{
+
+    // member variables
+    private ArrayList<Token> columns; /** Selected columns (null for '*') */
+    private Operator source;
+    private Condition condition; /** Condition rows must meet (null if no WHERE clause) */
+
+    /**
+     * Class constructor.
+     *
+     * @param columns The NUMBER tokens of the selected columns (null for '*').
+     * @param source The operator producing the table being selected from.
+     * @param condition The condition rows must meet (null if no WHERE clause).
+     */
+    public SelectOperator(ArrayList<Token> columns, Operator source, Condition condition){
+        this.columns = columns;
+        this.source = source;
+        this.condition = condition;
+    }
+
+    @Override
+    public Table execute(ExecutionContext context) throws UnsupportedProgramException{
+        Table table = this.source.execute(context);
+
+        // resolving columns
+        int[] indexes = null;
+        if(this.columns != null){
+            indexes = new int[this.columns.size()];
+            for(int i = 0; i < indexes.length; i++){
+                indexes[i] = Operator.getColumnIndex(this.columns.get(i), table);
+            }
+        }
+
+        // filtering and projecting rows
+        ArrayList<String[]> rows = new ArrayList<String[]>();
+        for(int row = 0; row < table.getRowCount(); row++){
+            if(this.condition != null && !this.condition.evaluate(table, row)){
+                continue;
+            }
+            if(indexes == null){
+                rows.add(table.getRow(row));
+            }
+            else{
+                String[] values = new String[indexes.length];
+                for(int i = 0; i < indexes.length; i++){
+                    values[i] = table.get(row, indexes[i]);
+                }
+                rows.add(values);
+            }
+        }
+
+        return new RowTable(rows);
+    }
+}
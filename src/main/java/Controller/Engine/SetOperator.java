@@ -0,0 +1,77 @@
+package Controller.Engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Operator for 'UNION', 'INTERSECTION' and 'DIFFERENCE' - combines the rows of
+ * two tables as sets (without duplicates, in order of first appearance).
+ */
+public class SetOperator extends Operator{
+
+    // member variables
+    private String type; /** UNION, INTERSECTION or DIFFERENCE */
+    private Operator left;
+    private Operator right;
+
+    /**
+     * Class constructor.
+     *
+     * @param type The type of set operation (UNION, INTERSECTION or DIFFERENCE).
+     * @param left The operator producing the first table.
+     * @param right The operator producing the second table.
+     */
+    public SetOperator(String type, Operator left, Operator right){
+        this.type = type;
+        this.left = left;
+        this.right = right;
+    }
+
+    @Override
+    public Table execute(ExecutionContext context) throws UnsupportedProgramException{
+        Table leftTable = this.left.execute(context);
+        Table rightTable = this.right.execute(context);
+
+        // rows of each table as comparable lists
+        LinkedHashSet<List<String>> leftRows = SetOperator.getRowSet(leftTable);
+        LinkedHashSet<List<String>> rightRows = SetOperator.getRowSet(rightTable);
+
+        // combining the rows
+        LinkedHashSet<List<String>> result = new LinkedHashSet<List<String>>(leftRows);
+        switch(this.type){
+            case "UNION":
+                result.addAll(rightRows);
+                break;
+            case "INTERSECTION":
+                result.retainAll(new HashSet<List<String>>(rightRows));
+                break;
+            default:
+                result.removeAll(new HashSet<List<String>>(rightRows));
+                break;
+        }
+
+        ArrayList<String[]> rows = new ArrayList<String[]>();
+        for(List<String> row : result){
+            rows.add(row.toArray(new String[0]));
+        }
+        return new RowTable(rows);
+    }
+
+    /**
+     * Returns the distinct rows of the provided table, in order of first
+     * appearance.
+     *
+     * @param table The table being converted.
+     * @return The distinct rows of the table.
+     */
+    public static LinkedHashSet<List<String>> getRowSet(Table table){
+        LinkedHashSet<List<String>> rows = new LinkedHashSet<List<String>>();
+        for(int row = 0; row < table.getRowCount(); row++){
+            rows.add(Arrays.asList(table.getRow(row)));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,44 @@
+package Controller.Engine;
+
+import java.util.ArrayList;
+
+/**
+ * A statement within a CSVQL program - either 'LET @name = query;' or
+ * 'RETURN query;'.
+ */
+public class Statement {
+
+    // member variables
+    private String variable; /** Variable being assigned (null for RETURN statements) */
+    private Operator query;
+
+    /**
+     * Class constructor.
+     *
+     * @param variable The variable being assigned (null for RETURN statements).
+     * @param query The query the statement evaluates.
+     */
+    public Statement(String variable, Operator query){
+        this.variable = variable;
+        this.query = query;
+    }
+
+    /**
+     * Executes the statement - assigning the variable, or adding the returned
+     * table to the output.
+     *
+     * @param context The state of the program being executed.
+     * @param returned The tables returned by the program so far.
+     * @throws UnsupportedProgramException Thrown if the query cannot be executed
+     * by the engine.
+     */
+    public void execute(ExecutionContext context, ArrayList<Table> returned) throws UnsupportedProgramException{
+        Table table = this.query.execute(context);
+        if(this.variable != null){
+            context.setVariable(this.variable, table);
+        }
+        else{
+            returned.add(table);
+        }
+    }
+}
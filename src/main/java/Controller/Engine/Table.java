@@ -0,0 +1,74 @@
+package Controller.Engine;
+
+/**
+ * A table of values within the CsvqlEngine - a list of rows, where each row is
+ * a list of field values.
+ *
+ * Rows do not all need to have the same width - a field beyond the end of a row
+ * is treated as empty. Tables are never modified once created (operators always
+ * produce a new table), so they can be shared between runs by the TableCache.
+ *
+ * Tables read from disk are held as ColumnarTables, while the intermediate
+ * results of operators are held as RowTables.
+ */
+public abstract class Table {
+
+    ///////////////
+    // ACCESSING //
+    ///////////////
+
+    /**
+     * Returns the value of the provided field.
+     *
+     * @param row The index of the row (starting from 0).
+     * @param column The index of the column (starting from 0).
+     * @return The value of the field (empty if the row does not have the column).
+     */
+    public abstract String get(int row, int column);
+
+    /**
+     * Returns the values in the provided row (only as many values as the row
+     * has).
+     *
+     * @param row The index of the row (starting from 0).
+     * @return The values in the row.
+     */
+    public abstract String[] getRow(int row);
+
+    /**
+     * Returns the number of rows in the table.
+     *
+     * @return The number of rows in the table.
+     */
+    public abstract int getRowCount();
+
+    /**
+     * Returns the width of the widest row in the table.
+     *
+     * @return The number of columns in the table.
+     */
+    public abstract int getColumnCount();
+
+    /**
+     * Returns the provided row, padded to the width of the table.
+     *
+     * @param row The index of the row (starting from 0).
+     * @return The values in the row.
+     */
+    public String[] getPaddedRow(int row){
+        String[] values = new String[this.getColumnCount()];
+        for(int column = 0; column < values.length; column++){
+            values[column] = this.get(row, column);
+        }
+        return values;
+    }
+
+    /**
+     * Returns the number of cells in the table (used to size the TableCache).
+     *
+     * @return The number of cells in the table.
+     */
+    public long getCellCount(){
+        return (long) this.getRowCount() * this.getColumnCount();
+    }
+}
@@ -0,0 +1,133 @@
+package Controller.Engine;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads tables from disk as ColumnarTables (from the ColumnarCache when it
+ * holds the current version of a table), and keeps the most recently used
+ * ones in memory so they can be shared between runs of the CsvqlEngine.
+ *
+ * Tables are only read when they are asked for (by a run of the engine, or a
+ * StoredTable), and the cache is the only thing holding them - so the limit on
+ * the number of cells bounds the memory used by tables.
+ *
+ * Tables are keyed by their path, size, modified time and the delimiter they
+ * were read with - so an edited file is always read again.
+ */
+public class TableCache {
+
+    // constants
+    private static final long MAX_CELLS = 20_000_000; /** Total number of cells held across all cached tables */
+
+    // member variables
+    private static final LinkedHashMap<String, ColumnarTable> tables = new LinkedHashMap<String, ColumnarTable>(16, 0.75f, true); /** Cached tables, in order of last use */
+    private static long cellCount = 0; /** Number of cells currently held in the cache */
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * Private as cannot be instantiated.
+     */
+    private TableCache(){}
+
+    ////////////////////
+    // READING TABLES //
+    ////////////////////
+
+    /**
+     * Returns the table stored in the provided file for use by the engine,
+     * reading it from disk if it is not already cached.
+     *
+     * @param file The file the table is stored in.
+     * @param delim The delimiter used in the file.
+     * @return The table stored in the file.
+     * @throws UnsupportedProgramException Thrown if the file cannot be read, or
+     * uses quoting the engine does not support.
+     */
+    public static Table getTable(File file, String delim) throws UnsupportedProgramException{
+        ColumnarTable table;
+        try{
+            table = TableCache.loadTable(file, delim);
+        }
+        catch(Exception e){
+            throw new UnsupportedProgramException(e.getMessage());
+        }
+
+        // quoted fields are left to the interpreter
+        if(table.isQuoted()){
+            throw new UnsupportedProgramException("Table '" + file.getName() + "' contains quoted fields.");
+        }
+
+        return table;
+    }
+
+    /**
+     * Returns the table stored in the provided file, reading it from disk if it
+     * is not already cached.
+     *
+     * The table is held by the cache, so callers should not keep it for longer
+     * than they are using it (so it can still be evicted).
+     *
+     * @param file The file the table is stored in.
+     * @param delim The delimiter used in the file.
+     * @return The table stored in the file.
+     * @throws Exception Thrown if the file could not be read.
+     */
+    public static ColumnarTable loadTable(File file, String delim) throws Exception{
+        String key = file.getAbsolutePath() + ":" + file.length() + ":" + file.lastModified() + ":" + delim;
+
+        // checking the cache
+        synchronized(tables){
+            ColumnarTable table = tables.get(key);
+            if(table != null){
+                return table;
+            }
+        }
+
+        // loading the table from the on-disk cache
+        ColumnarTable table = null;
+        String diskKey = null;
+        try{
+            diskKey = ColumnarCache.getKey(file, delim);
+            table = ColumnarCache.load(file, delim, diskKey);
+        }
+        catch(Exception e){
+            // cache could not be read - parsing the table instead
+        }
+
+        // parsing the table (and rebuilding it's cache file)
+        if(table == null){
+            table = ColumnarTable.read(file, delim);
+            if(diskKey != null){
+                ColumnarCache.storeInBackground(file, delim, diskKey, table);
+            }
+        }
+
+        // storing the table
+        synchronized(tables){
+            if(!tables.containsKey(key)){
+                tables.put(key, table);
+                cellCount += table.getCellCount();
+
+                // evicting least recently used tables (keeping the new one)
+                Iterator<Map.Entry<String, ColumnarTable>> entries = tables.entrySet().iterator();
+                while(cellCount > MAX_CELLS && entries.hasNext()){
+                    Map.Entry<String, ColumnarTable> entry = entries.next();
+                    if(entry.getValue() != table){
+                        cellCount -= entry.getValue().getCellCount();
+                        entries.remove();
+                    }
+                }
+            }
+        }
+
+        return table;
+    }
+}
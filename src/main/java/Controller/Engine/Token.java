@@ -0,0 +1,74 @@
+package Controller.Engine;
+
+/**
+ * A single token within a CSVQL program, produced by the Lexer.
+ */
+public class Token {
+
+    /**
+     * The types of token within a CSVQL program.
+     */
+    public enum Type{
+        KEYWORD,  // e.g., SELECT
+        VARIABLE, // e.g., @A (text is the name without the '@')
+        STRING,   // e.g., "A.csv" (text is the content without the quotes)
+        NUMBER,   // e.g., 3
+        SYMBOL,   // e.g., ; , = != < > <= >= ( ) { } *
+        END       // end of the program
+    }
+
+    // member variables
+    private Type type;
+    private String text;
+    private int line;
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * @param type The type of the token.
+     * @param text The text of the token.
+     * @param line The line the token is on (starting from 1).
+     */
+    public Token(Type type, String text, int line){
+        // initializing
+        this.type = type;
+        this.text = text;
+        this.line = line;
+    }
+
+    /**
+     * Determines if the token is of the provided type and has the provided text.
+     *
+     * @param type The type being checked.
+     * @param text The text being checked.
+     * @return True if the token matches, false otherwise.
+     */
+    public boolean is(Type type, String text){
+        return this.type == type && this.text.equals(text);
+    }
+
+    /////////////////////////
+    // GETTERS AND SETTERS //
+    /////////////////////////
+
+    public Type getType(){
+        return this.type;
+    }
+
+    public String getText(){
+        return this.text;
+    }
+
+    public int getLine(){
+        return this.line;
+    }
+
+    @Override
+    public String toString(){
+        return (this.type == Type.END) ? "end of program" : "'" + this.text + "' (line " + this.line + ")";
+    }
+}
@@ -0,0 +1,36 @@
+package Controller.Engine;
+
+import java.util.ArrayList;
+
+/**
+ * Operator for 'TRANSPOSE table' - swaps the rows and columns of a table.
+ */
+public class TransposeOperator extends Operator{
+
+    // member variables
+    private Operator source;
+
+    /**
+     * Class constructor.
+     *
+     * @param source The operator producing the table.
+     */
+    public TransposeOperator(Operator source){
+        this.source = source;
+    }
+
+    @Override
+    public Table execute(ExecutionContext context) throws UnsupportedProgramException{
+        Table table = this.source.execute(context);
+
+        ArrayList<String[]> rows = new ArrayList<String[]>();
+        for(int column = 0; column < table.getColumnCount(); column++){
+            String[] values = new String[table.getRowCount()];
+            for(int row = 0; row < values.length; row++){
+                values[row] = table.get(row, column);
+            }
+            rows.add(values);
+        }
+        return new RowTable(rows);
+    }
+}
@@ -0,0 +1,31 @@
+package Controller.Engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Operator for 'UNIQUE table' - removes duplicate rows (keeping the first).
+ */
+public class UniqueOperator extends Operator{
+
+    // member variables
+    private Operator source;
+
+    /**
+     * Class constructor.
+     *
+     * @param source The operator producing the table.
+     */
+    public UniqueOperator(Operator source){
+        this.source = source;
+    }
+
+    @Override
+    public Table execute(ExecutionContext context) throws UnsupportedProgramException{
+        ArrayList<String[]> rows = new ArrayList<String[]>();
+        for(List<String> row : SetOperator.getRowSet(this.source.execute(context))){
+            rows.add(row.toArray(new String[0]));
+        }
+        return new RowTable(rows);
+    }
+}
@@ -0,0 +1,23 @@
+package Controller.Engine;
+
+/**
+ * Thrown by the CsvqlEngine when a program uses syntax (or a feature) that the
+ * engine does not support.
+ *
+ * The program should then be run by the CSVQL interpreter instead - which will
+ * either run it, or report the error in the program in it's own words.
+ */
+public class UnsupportedProgramException extends Exception{
+
+    // constants
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Class constructor.
+     *
+     * @param message What the engine does not support.
+     */
+    public UnsupportedProgramException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package Controller.Engine;
+
+/**
+ * Operator for '@name' - returns the table assigned to a variable.
+ */
+public class VariableOperator extends Operator{
+
+    // member variables
+    private String name;
+
+    /**
+     * Class constructor.
+     *
+     * @param name The name of the variable (without the '@').
+     */
+    public VariableOperator(String name){
+        this.name = name;
+    }
+
+    @Override
+    public Table execute(ExecutionContext context) throws UnsupportedProgramException{
+        return context.getVariable(this.name);
+    }
+}
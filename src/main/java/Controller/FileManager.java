@@ -4,10 +4,14 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.FileReader;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 
 import javafx.scene.input.Clipboard;
@@ -24,6 +28,9 @@ import javafx.stage.FileChooser.ExtensionFilter;
  * files.
  */
 public class FileManager {
+
+    // constants
+    private static final String CACHE_DIR = ".csvql-ide";
     
     //////////////////////////
     // READING FILE CONTENT //
@@ -39,25 +46,23 @@ public class FileManager {
      * read.
      */
     public static String getContentFromFile(File file) throws Exception{
-        try{
-            // setting up file reader 
-            BufferedReader reader = new BufferedReader(new FileReader(file));
-
-            // iterating through the file
-            ArrayList<String> content = new ArrayList<String>();
-            while(reader.ready()){
-                // getting next line
-                String line = reader.readLine();
-
-                // buildiing the content
-                content.add(line);
+        // setting up file reader 
+        try(BufferedReader reader = new BufferedReader(new FileReader(file))){
+            // iterating through the file (until the end, rather than while the reader is ready)
+            StringBuilder content = new StringBuilder((int) Math.min(file.length(), Integer.MAX_VALUE - 8));
+            String line;
+            while((line = reader.readLine()) != null){
+                // building the content, with lines seperated by new lines
+                content.append(line).append('\n');
             }
 
-            // closiing the reader
-            reader.close();
+            // removing the final new line
+            if(content.length() > 0){
+                content.setLength(content.length() - 1);
+            }
 
             // returning the content seperated into lines
-            return String.join("\n", content);
+            return content.toString();
         }
         catch(Exception e){
             throw new Exception("Unable to read content from file '" + file.getName() + "'.\n" + 
@@ -164,6 +169,27 @@ public class FileManager {
         }
     }
 
+    ///////////////
+    // COPY FILE //
+    ///////////////
+
+    /**
+     * Copies the File to the target file (replacing the target if it exists).
+     * 
+     * @param file File being copied.
+     * @param target File the copy is written to.
+     * @throws Exception Thrown if the file could not be copied.
+     */
+    public static void copyFile(File file, File target) throws Exception{
+        try{
+            Files.copy(file.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch(Exception e){
+            throw new Exception("Unable to copy file '" + file.getName() + "' to '" + target.getName() + "'.\n" + 
+                                "Cause : \n\t" + e.toString());
+        }
+    }
+
     //////////////////////////
     // COPYING FILE CONTENT //
     //////////////////////////
@@ -186,10 +212,140 @@ public class FileManager {
     }
 
 
+    /////////////////////
+    // CACHE DIRECTORY //
+    /////////////////////
+
+    /**
+     * Returns the directory with the provided name inside the application's
+     * per-user cache directory, creating it if it does not exist.
+     * 
+     * @param name The name of the cache directory (e.g., "interpreter").
+     * @return The cache directory with the provided name.
+     * @throws Exception Thrown if the cache directory could not be created.
+     */
+    public static File getCacheDirectory(String name) throws Exception{
+        // gathering directory
+        File cacheDirectory = new File(System.getProperty("user.home") + File.separator + FileManager.CACHE_DIR + File.separator + name);
+
+        // creating directory if needed
+        if(!cacheDirectory.isDirectory() && !cacheDirectory.mkdirs()){
+            throw new Exception("Unable to create cache directory '" + cacheDirectory.getPath() + "'.");
+        }
+
+        return cacheDirectory;
+    }
+
     ////////////////////
     // HELPER METHODS //
     ////////////////////
 
+    /**
+     * Returns the SHA-256 checksum of the provided content as a hexadecimal string.
+     * 
+     * @param content The content being checksummed.
+     * @return The SHA-256 checksum of the content.
+     * @throws Exception Thrown if the checksum could not be computed.
+     */
+    public static String getChecksum(byte[] content) throws Exception{
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return FileManager.toHex(digest.digest(content));
+    }
+
+    /**
+     * Returns the SHA-256 checksum of the content of the provided file as a 
+     * hexadecimal string (without reading the whole file into memory).
+     * 
+     * @param file The file being checksummed.
+     * @return The SHA-256 checksum of the file's content.
+     * @throws Exception Thrown if the file could not be read.
+     */
+    public static String getChecksum(File file) throws Exception{
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+        try(InputStream in = Files.newInputStream(file.toPath())){
+            byte[] buffer = new byte[64 * 1024];
+            int bytesRead;
+            while((bytesRead = in.read(buffer)) != -1){
+                digest.update(buffer, 0, bytesRead);
+            }
+        }
+
+        return FileManager.toHex(digest.digest());
+    }
+
+    /**
+     * Returns a SHA-256 checksum of a sample of the content of the provided 
+     * file (it's size, and blocks from it's start, middle and end) as a 
+     * hexadecimal string. 
+     * 
+     * Much quicker than checksumming the whole of a large file, while still 
+     * telling apart most files that have the same size and modified time.
+     * 
+     * @param file The file being checksummed.
+     * @return The SHA-256 checksum of the sample of the file's content.
+     * @throws Exception Thrown if the file could not be read.
+     */
+    public static String getSampledChecksum(File file) throws Exception{
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        int blockSize = 64 * 1024;
+
+        try(RandomAccessFile in = new RandomAccessFile(file, "r")){
+            long size = in.length();
+            digest.update(Long.toString(size).getBytes());
+
+            byte[] buffer = new byte[blockSize];
+            for(long offset : new long[]{0, Math.max(0, size / 2 - blockSize / 2), Math.max(0, size - blockSize)}){
+                in.seek(offset);
+                int bytesRead = in.read(buffer);
+                if(bytesRead > 0){
+                    digest.update(buffer, 0, bytesRead);
+                }
+            }
+        }
+
+        return FileManager.toHex(digest.digest());
+    }
+
+    /**
+     * Returns the provided bytes as a hexadecimal string.
+     * 
+     * @param bytes The bytes being converted.
+     * @return The bytes as a hexadecimal string.
+     */
+    public static String toHex(byte[] bytes){
+        StringBuilder hex = new StringBuilder();
+        for(byte b : bytes){
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Returns the provided number of bytes as a human readable size (e.g., 
+     * "1.5 MB").
+     * 
+     * @param bytes The number of bytes.
+     * @return The number of bytes as a human readable size.
+     */
+    public static String getReadableSize(long bytes){
+        // bytes
+        if(bytes < 1024){
+            return bytes + " B";
+        }
+
+        // scaling into the largest unit that fits
+        String[] units = {"KB", "MB", "GB", "TB"};
+        double size = bytes;
+        int unit = -1;
+        while(size >= 1024 && unit < units.length - 1){
+            size /= 1024;
+            unit++;
+        }
+
+        return String.format("%.1f %s", size, units[unit]);
+    }
+
     /**
      * Removes the extension filter from a filename if it contains one.
      * 
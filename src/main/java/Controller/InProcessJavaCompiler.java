@@ -0,0 +1,262 @@
+package Controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Compiles Java programs inside the IDE's own JVM, rather than in a separate
+ * 'javac' process (which pays the cost of starting a JVM and loading the
+ * compiler on every run).
+ *
+ * Programs are compiled with the system JavaCompiler into memory, and the
+ * compiled classes are kept for the rest of the session, keyed by a checksum of
+ * the program's sources - so re-running an unchanged program skips compilation
+ * entirely. The classes are written into the staging directory, and the program
+ * is then run in a 'java' process as normal (so it has it's own working
+ * directory, streams and System.exit(), and can be killed when stopped).
+ *
+ * Classes are compiled for the IDE's own Java version, so the program must be
+ * run by the IDE's own 'java' (see getJavaExecutable()) - the 'java' on the
+ * PATH may be an older version that cannot load them.
+ */
+public class InProcessJavaCompiler {
+
+    // constants
+    private static final int MAX_CACHED_PROGRAMS = 16;
+    private static final int RELEASE = Runtime.version().feature(); /** Java version the classes are compiled for (the IDE's own) */
+
+    // member variables
+    private static final LinkedHashMap<String, Map<String, byte[]>> compiledPrograms = new LinkedHashMap<String, Map<String, byte[]>>(MAX_CACHED_PROGRAMS, 0.75f, true){
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Map<String, byte[]>> eldest){
+            return this.size() > MAX_CACHED_PROGRAMS;
+        }
+    };
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * Private as cannot be instantiated.
+     */
+    private InProcessJavaCompiler(){}
+
+    /**
+     * Determines if Java programs can be compiled in-process (i.e., the IDE is
+     * running on a JDK rather than a JRE).
+     *
+     * @return True if a Java compiler is available, false otherwise.
+     */
+    public static boolean isAvailable(){
+        return ToolProvider.getSystemJavaCompiler() != null;
+    }
+
+    /**
+     * Returns the 'java' executable of the JVM the IDE is running on, which
+     * programs compiled in-process must be run with.
+     *
+     * @return The path of the IDE's 'java' executable.
+     */
+    public static String getJavaExecutable(){
+        return new File(new File(System.getProperty("java.home"), "bin"), "java").getAbsolutePath();
+    }
+
+    ///////////////////////
+    // COMPILING PROGRAM //
+    ///////////////////////
+
+    /**
+     * Compiles the provided Java program and writes it's classes into the
+     * staging directory (ready to be run by 'java'), streaming any compiler
+     * errors into the job.
+     *
+     * @param job The ProgramJob the program is being compiled for.
+     * @param tmpDir The staging directory containing the program's sources.
+     * @param programName The name of the Java program being compiled.
+     * @return True if the program compiled, false otherwise.
+     * @throws Exception Thrown if the program could not be compiled.
+     */
+    public static boolean compileInto(ProgramJob job, File tmpDir, String programName) throws Exception{
+        Map<String, byte[]> classes = InProcessJavaCompiler.getCompiledProgram(job, tmpDir, programName);
+
+        /**
+         * If compilation failed, the compiler's errors have already been
+         * streamed into the job.
+         */
+        if(classes == null){
+            return false;
+        }
+
+        // writing the classes where 'java' will find them
+        for(Map.Entry<String, byte[]> compiledClass : classes.entrySet()){
+            File classFile = new File(tmpDir, compiledClass.getKey().replace('.', File.separatorChar) + ".class");
+            classFile.getParentFile().mkdirs();
+            Files.write(classFile.toPath(), compiledClass.getValue());
+        }
+
+        return true;
+    }
+
+    ///////////////
+    // COMPILING //
+    ///////////////
+
+    /**
+     * Returns the compiled classes of the provided program, compiling it if
+     * these sources have not already been compiled this session.
+     *
+     * @param job The ProgramJob the program is being compiled for.
+     * @param tmpDir The staging directory containing the program's sources.
+     * @param programName The name of the Java program being compiled.
+     * @return The compiled classes (class name to bytecode), or null if the program
+     * did not compile.
+     * @throws Exception Thrown if the compiler could not be run.
+     */
+    private static Map<String, byte[]> getCompiledProgram(ProgramJob job, File tmpDir, String programName) throws Exception{
+        // sources that can be compiled alongside the program (as 'javac' would find them)
+        File[] sources = tmpDir.listFiles((dir, name) -> name.endsWith(".java"));
+        Arrays.sort(sources);
+
+        // checksum of all sources (and the version they are compiled for)
+        ByteArrayOutputStream sourceContent = new ByteArrayOutputStream();
+        for(File source : sources){
+            sourceContent.write(source.getName().getBytes(StandardCharsets.UTF_8));
+            sourceContent.write(Files.readAllBytes(source.toPath()));
+        }
+        String checksum = programName + ":" + RELEASE + ":" + FileManager.getChecksum(sourceContent.toByteArray());
+
+        // sources already compiled this session
+        synchronized(InProcessJavaCompiler.compiledPrograms){
+            if(InProcessJavaCompiler.compiledPrograms.containsKey(checksum)){
+                return InProcessJavaCompiler.compiledPrograms.get(checksum);
+            }
+        }
+
+        // compiling and caching
+        Map<String, byte[]> classes = InProcessJavaCompiler.compile(job, tmpDir, programName);
+        if(classes != null){
+            synchronized(InProcessJavaCompiler.compiledPrograms){
+                InProcessJavaCompiler.compiledPrograms.put(checksum, classes);
+            }
+        }
+
+        return classes;
+    }
+
+    /**
+     * Compiles the provided program into memory, streaming any compiler errors
+     * into the job.
+     *
+     * @param job The ProgramJob the program is being compiled for.
+     * @param tmpDir The staging directory containing the program's sources.
+     * @param programName The name of the Java program being compiled.
+     * @return The compiled classes (class name to bytecode), or null if the program
+     * did not compile.
+     * @throws Exception Thrown if the compiler could not be run.
+     */
+    private static Map<String, byte[]> compile(ProgramJob job, File tmpDir, String programName) throws Exception{
+        // gathering the compiler
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if(compiler == null){
+            throw new Exception("No Java compiler is available (the IDE must be run on a JDK to compile programs in-process).");
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+
+        try(StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8);
+            MemoryFileManager fileManager = new MemoryFileManager(standardFileManager)){
+
+            // compiling for the IDE's Java version (other sources in the staging directory are found on the source path)
+            boolean compiled = compiler.getTask(null,
+                                                fileManager,
+                                                diagnostics,
+                                                Arrays.asList("--release", String.valueOf(RELEASE), "-sourcepath", tmpDir.getAbsolutePath(), "-classpath", tmpDir.getAbsolutePath()),
+                                                null,
+                                                standardFileManager.getJavaFileObjects(new File(tmpDir, programName))).call();
+
+            // streaming compiler messages into the job (in the same form as 'javac')
+            for(Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()){
+                String kind = (diagnostic.getKind() == Diagnostic.Kind.ERROR) ? "error" : "warning";
+
+                if(diagnostic.getSource() != null){
+                    job.getOutput().appendLine(new File(diagnostic.getSource().getName()).getName() + ":" + diagnostic.getLineNumber() + ": " + kind + ": " + diagnostic.getMessage(null));
+                }
+                else{
+                    job.getOutput().appendLine(kind + ": " + diagnostic.getMessage(null));
+                }
+            }
+
+            return compiled ? fileManager.getClasses() : null;
+        }
+    }
+
+    ////////////////////
+    // HELPER CLASSES //
+    ////////////////////
+
+    /**
+     * File manager that holds the classes produced by the compiler in memory,
+     * rather than writing them to disk.
+     */
+    private static class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager>{
+
+        // member variables
+        private Map<String, ByteArrayOutputStream> classes;
+
+        /**
+         * Class constructor.
+         *
+         * @param fileManager The standard file manager used to read sources.
+         */
+        public MemoryFileManager(StandardJavaFileManager fileManager){
+            super(fileManager);
+            this.classes = new HashMap<String, ByteArrayOutputStream>();
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling){
+            return new SimpleJavaFileObject(URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind){
+                @Override
+                public OutputStream openOutputStream(){
+                    ByteArrayOutputStream bytecode = new ByteArrayOutputStream();
+                    MemoryFileManager.this.classes.put(className, bytecode);
+                    return bytecode;
+                }
+            };
+        }
+
+        /**
+         * Returns the classes produced by the compiler.
+         *
+         * @return The compiled classes (class name to bytecode).
+         */
+        public Map<String, byte[]> getClasses(){
+            Map<String, byte[]> classes = new HashMap<String, byte[]>();
+            for(Map.Entry<String, ByteArrayOutputStream> compiledClass : this.classes.entrySet()){
+                classes.put(compiledClass.getKey(), compiledClass.getValue().toByteArray());
+            }
+            return classes;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package Controller;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+
+/**
+ * Manages the CSVQL interpreter executable used to run CSVQL programs.
+ *
+ * The interpreter is bundled as a resource, but must be a file on disk to
+ * be executed. Rather than copying it into every run's staging directory, it
+ * is extracted once into a per-user cache directory (in a sub-directory named
+ * after it's checksum, so a new version of the interpreter never reuses an old
+ * one), made executable, and then reused by every run for the rest of the
+ * session (and by later sessions).
+ */
+public class InterpreterCache {
+
+    // constants
+    private static final String INTERPRETER_RESOURCE = "interpreter/csvql-no-colour";
+    private static final String INTERPRETER_NAME = "csvql-no-colour";
+    private static final String CACHE_NAME = "interpreter";
+
+    // member variables
+    private static File csvqlInterpreter = null; /** The extracted interpreter (null until first needed) */
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * Private as cannot be instantiated.
+     */
+    private InterpreterCache(){}
+
+    ///////////////////////////////
+    // GATHERING THE INTERPRETER //
+    ///////////////////////////////
+
+    /**
+     * Returns the executable CSVQL interpreter, extracting it into the cache if
+     * this has not yet been done.
+     *
+     * @return The executable CSVQL interpreter file.
+     * @throws Exception Thrown if the interpreter could not be extracted.
+     */
+    public static synchronized File getCsvqlInterpreter() throws Exception{
+        // interpreter already extracted this session
+        if(InterpreterCache.csvqlInterpreter != null && InterpreterCache.csvqlInterpreter.canExecute()){
+            return InterpreterCache.csvqlInterpreter;
+        }
+
+        try{
+            // READING THE INTERPRETER RESOURCE //
+
+            byte[] content;
+            try(InputStream in = InterpreterCache.class.getClassLoader().getResourceAsStream(INTERPRETER_RESOURCE)){
+                if(in == null){
+                    throw new Exception("The resource '" + INTERPRETER_RESOURCE + "' could not be found.");
+                }
+                content = in.readAllBytes();
+            }
+
+            // EXTRACTING INTO THE CACHE //
+
+            File versionDirectory = new File(FileManager.getCacheDirectory(CACHE_NAME), FileManager.getChecksum(content));
+            File interpreter = new File(versionDirectory, INTERPRETER_NAME);
+
+            // only extracting if a previous session has not already done so
+            if(!interpreter.exists() || interpreter.length() != content.length){
+                versionDirectory.mkdirs();
+
+                // writing to a temp file and moving it into place (so a partially written interpreter is never used)
+                Path tmpFile = Files.createTempFile(versionDirectory.toPath(), INTERPRETER_NAME, ".tmp");
+                Files.write(tmpFile, content);
+                Files.move(tmpFile, interpreter.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            // MAKING EXECUTABLE //
+
+            InterpreterCache.makeExecutable(interpreter);
+
+            // storing for the rest of the session
+            InterpreterCache.csvqlInterpreter = interpreter;
+
+            return interpreter;
+        }
+        catch(Exception e){
+            throw new Exception("Unable to cache CSVQL interpreter.\n" +
+                                "Cause : \n\t" + e.toString());
+        }
+    }
+
+    ////////////////////
+    // HELPER METHODS //
+    ////////////////////
+
+    /**
+     * Marks the provided file as executable.
+     *
+     * Uses POSIX permissions where they are supported, and falls back to
+     * File.setExecutable otherwise (e.g., on Windows).
+     *
+     * @param file The file being made executable.
+     * @throws Exception Thrown if the file could not be made executable.
+     */
+    private static void makeExecutable(File file) throws Exception{
+        try{
+            Files.setPosixFilePermissions(file.toPath(), PosixFilePermissions.fromString("rwxr-xr-x"));
+        }
+        catch(UnsupportedOperationException e){
+            // filesystem does not support POSIX permissions
+            if(!file.setExecutable(true)){
+                throw new Exception("Unable to make '" + file.getName() + "' executable.");
+            }
+        }
+    }
+}
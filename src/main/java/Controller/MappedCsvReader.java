@@ -0,0 +1,698 @@
+package Controller;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntFunction;
+
+/**
+ * Reads delimited tables (.csv and .txt TABLE files) directly from a memory
+ * mapped view of the file, without reading the file into a String.
+ *
+ * When opened, the reader makes a single pass over the mapped bytes to record
+ * the offset at which each row starts (line breaks inside quoted fields do not
+ * end a row). Fields are then located and decoded only when they are asked
+ * for, so the rows of a large table can be accessed by their offsets while
+ * only the rows being used are ever turned into Strings.
+ *
+ * The index can be built in parallel - the file is split into byte ranges that
+ * are scanned on the ForkJoinPool, and the rows found in each range are
+ * stitched together in order. Ranges do not need to start on a row boundary:
+ * a first pass works out the state each range would end in for each state it
+ * could start in, so each range knows if it starts inside a quoted field
+ * before it looks for line breaks.
+ *
+ * Files larger than 2GB are mapped as several segments. Fields may be enclosed
+ * in double quotes, in which case they may contain the delimiter, line breaks
+ * and doubled quotes. A quote only opens a quoted field at the start of the
+ * field - anywhere else it is part of the value. Files are read as UTF-8.
+ */
+public class MappedCsvReader implements AutoCloseable{
+
+    // constants
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT; /** Size of each mapped segment (1GB) */
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+    private static final byte QUOTE = '"';
+    private static final byte NEWLINE = '\n';
+    private static final byte RETURN = '\r';
+    private static final int FIELD_START = 0; /** State at the start of a field */
+    private static final int UNQUOTED = 1; /** State inside a field that did not start with a quote */
+    private static final int QUOTED = 2; /** State inside a quoted field */
+    private static final int QUOTE_IN_QUOTED = 3; /** State after a quote inside a quoted field (closing, or the first of a doubled quote) */
+    private static final int OTHER_BYTE = 0;
+    private static final int QUOTE_BYTE = 1;
+    private static final int DELIM_BYTE = 2; /** Last byte of a delimiter */
+    private static final int NEWLINE_BYTE = 3;
+    private static final int[][] TRANSITIONS = {
+        {UNQUOTED, QUOTED, FIELD_START, FIELD_START},
+        {UNQUOTED, UNQUOTED, FIELD_START, FIELD_START},
+        {QUOTED, QUOTE_IN_QUOTED, QUOTED, QUOTED},
+        {UNQUOTED, QUOTED, FIELD_START, FIELD_START}
+    }; /** State after each kind of byte (by column), given the state before it (by row) */
+    private static final long MIN_PARALLEL_SIZE = 8L * 1024 * 1024; /** Files smaller than this are always indexed sequentially */
+    private static final int CHUNKS_PER_THREAD = 4; /** Byte ranges per thread, so that uneven ranges balance out */
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024; /** Bytes copied out of the mapping at a time while indexing */
+    private static final String[] CANDIDATE_DELIMS = {",", "\t", ";", "|"}; /** Delimiters detectDelimiter() chooses between (in order of preference) */
+    private static final int DETECT_SIZE = 64 * 1024; /** Bytes from the start of a file used to detect it's delimiter */
+    private static final int DETECT_ROWS = 20; /** Rows used to detect the delimiter of a file */
+
+    // member variables
+    private static volatile Object unsafe = null; /** sun.misc.Unsafe instance used to unmap buffers (null until first needed) */
+    private static volatile Method invokeCleaner = null; /** Unsafe.invokeCleaner(ByteBuffer) */
+    private FileChannel channel;
+    private MappedByteBuffer[] segments; /** Mapped segments of the file, in order */
+    private long size; /** Size of the file in bytes */
+    private byte[] delim; /** Delimiter between fields, as UTF-8 bytes */
+    private long[] rowStarts; /** Offset of the first byte of each row (plus the end of the last row) */
+    private int rowCount;
+    private boolean quoted; /** If any of the fields in the file are quoted */
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * Maps the file and indexes the offsets of it's rows sequentially.
+     *
+     * @param file The file being read.
+     * @param delim The delimiter between fields.
+     * @throws Exception Thrown if the file could not be mapped.
+     */
+    public MappedCsvReader(File file, String delim) throws Exception{
+        this(file, delim, 1);
+    }
+
+    /**
+     * Class constructor.
+     *
+     * Maps the file and indexes the offsets of it's rows.
+     *
+     * @param file The file being read.
+     * @param delim The delimiter between fields.
+     * @param parallelism The number of threads used to index the rows (1 to 
+     * index sequentially).
+     * @throws Exception Thrown if the file could not be mapped.
+     */
+    public MappedCsvReader(File file, String delim, int parallelism) throws Exception{
+        try{
+            // initializing
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            this.size = this.channel.size();
+            this.delim = delim.getBytes(StandardCharsets.UTF_8);
+            this.rowStarts = new long[1024];
+            this.rowCount = 0;
+            this.quoted = false;
+
+            // mapping the file in segments
+            int segmentCount = (int) ((this.size + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+            this.segments = new MappedByteBuffer[segmentCount];
+            for(int segment = 0; segment < segmentCount; segment++){
+                long start = segment * SEGMENT_SIZE;
+                this.segments[segment] = this.channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, this.size - start));
+            }
+
+            // indexing the rows
+            this.indexRows(parallelism);
+        }
+        catch(Exception e){
+            this.close();
+            throw new Exception("Unable to read table '" + file.getName() + "'.\n" + 
+                                "Cause : \n\t" + e.toString());
+        }
+    }
+
+    /**
+     * Records the offset at which each row of the file starts.
+     *
+     * @param parallelism The number of threads used to index the rows.
+     * @throws Exception Thrown if a byte range could not be scanned.
+     */
+    private void indexRows(int parallelism) throws Exception{
+        // SPLITTING INTO BYTE RANGES //
+
+        int chunkCount = (parallelism > 1 && this.size >= MIN_PARALLEL_SIZE) ? parallelism * CHUNKS_PER_THREAD : 1;
+        long chunkSize = (this.size + chunkCount - 1) / chunkCount;
+        long[] chunkStarts = new long[chunkCount + 1];
+        for(int chunk = 0; chunk <= chunkCount; chunk++){
+            chunkStarts[chunk] = Math.min(this.size, chunk * chunkSize);
+        }
+
+        // FINDING START STATES //
+
+        // each range starts in the state the range before it ends in (a single range starts at the start of the file)
+        int[] startStates = new int[chunkCount];
+        startStates[0] = FIELD_START;
+        if(chunkCount > 1){
+            List<int[]> endStates = MappedCsvReader.runChunks(chunkCount, (chunk) -> () -> this.findEndStates(chunkStarts[chunk], chunkStarts[chunk + 1]));
+
+            for(int chunk = 1; chunk < chunkCount; chunk++){
+                startStates[chunk] = endStates.get(chunk - 1)[startStates[chunk - 1]];
+            }
+        }
+
+        // FINDING LINE BREAKS //
+
+        boolean[] chunkQuoted = new boolean[chunkCount];
+        List<long[]> chunkRowStarts = MappedCsvReader.runChunks(chunkCount, (chunk) -> () -> this.findRowStarts(chunkStarts[chunk], chunkStarts[chunk + 1], startStates[chunk], chunkQuoted, chunk));
+        for(boolean quoted : chunkQuoted){
+            this.quoted |= quoted;
+        }
+
+        // STITCHING THE RANGES //
+
+        if(this.size > 0){
+            this.addRowStart(0);
+        }
+        for(long[] rowStarts : chunkRowStarts){
+            for(long rowStart : rowStarts){
+                // a line break at the very end of the file does not start a row
+                if(rowStart < this.size){
+                    this.addRowStart(rowStart);
+                }
+            }
+        }
+
+        // end of the last row
+        this.rowStarts = Arrays.copyOf(this.rowStarts, this.rowCount + 1);
+        this.rowStarts[this.rowCount] = this.size;
+    }
+
+    /**
+     * Finds the state the provided byte range ends in, for each of the states
+     * it could start in.
+     *
+     * @param start The offset of the start of the range.
+     * @param end The offset of the end of the range.
+     * @return The state the range ends in, indexed by the state it starts in.
+     */
+    private int[] findEndStates(long start, long end){
+        int[] states = {FIELD_START, UNQUOTED, QUOTED, QUOTE_IN_QUOTED};
+        byte[] buffer = new byte[SCAN_BUFFER_SIZE];
+        for(long position = start; position < end;){
+            int length = this.copyBytes(position, buffer, (int) Math.min(buffer.length, end - position));
+            for(int i = 0; i < length; i++){
+                int kind = this.getByteKind(buffer[i], position + i);
+                for(int state = 0; state < states.length; state++){
+                    states[state] = TRANSITIONS[states[state]][kind];
+                }
+            }
+            position += length;
+        }
+        return states;
+    }
+
+    /**
+     * Finds the offsets of the rows that start after a line break in the 
+     * provided byte range.
+     *
+     * @param start The offset of the start of the range.
+     * @param end The offset of the end of the range.
+     * @param state The state the range starts in.
+     * @param quoted Set to true at the range's index if a quoted field starts in the range.
+     * @param chunk The index of the range.
+     * @return The offsets of the rows that start in the range, in order.
+     */
+    private long[] findRowStarts(long start, long end, int state, boolean[] quoted, int chunk){
+        long[] rowStarts = new long[64];
+        int count = 0;
+        byte[] buffer = new byte[SCAN_BUFFER_SIZE];
+        for(long position = start; position < end;){
+            int length = this.copyBytes(position, buffer, (int) Math.min(buffer.length, end - position));
+            for(int i = 0; i < length; i++){
+                int kind = this.getByteKind(buffer[i], position + i);
+
+                // line break outside of a quoted field - a new row starts after it
+                if(kind == NEWLINE_BYTE && state != QUOTED){
+                    if(count == rowStarts.length){
+                        rowStarts = Arrays.copyOf(rowStarts, count * 2);
+                    }
+                    rowStarts[count++] = position + i + 1;
+                }
+                // quote at the start of a field - a quoted field
+                else if(kind == QUOTE_BYTE && state == FIELD_START){
+                    quoted[chunk] = true;
+                }
+
+                state = TRANSITIONS[state][kind];
+            }
+            position += length;
+        }
+        return Arrays.copyOf(rowStarts, count);
+    }
+
+    /**
+     * Runs a task for each of the provided number of chunks - on the 
+     * ForkJoinPool if there is more than one - and returns their results in
+     * order.
+     *
+     * @param <T> The type of result produced for each chunk.
+     * @param chunkCount The number of chunks.
+     * @param task Creates the task for a chunk, given it's index.
+     * @return The result for each chunk, in order.
+     * @throws Exception Thrown if any of the tasks failed.
+     */
+    public static <T> List<T> runChunks(int chunkCount, IntFunction<Callable<T>> task) throws Exception{
+        ArrayList<T> results = new ArrayList<T>(chunkCount);
+
+        // single chunk - running on this thread
+        if(chunkCount == 1){
+            results.add(task.apply(0).call());
+            return results;
+        }
+
+        // running the chunks in parallel
+        ArrayList<ForkJoinTask<T>> tasks = new ArrayList<ForkJoinTask<T>>(chunkCount);
+        for(int chunk = 0; chunk < chunkCount; chunk++){
+            tasks.add(ForkJoinPool.commonPool().submit(task.apply(chunk)));
+        }
+
+        /**
+         * Every chunk is waited for (join() cannot be interrupted), even if one
+         * fails - so no chunk is still reading the file once this returns, and
+         * the file can be safely unmapped.
+         */
+        Exception failure = null;
+        for(ForkJoinTask<T> chunkTask : tasks){
+            try{
+                results.add(chunkTask.join());
+            }
+            catch(RuntimeException e){
+                failure = (failure == null) ? e : failure;
+            }
+        }
+        if(failure != null){
+            throw failure;
+        }
+        return results;
+    }
+
+    /**
+     * Adds the offset of a new row to the index.
+     *
+     * @param rowStart The offset of the first byte of the row.
+     */
+    private void addRowStart(long rowStart){
+        if(this.rowCount + 1 >= this.rowStarts.length){
+            this.rowStarts = Arrays.copyOf(this.rowStarts, this.rowStarts.length * 2);
+        }
+        this.rowStarts[this.rowCount++] = rowStart;
+    }
+
+    ///////////////////
+    // LOCATING ROWS //
+    ///////////////////
+
+    /**
+     * Returns the offset of the first byte of the provided row.
+     *
+     * @param row The index of the row.
+     * @return The offset of the start of the row.
+     */
+    public long getRowStart(int row){
+        return this.rowStarts[row];
+    }
+
+    /**
+     * Returns the offset just after the last byte of the provided row (not
+     * including it's line break).
+     *
+     * @param row The index of the row.
+     * @return The offset of the end of the row.
+     */
+    public long getRowEnd(int row){
+        long end = this.rowStarts[row + 1];
+        if(end > this.rowStarts[row] && this.byteAt(end - 1) == NEWLINE){
+            end--;
+        }
+        if(end > this.rowStarts[row] && this.byteAt(end - 1) == RETURN){
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Returns the offsets of the fields in the provided row, as pairs of
+     * (start, end) offsets - including any quotes around the field.
+     *
+     * @param row The index of the row.
+     * @return The offsets of the fields, as {start0, end0, start1, end1, ...}.
+     */
+    public long[] getFieldOffsets(int row){
+        long start = this.getRowStart(row);
+        long end = this.getRowEnd(row);
+        long[] offsets = new long[8];
+        int count = 0;
+        int state = FIELD_START;
+        long fieldStart = start;
+
+        for(long position = start; position <= end; position++){
+            // end of a field
+            if(position == end || (state != QUOTED && this.isDelimAt(position, end))){
+                if(count + 2 > offsets.length){
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[count++] = fieldStart;
+                offsets[count++] = position;
+                if(position == end){
+                    break;
+                }
+                position += this.delim.length - 1;
+                fieldStart = position + 1;
+                state = FIELD_START;
+            }
+            else{
+                state = TRANSITIONS[state][(this.byteAt(position) == QUOTE) ? QUOTE_BYTE : OTHER_BYTE];
+            }
+        }
+
+        return Arrays.copyOf(offsets, count);
+    }
+
+    ////////////////////
+    // READING FIELDS //
+    ////////////////////
+
+    /**
+     * Returns the values of the fields in the provided row.
+     *
+     * @param row The index of the row.
+     * @return The values of the fields in the row.
+     */
+    public String[] getRow(int row){
+        long[] offsets = this.getFieldOffsets(row);
+        String[] values = new String[offsets.length / 2];
+        for(int field = 0; field < values.length; field++){
+            values[field] = this.getField(offsets[2 * field], offsets[2 * field + 1]);
+        }
+        return values;
+    }
+
+    /**
+     * Decodes the field between the provided offsets, removing any quotes
+     * around it.
+     *
+     * @param start The offset of the first byte of the field.
+     * @param end The offset just after the last byte of the field.
+     * @return The value of the field.
+     */
+    public String getField(long start, long end){
+        byte[] bytes = new byte[(int) (end - start)];
+        int length = 0;
+
+        if(start < end && this.byteAt(start) == QUOTE){
+            // QUOTED FIELD //
+            long position = start + 1;
+            while(position < end){
+                byte b = this.byteAt(position);
+                if(b == QUOTE && position + 1 < end && this.byteAt(position + 1) == QUOTE){
+                    bytes[length++] = QUOTE;
+                    position += 2;
+                }
+                else if(b == QUOTE){
+                    position++;
+                    break;
+                }
+                else{
+                    bytes[length++] = b;
+                    position++;
+                }
+            }
+            // text between the closing quote and the delimiter is kept
+            while(position < end){
+                bytes[length++] = this.byteAt(position++);
+            }
+        }
+        else{
+            // PLAIN FIELD //
+            for(long position = start; position < end; position++){
+                bytes[length++] = this.byteAt(position);
+            }
+        }
+
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads all of the rows of the file.
+     *
+     * @return The values of the fields in each row.
+     */
+    public ArrayList<String[]> getRows(){
+        ArrayList<String[]> rows = new ArrayList<String[]>(this.rowCount);
+        for(int row = 0; row < this.rowCount; row++){
+            rows.add(this.getRow(row));
+        }
+        return rows;
+    }
+
+    /////////////
+    // HELPERS //
+    /////////////
+
+    /**
+     * Returns the byte at the provided offset of the file.
+     *
+     * @param position The offset of the byte.
+     * @return The byte at the offset.
+     */
+    private byte byteAt(long position){
+        return this.segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+    }
+
+    /**
+     * Copies bytes starting at the provided offset into the buffer, stopping at
+     * the end of the segment the offset is in.
+     *
+     * @param position The offset of the first byte being copied.
+     * @param buffer The buffer the bytes are copied into.
+     * @param maxLength The most bytes to copy.
+     * @return The number of bytes copied.
+     */
+    private int copyBytes(long position, byte[] buffer, int maxLength){
+        MappedByteBuffer segment = this.segments[(int) (position >>> SEGMENT_SHIFT)];
+        int offset = (int) (position & SEGMENT_MASK);
+        int length = Math.min(maxLength, segment.limit() - offset);
+
+        // copying through a duplicate, as segments are shared between threads
+        ByteBuffer view = segment.duplicate();
+        view.position(offset);
+        view.get(buffer, 0, length);
+        return length;
+    }
+
+    /**
+     * Returns the kind of the provided byte of the file (a quote, the last byte
+     * of a delimiter, a line break or any other byte).
+     *
+     * @param b The byte.
+     * @param position The offset of the byte.
+     * @return The kind of the byte.
+     */
+    private int getByteKind(byte b, long position){
+        if(b == QUOTE){
+            return QUOTE_BYTE;
+        }
+        if(b == NEWLINE){
+            return NEWLINE_BYTE;
+        }
+        if(b == this.delim[this.delim.length - 1] && (this.delim.length == 1 || (position >= this.delim.length - 1 && this.isDelimAt(position - this.delim.length + 1, position + 1)))){
+            return DELIM_BYTE;
+        }
+        return OTHER_BYTE;
+    }
+
+    /**
+     * Determines if the delimiter starts at the provided offset.
+     *
+     * @param position The offset being checked.
+     * @param end The offset the delimiter must end by.
+     * @return True if the delimiter is at the offset, false otherwise.
+     */
+    private boolean isDelimAt(long position, long end){
+        if(position + this.delim.length > end){
+            return false;
+        }
+        for(int i = 0; i < this.delim.length; i++){
+            if(this.byteAt(position + i) != this.delim[i]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Closes the file and unmaps it's segments straight away (rather than when
+     * they are garbage collected), so that the file is not left locked (on
+     * Windows, a mapped file cannot be written to or renamed). The reader
+     * cannot be used once it is closed, and must not be closed while another
+     * thread is reading from it.
+     */
+    @Override
+    public void close(){
+        MappedByteBuffer[] segments = this.segments;
+        this.segments = null;
+
+        try{
+            if(this.channel != null){
+                this.channel.close();
+            }
+        }
+        catch(Exception e){
+            // channel already closed
+        }
+        this.channel = null;
+
+        // unmapping the segments
+        if(segments != null){
+            for(MappedByteBuffer segment : segments){
+                if(segment != null){
+                    MappedCsvReader.unmap(segment);
+                }
+            }
+        }
+    }
+
+    /**
+     * Unmaps a mapped buffer, using the JDK's buffer cleaner (through
+     * sun.misc.Unsafe.invokeCleaner, in the jdk.unsupported module). If the
+     * cleaner is not available, the buffer is unmapped once it is garbage
+     * collected instead.
+     *
+     * @param buffer The buffer being unmapped (must not be used afterwards).
+     */
+    private static void unmap(MappedByteBuffer buffer){
+        try{
+            if(MappedCsvReader.unsafe == null){
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                MappedCsvReader.invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                MappedCsvReader.unsafe = theUnsafe.get(null);
+            }
+            MappedCsvReader.invokeCleaner.invoke(MappedCsvReader.unsafe, buffer);
+        }
+        catch(Exception e){
+            // cleaner not available - buffer unmapped when it is garbage collected
+        }
+    }
+
+    ////////////////////////
+    // DETECTING DELIMITER //
+    ////////////////////////
+
+    /**
+     * Detects the delimiter used in the provided file, from it's first rows.
+     *
+     * The delimiter is the candidate that appears (outside of quotes) the same
+     * number of times as in the first row in the most rows, preferring the one
+     * that appears the most. A file with none of the candidates in it's first
+     * row is assumed to be comma separated.
+     *
+     * @param file The file being checked.
+     * @return The delimiter used in the file.
+     * @throws Exception Thrown if the file could not be read.
+     */
+    public static String detectDelimiter(File file) throws Exception{
+        // reading the start of the file
+        byte[] bytes;
+        try(InputStream in = new FileInputStream(file)){
+            bytes = in.readNBytes(DETECT_SIZE);
+        }
+        String text = new String(bytes, StandardCharsets.UTF_8);
+
+        // counting each candidate in each row (a partial last row is ignored)
+        int[][] counts = new int[CANDIDATE_DELIMS.length][DETECT_ROWS];
+        int rows = 0;
+        boolean inQuotes = false;
+        for(int i = 0; i < text.length() && rows < DETECT_ROWS; i++){
+            char c = text.charAt(i);
+
+            // a quote only opens a quoted field at the start of a field (after a line break or any of the candidates)
+            if(c == '"' && (inQuotes || i == 0 || text.charAt(i - 1) == '\n' || MappedCsvReader.isCandidateDelim(text.charAt(i - 1)))){
+                inQuotes = !inQuotes;
+            }
+            else if(!inQuotes && c == '\n'){
+                rows++;
+            }
+            else if(!inQuotes){
+                for(int candidate = 0; candidate < CANDIDATE_DELIMS.length; candidate++){
+                    if(c == CANDIDATE_DELIMS[candidate].charAt(0)){
+                        counts[candidate][rows]++;
+                    }
+                }
+            }
+        }
+        rows = Math.max(rows, 1); // a single (unterminated) row
+
+        // choosing the candidate that matches it's count in the first row in the most rows (then the most often)
+        String delim = ",";
+        int bestRows = 0;
+        int bestCount = 0;
+        for(int candidate = 0; candidate < CANDIDATE_DELIMS.length; candidate++){
+            int count = counts[candidate][0];
+            if(count == 0){
+                continue;
+            }
+            int matchingRows = 0;
+            for(int row = 0; row < rows; row++){
+                if(counts[candidate][row] == count){
+                    matchingRows++;
+                }
+            }
+            if(matchingRows > bestRows || (matchingRows == bestRows && count > bestCount)){
+                delim = CANDIDATE_DELIMS[candidate];
+                bestRows = matchingRows;
+                bestCount = count;
+            }
+        }
+
+        return delim;
+    }
+
+    /**
+     * Determines if the provided character is one of the candidate delimiters.
+     *
+     * @param c The character being checked.
+     * @return True if the character is a candidate delimiter, false otherwise.
+     */
+    private static boolean isCandidateDelim(char c){
+        for(String candidate : CANDIDATE_DELIMS){
+            if(c == candidate.charAt(0)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /////////////////////////
+    // GETTERS AND SETTERS //
+    /////////////////////////
+
+    public int getRowCount(){
+        return this.rowCount;
+    }
+
+    public long getSize(){
+        return this.size;
+    }
+
+    public boolean isQuoted(){
+        return this.quoted;
+    }
+}
@@ -0,0 +1,243 @@
+package Controller;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import javafx.concurrent.Task;
+
+import Model.FileType;
+
+/**
+ * Represents a single execution of a program within the system.
+ *
+ * Jobs are executed on a worker thread by the ProgramRunner (so that the
+ * JavaFX thread is never blocked by a running program), and report the phase
+ * of their execution through their message and progress properties so that it
+ * can be displayed in the Terminal. The output of the program is streamed into
+ * the job's ProgramOutput while it runs.
+ *
+ * A job can be stopped at any point using cancel(), which will kill the process
+ * running the program (and any processes it has spawned).
+ */
+public class ProgramJob extends Task<ProgramOutput>{
+
+    // member variables
+    private String programName;
+    private FileType programType;
+    private ArrayList<File> neededFiles;
+    private Process process; /** The process currently running for this job (null if there is none) */
+    private StagingDirectory stagingDirectory;
+    private ProgramOutput output;
+    private boolean servedFromCache; /** If the output was loaded from the ResultCache rather than produced by a run */
+    private volatile long startTime; /** When the job started executing (not when it was submitted) */
+    private volatile long endTime;
+    private RunMetrics metrics;
+    private boolean cacheAllowed; /** If the output can be served from (and stored in) the ResultCache */
+    private volatile String outcome; /** How the run ended (for the metrics log) */
+    private boolean metricsLogged; /** If the metrics of the run have been written to the log */
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * @param programName The name of the program being run.
+     * @param programType The FileType of the program being run.
+     * @param neededFiles The files needed by the program when it is run.
+     */
+    public ProgramJob(String programName, FileType programType, ArrayList<File> neededFiles){
+        // initializing
+        this.programName = programName;
+        this.programType = programType;
+        this.neededFiles = neededFiles;
+        this.process = null;
+        this.stagingDirectory = null;
+        this.output = new ProgramOutput();
+        this.servedFromCache = false;
+        this.startTime = -1;
+        this.endTime = -1;
+        this.metrics = new RunMetrics();
+        this.cacheAllowed = true;
+        this.outcome = "failed";
+        this.metricsLogged = false;
+    }
+
+    ///////////////
+    // EXECUTING //
+    ///////////////
+
+    /**
+     * Executes the job - called on the worker thread the job was submitted to.
+     *
+     * @return The output of the program.
+     * @throws Exception Thrown if the program could not be run.
+     */
+    @Override
+    protected ProgramOutput call() throws Exception{
+        this.startTime = System.nanoTime();
+        try{
+            ProgramOutput output = ProgramRunner.executeProgramJob(this);
+            this.outcome = this.servedFromCache ? "cached" : "succeeded";
+            return output;
+        }
+        finally{
+            this.endTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * Writes the metrics of the run to the metrics log.
+     *
+     * Called once the job has finished and it's output has been handled (e.g.,
+     * rendered in the Terminal), so the log includes the time spent rendering.
+     * A job is only logged once, and a job that was stopped before it started
+     * is not logged at all.
+     */
+    public synchronized void logMetrics(){
+        if(this.metricsLogged || this.startTime == -1){
+            return;
+        }
+        this.metricsLogged = true;
+
+        String outcome = this.isCancelled() ? "stopped" : this.outcome;
+        this.metrics.log(this.programName, outcome, this.getDurationMillis());
+    }
+
+    /**
+     * Updates the phase of the job that is displayed to the user.
+     *
+     * @param phase The name of the phase the job is in.
+     * @param phaseNumber The number of this phase (starting from 1).
+     * @param phaseCount The total number of phases in the job.
+     */
+    public void setPhase(String phase, int phaseNumber, int phaseCount){
+        this.updateMessage(phase);
+        this.updateProgress(phaseNumber, phaseCount);
+    }
+
+    //////////////////////
+    // MANAGING PROCESS //
+    //////////////////////
+
+    /**
+     * Attaches the provided process to the job, so that it will be killed if
+     * the job is stopped.
+     *
+     * If the job has already been stopped, the process is killed straight away.
+     *
+     * @param process The process running on behalf of the job.
+     */
+    public synchronized void attachProcess(Process process){
+        this.process = process;
+
+        // job already stopped - killing the process
+        if(this.isCancelled()){
+            ProgramJob.killProcessTree(process);
+        }
+    }
+
+    /**
+     * Detaches the current process from the job (called once it has finished).
+     */
+    public synchronized void detachProcess(){
+        this.process = null;
+    }
+
+    /**
+     * Stops the job, killing the process it is currently running (if there is one).
+     *
+     * @param mayInterruptIfRunning If the worker thread running the job should be interrupted.
+     * @return False if the job could not be stopped (i.e., it has already finished), true otherwise.
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning){
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+
+        // killing the current process
+        synchronized(this){
+            if(this.process != null){
+                ProgramJob.killProcessTree(this.process);
+            }
+        }
+
+        return cancelled;
+    }
+
+    /**
+     * Forcibly kills the provided process along with all of it's descendants (e.g.,
+     * the interpreter started by a bash wrapper).
+     *
+     * @param process The process being killed.
+     */
+    private static void killProcessTree(Process process){
+        // killing descendants first (so they are not orphaned)
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+
+        // killing the process
+        process.destroyForcibly();
+    }
+
+    /////////////////////////
+    // GETTERS AND SETTERS //
+    /////////////////////////
+
+    public String getProgramName(){
+        return this.programName;
+    }
+
+    public FileType getProgramType(){
+        return this.programType;
+    }
+
+    public ArrayList<File> getNeededFiles(){
+        return this.neededFiles;
+    }
+
+    public ProgramOutput getOutput(){
+        return this.output;
+    }
+
+    public StagingDirectory getStagingDirectory(){
+        return this.stagingDirectory;
+    }
+
+    public void setStagingDirectory(StagingDirectory stagingDirectory){
+        this.stagingDirectory = stagingDirectory;
+    }
+
+    /**
+     * Returns how long the job took to execute (excluding any time spent waiting
+     * for a free worker).
+     *
+     * @return The duration of the job in milliseconds (0 if it never started).
+     */
+    public double getDurationMillis(){
+        if(this.startTime < 0){
+            return 0;
+        }
+        long end = (this.endTime < 0) ? System.nanoTime() : this.endTime;
+        return (end - this.startTime) / 1e6;
+    }
+
+    public RunMetrics getMetrics(){
+        return this.metrics;
+    }
+
+    public boolean isCacheAllowed(){
+        return this.cacheAllowed;
+    }
+
+    public void setCacheAllowed(boolean cacheAllowed){
+        this.cacheAllowed = cacheAllowed;
+    }
+
+    public boolean isServedFromCache(){
+        return this.servedFromCache;
+    }
+
+    public void setServedFromCache(boolean servedFromCache){
+        this.servedFromCache = servedFromCache;
+    }
+}
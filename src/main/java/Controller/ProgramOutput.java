@@ -0,0 +1,356 @@
+package Controller;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+
+/**
+ * The output of a single program run, streamed from the process as it is
+ * produced.
+ *
+ * Lines are appended on the worker thread running the program, and are passed
+ * on to a listener on the JavaFX thread in batches - a batch contains all of the
+ * lines produced since the previous batch was delivered, so the JavaFX thread is
+ * never flooded with one update per line.
+ *
+ * Only the most recent lines (up to the window size) are held in memory while
+ * waiting to be delivered - the listener only ever displays a window of the
+ * output, so older undelivered lines would be discarded anyway. Output with no
+ * listener (e.g., the runs of a batch) is not held in memory at all.
+ *
+ * The complete output is spilled into a temporary file as it is produced, so
+ * that output of any size can be saved or copied without ever being held in
+ * memory as a whole. The spill file is deleted when the output is discarded
+ * (or when the application exits), and a discarded output ignores any lines
+ * still being appended to it.
+ */
+public class ProgramOutput {
+
+    // constants
+    public static final int WINDOW_SIZE = 10000;
+    private static final String ERROR_PREFIX = "### EXECUTION ERROR ### ";
+    private static final String SPILL_FILE_PREFIX = "csvql-ide-output-";
+    private static final long MAX_COPY_SIZE = 256L * 1024 * 1024; /** Largest output that can be copied to the clipboard */
+
+    // member variables
+    private static final Set<File> spillFiles = ConcurrentHashMap.newKeySet(); /** Spill files of outputs that have not been discarded */
+    private ArrayDeque<String> pendingLines; /** Lines waiting to be delivered to the listener */
+    private boolean flushScheduled;
+    private Consumer<String> listener;
+    private String firstLine;
+    private long lineCount;
+    private long charCount;
+    private long startTime;
+    private long endTime;
+    private long appendTime; /** Time spent appending lines (in nanoseconds) */
+    private File spillFile; /** The file holding the complete output (null until the first line) */
+    private BufferedWriter spillWriter;
+    private boolean discarded; /** If the output has been discarded (no more lines are kept) */
+
+    static{
+        /**
+         * A single hook deletes the spill files still in use when the 
+         * application exits - registering each file with deleteOnExit() would
+         * hold on to the path of every run's output until exit.
+         */
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for(File spillFile : ProgramOutput.spillFiles){
+                spillFile.delete();
+            }
+        }, "output-spill-cleanup"));
+    }
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     */
+    public ProgramOutput(){
+        // initializing
+        this.pendingLines = new ArrayDeque<String>();
+        this.flushScheduled = false;
+        this.listener = null;
+        this.firstLine = null;
+        this.lineCount = 0;
+        this.charCount = 0;
+        this.startTime = System.nanoTime();
+        this.endTime = -1;
+        this.appendTime = 0;
+        this.spillFile = null;
+        this.spillWriter = null;
+        this.discarded = false;
+    }
+
+    /**
+     * Marks the start of the output (the program has started running).
+     */
+    public synchronized void open(){
+        this.startTime = System.nanoTime();
+    }
+
+    ///////////////
+    // APPENDING //
+    ///////////////
+
+    /**
+     * Appends a line of output. Called on the worker thread running the program.
+     *
+     * @param line The line of output (without a line terminator).
+     * @throws Exception Thrown if the line could not be written to the spill file.
+     */
+    public synchronized void appendLine(String line) throws Exception{
+        // output discarded (e.g., the run was stopped and closed) - line not kept
+        if(this.discarded){
+            return;
+        }
+
+        long appendStart = System.nanoTime();
+
+        // spilling to file
+        if(this.spillWriter == null){
+            this.spillFile = Files.createTempFile(SPILL_FILE_PREFIX, ".txt").toFile();
+            ProgramOutput.spillFiles.add(this.spillFile);
+            this.spillWriter = Files.newBufferedWriter(this.spillFile.toPath(), StandardCharsets.UTF_8);
+        }
+        else{
+            // lines are seperated (not terminated) to match the program output
+            this.spillWriter.newLine();
+        }
+        this.spillWriter.write(line);
+
+        // updating counters
+        if(this.firstLine == null){
+            this.firstLine = line;
+        }
+        this.lineCount++;
+        this.charCount += line.length() + 1;
+
+        // nothing listening (e.g., a batch or benchmark run) - line only kept in the spill file
+        if(this.listener == null){
+            this.appendTime += System.nanoTime() - appendStart;
+            return;
+        }
+
+        // adding to pending lines (dropping the oldest if the window is full)
+        this.pendingLines.addLast(line);
+        if(this.pendingLines.size() > WINDOW_SIZE){
+            this.pendingLines.removeFirst();
+        }
+
+        // scheduling delivery (if one is not already scheduled)
+        if(!this.flushScheduled){
+            this.flushScheduled = true;
+            Platform.runLater(this::flush);
+        }
+
+        this.appendTime += System.nanoTime() - appendStart;
+    }
+
+    /**
+     * Marks the output as complete (the program has finished running), and closes
+     * the spill file.
+     * 
+     * @throws Exception Thrown if the spill file could not be closed.
+     */
+    public synchronized void close() throws Exception{
+        // already closed
+        if(this.endTime >= 0){
+            return;
+        }
+
+        this.endTime = System.nanoTime();
+
+        if(this.spillWriter != null){
+            this.spillWriter.close();
+        }
+    }
+
+    /**
+     * Discards the output, deleting the spill file. Called once the output is no
+     * longer displayed.
+     * 
+     * Lines appended after the output is discarded (by a program that is still
+     * stopping) are ignored.
+     */
+    public synchronized void discard(){
+        this.discarded = true;
+        this.pendingLines.clear();
+
+        try{
+            this.close();
+        }
+        catch(Exception e){
+            // spill file being deleted anyway
+        }
+
+        if(this.spillFile != null){
+            this.spillFile.delete();
+            ProgramOutput.spillFiles.remove(this.spillFile);
+            this.spillFile = null;
+            this.spillWriter = null;
+        }
+    }
+
+    ////////////////////////
+    // SAVING AND COPYING //
+    ////////////////////////
+
+    /**
+     * Saves the complete output into the provided file (by copying the spill file).
+     * 
+     * @param file The file the output is being saved to.
+     * @throws Exception Thrown if the output could not be saved.
+     */
+    public synchronized void saveTo(File file) throws Exception{
+        try{
+            // no output - saving empty file
+            if(this.spillFile == null){
+                Files.write(file.toPath(), new byte[0]);
+                return;
+            }
+
+            // making sure all output so far is in the spill file
+            if(this.endTime < 0){
+                this.spillWriter.flush();
+            }
+
+            // copying the spill file
+            Files.copy(this.spillFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch(Exception e){
+            throw new Exception("Unable to write content to file '" + file.getName() + "'.\n" + 
+                                "Cause : \n\t" + e.toString());
+        }
+    }
+
+    /**
+     * Returns the complete output as a String (read from the spill file).
+     * 
+     * @return The complete output.
+     * @throws Exception Thrown if the output is too large to be held in memory, 
+     * or could not be read.
+     */
+    public synchronized String getContent() throws Exception{
+        // no output
+        if(this.spillFile == null){
+            return "";
+        }
+
+        // making sure all output so far is in the spill file
+        if(this.endTime < 0){
+            this.spillWriter.flush();
+        }
+
+        // output must be small enough to hold in memory
+        if(this.spillFile.length() > MAX_COPY_SIZE){
+            throw new Exception("The output is too large to copy (" + FileManager.getReadableSize(this.spillFile.length()) + ").\n" + 
+                                "Use 'Save As' to save it to a file instead.");
+        }
+
+        return new String(Files.readAllBytes(this.spillFile.toPath()), StandardCharsets.UTF_8);
+    }
+
+    //////////////
+    // FLUSHING //
+    //////////////
+
+    /**
+     * Delivers all pending lines to the listener as a single chunk. Must be
+     * called on the JavaFX thread.
+     */
+    public void flush(){
+        // gathering pending lines
+        String chunk;
+        Consumer<String> listener;
+        synchronized(this){
+            this.flushScheduled = false;
+
+            // no listener to deliver to - dropping the lines (they are still in the spill file)
+            if(this.listener == null){
+                this.pendingLines.clear();
+                return;
+            }
+            if(this.pendingLines.isEmpty()){
+                return;
+            }
+
+            chunk = String.join("\n", this.pendingLines);
+            this.pendingLines.clear();
+            listener = this.listener;
+        }
+
+        // delivering chunk
+        listener.accept(chunk);
+    }
+
+    ///////////////
+    // REPORTING //
+    ///////////////
+
+    /**
+     * Determines if the output is an error raised by the program. Output is an
+     * error if it starts with the text "### EXECUTION ERROR ### ".
+     *
+     * @return True if the output is an error, false otherwise.
+     */
+    public synchronized boolean isError(){
+        return this.firstLine != null && this.firstLine.startsWith(ERROR_PREFIX);
+    }
+
+    /**
+     * Returns the error message from output that is an error.
+     *
+     * @return The error message from the output.
+     */
+    public synchronized String getErrorMessage(){
+        // message follows the " : " seperator
+        String[] messageParts = this.firstLine.split(" : ", 2);
+        return (messageParts.length > 1) ? messageParts[1] : this.firstLine;
+    }
+
+    /**
+     * Returns a summary of the output produced so far, including the rate at
+     * which it was produced (e.g., "12,345 lines, 1.2 MB (3.4 MB/s)").
+     *
+     * @return A summary of the output.
+     */
+    public synchronized String getSummary(){
+        long end = (this.endTime < 0) ? System.nanoTime() : this.endTime;
+        double seconds = Math.max((end - this.startTime) / 1e9, 1e-3);
+
+        return String.format("%,d lines, %s (%s/s)",
+                             this.lineCount,
+                             FileManager.getReadableSize(this.charCount),
+                             FileManager.getReadableSize((long) (this.charCount / seconds)));
+    }
+
+    /////////////////////////
+    // GETTERS AND SETTERS //
+    /////////////////////////
+
+    public synchronized long getLineCount(){
+        return this.lineCount;
+    }
+
+    public synchronized long getCharCount(){
+        return this.charCount;
+    }
+
+    public synchronized long getAppendTime(){
+        return this.appendTime;
+    }
+
+    public synchronized void setListener(Consumer<String> listener){
+        this.listener = listener;
+    }
+}
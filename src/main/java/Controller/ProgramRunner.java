@@ -3,16 +3,22 @@ package Controller;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.InputStreamReader;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-
-import org.apache.commons.io.FileUtils;
-
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import Controller.Engine.CsvqlEngine;
+import Controller.Engine.UnsupportedProgramException;
 import Model.FileType;
+import Model.RunSettings;
 import View.Editor.EditorTab;
 import View.Editor.ProgramTab;
 import View.TableStore.StoredTable;
+import View.Tools.PopUpWindow;
 
 /**
  * Manages the running of programs loaded in the systme Editor.
@@ -20,7 +26,16 @@ import View.TableStore.StoredTable;
 public class ProgramRunner {
 
     // constants
-    private static final String TMP_DIR = "tmp";
+    private static final int PHASE_COUNT = 3;
+    private static final int MAX_CONCURRENT_RUNS = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    // member variables
+    private static final ExecutorService executor = Executors.newFixedThreadPool(MAX_CONCURRENT_RUNS, (runnable) -> {
+        // worker threads are daemons so that they do not keep the application alive
+        Thread thread = new Thread(runnable, "program-runner");
+        thread.setDaemon(true);
+        return thread;
+    }); /** Bounded pool - runs beyond the limit are queued until a worker is free */
     
     //////////////////
     // INITIALIZING //
@@ -38,13 +53,24 @@ public class ProgramRunner {
     /////////////////////////
 
     /**
-     * Runs the provided program and passes the result onto the Terminal.
+     * Runs the provided program on a worker thread and passes the result onto 
+     * the Terminal.
+     * 
+     * The files needed by the program are gathered here (on the JavaFX thread), 
+     * but all of the work to execute the program is carried out by a ProgramJob
+     * so that the application is not blocked while the program runs.
+     * 
+     * For CSVQL programs, only the tables referenced by the program are staged, 
+     * and the user is warned (before anything is run) if the program references
+     * tables that are not loaded into the system.
      * 
      * @param programTab The ProgramTab being run.
+     * @return The ProgramJob that is running the program, or null if the user chose
+     * not to run the program.
      * 
      * @throws Exception Thrown if the program could not be run.
      */
-    public static  void runProgramTab(ProgramTab programTab) throws Exception{
+    public static ProgramJob runProgramTab(ProgramTab programTab) throws Exception{
         // VALIDATING //
 
         Validator.validateRunProgramTab(programTab);
@@ -52,83 +78,577 @@ public class ProgramRunner {
         // VALIDATED //
 
         ////////////////////////////
-        // CREATING TMP DIRECTORY //
+        // GATHERING NEEDED FILES //
         ////////////////////////////
 
-        File tmpDir = ProgramRunner.createTmpDir();
+        FileType programType = FileType.getFileType(programTab.getFile());
+        ArrayList<File> neededFiles = ProgramRunner.getProgramTabNeededFiles(programTab);
+
+        // not running the program if the user did not confirm
+        if(neededFiles == null){
+            return null;
+        }
+
+        //////////////////
+        // CREATING JOB //
+        //////////////////
+
+        ProgramJob job = new ProgramJob(programTab.getName(), programType, neededFiles);
+
+        ////////////////////
+        // SUBMITTING JOB //
+        ////////////////////
+
+        // displaying the job in the terminal (output is displayed when the job finishes)
+        SystemController.getInstance().getDashboard().getTerminal().addRunningProgram(job);
+
+        // running the job on a worker thread
+        ProgramRunner.executor.execute(job);
+
+        return job;
+    }
+
+    /**
+     * Executes the provided ProgramJob. Called by the job on the worker thread
+     * it is running on.
+     * 
+     * The output of the program is streamed into the job's ProgramOutput while
+     * the program runs.
+     * 
+     * @param job The ProgramJob being executed.
+     * @return The output of the program.
+     * 
+     * @throws Exception Thrown if the program could not be run.
+     */
+    public static ProgramOutput executeProgramJob(ProgramJob job) throws Exception{
+        ///////////////////////////
+        // CHECKING RESULT CACHE //
+        ///////////////////////////
+
+        /**
+         * Only CSVQL programs are cached - the interpreter's output depends 
+         * only on the program and it's tables, whereas Python and Java programs
+         * can depend on anything (e.g., the time, or random numbers).
+         */
+        RunMetrics metrics = job.getMetrics();
+        String cacheKey = null;
+        if(RunSettings.isResultCache() && job.isCacheAllowed() && job.getProgramType() == FileType.PROGRAM_CSVQL){
+            job.setPhase("Checking cache", 1, ProgramRunner.PHASE_COUNT);
+            long cacheCheckStart = System.nanoTime();
+
+            try{
+                cacheKey = ResultCache.getKey(job.getNeededFiles());
+            }
+            catch(Exception e){
+                // files could not be fingerprinted - running without the cache
+            }
+
+            // serving the cached output
+            job.getOutput().open();
+            if(cacheKey != null && ResultCache.load(cacheKey, job.getOutput())){
+                job.getOutput().close();
+                job.setServedFromCache(true);
+                metrics.addTimeSince(RunMetrics.CACHE_CHECK, cacheCheckStart);
+                ProgramRunner.recordOutputMetrics(job);
+                return job.getOutput();
+            }
+            metrics.addTimeSince(RunMetrics.CACHE_CHECK, cacheCheckStart);
+        }
+
+        /////////////////////////////
+        // RUNNING IN CSVQL ENGINE //
+        /////////////////////////////
+
+        /**
+         * The CsvqlEngine runs the program without staging the files or 
+         * spawning the interpreter. If the engine does not support the program
+         * nothing has been output yet, so the program is run by the interpreter
+         * as normal (a stopped run is not).
+         * 
+         * The program is parsed in the staging phase, so the phases still run 
+         * in order when a program the engine cannot parse falls back.
+         */
+        if(RunSettings.isCsvqlEngine() && job.getProgramType() == FileType.PROGRAM_CSVQL){
+            job.setPhase("Staging files", 1, ProgramRunner.PHASE_COUNT);
+            long engineStart = System.nanoTime();
+
+            ArrayList<String> lines = null;
+            try{
+                lines = CsvqlEngine.run(ProgramRunner.getProgramSource(job), job.getNeededFiles(), 
+                                        () -> job.setPhase("Running", 2, ProgramRunner.PHASE_COUNT));
+            }
+            catch(UnsupportedProgramException e){
+                // not supported by the engine - falling back to the interpreter (unless the run was stopped)
+            }
+            catch(InterruptedException e){
+                // run was stopped - nothing to output
+            }
+            metrics.addTimeSince(RunMetrics.ENGINE, engineStart);
+
+            // run stopped - not falling back to the interpreter
+            if(job.isCancelled()){
+                return job.getOutput();
+            }
+
+            if(lines != null){
+                // outputting the result
+                job.getOutput().open();
+                try{
+                    for(String line : lines){
+                        job.getOutput().appendLine(line);
+                    }
+                    job.getOutput().close();
+                    ProgramRunner.recordOutputMetrics(job);
+                }
+                catch(Exception e){
+                    job.getOutput().discard();
+                    throw new Exception("Unable to exeucte file '" + job.getProgramName() + "'.\n" + 
+                                        "Cause : \n\t" + e.toString());
+                }
+
+                /**
+                 * Engine outputs are not stored in the ResultCache, which only
+                 * holds the interpreter's output.
+                 */
+                return job.getOutput();
+            }
+        }
+
+        ////////////////////////////////
+        // CREATING STAGING DIRECTORY //
+        ////////////////////////////////
+
+        job.setPhase("Staging files", 1, ProgramRunner.PHASE_COUNT);
+        long stagingStart = System.nanoTime();
+
+        /**
+         * Each job gets it's own staging directory, so that runs do not 
+         * interfere with each other and can execute concurrently.
+         * 
+         * Files are only linked for CSVQL programs - Python and Java programs 
+         * may write to any file in their working directory (which would write
+         * through a link to the user's original file). Tables a CSVQL program 
+         * may write to (those named in INSERT, UPDATE, DELETE or INTO 
+         * statements) are copied as well, as are all files if the program 
+         * cannot be read to find them.
+         */
+        ArrayList<File> linkableFiles = new ArrayList<File>();
+        if(job.getProgramType() == FileType.PROGRAM_CSVQL){
+            try{
+                linkableFiles.addAll(job.getNeededFiles());
+                linkableFiles.removeAll(CsvqlReferenceScanner.getWrittenTables(ProgramRunner.getProgramSource(job), job.getNeededFiles()));
+            }
+            catch(UnsupportedProgramException e){
+                linkableFiles.clear();
+            }
+        }
+        StagingDirectory stagingDirectory = StagingDirectory.create(job.getNeededFiles(), linkableFiles);
+        job.setStagingDirectory(stagingDirectory);
+        File tmpDir = stagingDirectory.getDirectory();
+
+        metrics.addTimeSince(RunMetrics.STAGING, stagingStart);
+        metrics.addCount(RunMetrics.BYTES_LINKED, stagingDirectory.getBytesLinked());
+        metrics.addCount(RunMetrics.BYTES_COPIED, stagingDirectory.getBytesCopied());
 
         ///////////////////////
         // EXECUTING PROGRAM //
         ///////////////////////
 
-        // gathering type of program being run
-        FileType programType = FileType.getFileType(programTab.getFile());
+        job.setPhase("Running", 2, ProgramRunner.PHASE_COUNT);
+        job.getOutput().open();
 
         // executing program based on it's type
         try{
-            // string to hold program output
-            String programOutput = "";
-
-
             // EXECUTING PROGRAM BASED ON TYPE //
 
-            if(programType == FileType.PROGRAM_CSVQL){
-                programOutput = ProgramRunner.getCsvqlProgramOutput(tmpDir, programTab.getName());
+            if(job.getProgramType() == FileType.PROGRAM_CSVQL){
+                ProgramRunner.runCsvqlProgram(job, tmpDir, job.getProgramName());
             }
-            else if(programType == FileType.PROGRAM_PYTHON){
-                programOutput = ProgramRunner.getPythonProgramOutput(tmpDir, programTab.getName());
+            else if(job.getProgramType() == FileType.PROGRAM_PYTHON){
+                ProgramRunner.runPythonProgram(job, tmpDir, job.getProgramName());
             }
-            else if(programType == FileType.PROGRAM_JAVA){
-                programOutput = ProgramRunner.getJavaProgramOutput(tmpDir, programTab.getName());
+            else if(job.getProgramType() == FileType.PROGRAM_JAVA){
+                ProgramRunner.runJavaProgram(job, tmpDir, job.getProgramName());
             }
 
-            ///////////////////////
-            // DISPLAYING OUTPUT //
-            ///////////////////////
-
-            if(programOutput != ""){
-                 // displaying output into terminal
-                SystemController.getInstance().getDashboard().getTerminal().displayProgramOutput(programOutput);
-            }
+            // marking the program output as complete
+            job.getOutput().close();
+            ProgramRunner.recordOutputMetrics(job);
         }
         catch(Exception e){
 
             /**
-             * Unable to execute program, need to delete temp dir
-             * and throw exception.
+             * Unable to execute program, need to discard the output, 
+             * delete staging dir and throw exception.
              */
 
-            // deleting temp dir
+            // discarding output
+            job.getOutput().discard();
+
+            // deleting staging dir
             try{
-                // deleting tmp directory if the execution failed
-                FileUtils.deleteDirectory(tmpDir);
+                // deleting staging directory if the execution failed
+                stagingDirectory.delete();
             }
             catch(Exception ex){
-                // temp dir could not be deleted, need to throw additional exception
-                throw new Exception("Unable to exeucte file '" + programTab.getName() + "'.\n" + 
+                // staging dir could not be deleted, need to throw additional exception
+                throw new Exception("Unable to exeucte file '" + job.getProgramName() + "'.\n" + 
                                     "Cause : \n\t" + e.toString() + "\n" + 
                                     "Unable to delete temp directory.\n" + 
                                     "Cause : \n\t" + ex.toString());
             }
 
             // throwing exception for program execution
-            throw new Exception("Unable to exeucte file '" + programTab.getName() + "'.\n" + 
+            throw new Exception("Unable to exeucte file '" + job.getProgramName() + "'.\n" + 
                                 "Cause : \n\t" + e.toString());
         }
     
-        ////////////////////////////
-        // DELETING TMP DIRECTORY //
-        ////////////////////////////
+        ////////////////////////////////
+        // DELETING STAGING DIRECTORY //
+        ////////////////////////////////
+
+        job.setPhase("Cleaning up", 3, ProgramRunner.PHASE_COUNT);
+        long cleanupStart = System.nanoTime();
 
         try{
-            // deleting tmp directory if the execution failed
-            FileUtils.deleteDirectory(tmpDir);
+            // deleting staging directory after the execution
+            stagingDirectory.delete();
+            metrics.addTimeSince(RunMetrics.CLEANUP, cleanupStart);
         }
         catch(Exception e){
-            // unable to delete tepm dir - need to throw exception
+            // unable to delete staging dir - need to throw exception
             throw new Exception("Unable to delete temp directory after program execution.\n" + 
                                 "Cause : \n\t" + e.toString());
         }
+
+        ////////////////////
+        // CACHING OUTPUT //
+        ////////////////////
+
+        // only caching complete, successful runs
+        if(cacheKey != null && !job.isCancelled() && !job.getOutput().isError()){
+            long cacheStoreStart = System.nanoTime();
+            try{
+                ResultCache.store(cacheKey, job.getOutput());
+                metrics.addTimeSince(RunMetrics.CACHE_STORE, cacheStoreStart);
+            }
+            catch(Exception e){
+                // output could not be cached - the run itself still succeeded
+            }
+        }
+
+        // returning the program output (displayed by the terminal)
+        return job.getOutput();
+    }
+
+    //////////////////////////
+    // BENCHMARKING PROGRAM //
+    //////////////////////////
+
+    /**
+     * Benchmarks the provided program on a thread of it's own, and passes the
+     * report onto the Terminal.
+     * 
+     * @param programTab The ProgramTab being benchmarked.
+     * @param iterations The number of measured runs.
+     * @param warmups The number of warm-up runs made before the measured runs.
+     * @return The BenchmarkJob that is benchmarking the program, or null if the 
+     * user chose not to run the program.
+     * @throws Exception Thrown if the program could not be benchmarked.
+     */
+    public static BenchmarkJob benchmarkProgramTab(ProgramTab programTab, int iterations, int warmups) throws Exception{
+        // VALIDATING //
+
+        Validator.validateRunProgramTab(programTab);
+
+        if(iterations < 1 || warmups < 0){
+            throw new Exception("A benchmark needs at least one run (and cannot have a negative number of warm-up runs).");
+        }
+
+        // VALIDATED //
+
+        // GATHERING NEEDED FILES //
+
+        ArrayList<File> neededFiles = ProgramRunner.getProgramTabNeededFiles(programTab);
+
+        // not running the program if the user did not confirm
+        if(neededFiles == null){
+            return null;
+        }
+
+        // CREATING BENCHMARK //
+
+        BenchmarkJob benchmark = new BenchmarkJob(programTab.getName(), FileType.getFileType(programTab.getFile()), neededFiles, iterations, warmups);
+
+        // SUBMITTING BENCHMARK //
+
+        // displaying the benchmark in the terminal (report is displayed when the benchmark finishes)
+        SystemController.getInstance().getDashboard().getTerminal().addRunningBenchmark(benchmark);
+
+        // running the benchmark on it's own thread (the runs themselves are made on the pool)
+        Thread benchmarkThread = new Thread(benchmark, "benchmark-runner");
+        benchmarkThread.setDaemon(true);
+        benchmarkThread.start();
+
+        return benchmark;
+    }
+
+    /**
+     * Executes the provided BenchmarkJob. Called by the benchmark on the thread
+     * it is running on.
+     * 
+     * The program is run once at a time - each run is submitted to the worker 
+     * pool and waited for before the next is made.
+     * 
+     * @param benchmark The BenchmarkJob being executed.
+     * @return The CSV report of the benchmark.
+     * @throws Exception Thrown if a run of the program failed or raised an error.
+     */
+    public static String executeBenchmarkJob(BenchmarkJob benchmark) throws Exception{
+        ArrayList<Double> latencies = new ArrayList<Double>();
+        long outputLines = 0;
+        long outputBytes = 0;
+
+        int runCount = benchmark.getWarmups() + benchmark.getIterations();
+        for(int run = 1; run <= runCount; run++){
+            benchmark.setRunNumber(run);
+
+            // RUNNING PROGRAM //
+
+            // cache never used (every run must actually run the program)
+            ProgramJob job = new ProgramJob(benchmark.getProgramName(), benchmark.getProgramType(), benchmark.getNeededFiles());
+            job.setCacheAllowed(false);
+            benchmark.setCurrentJob(job);
+            ProgramRunner.executor.execute(job);
+
+            // waiting for the run to finish
+            ProgramOutput output;
+            try{
+                output = job.get();
+            }
+            catch(ExecutionException e){
+                throw new Exception("Run " + run + " of '" + benchmark.getProgramName() + "' failed.\n" + 
+                                    "Cause : \n\t" + e.getCause().toString());
+            }
+            finally{
+                benchmark.setCurrentJob(null);
+
+                // logging the run's metrics (benchmark output is never rendered)
+                job.logMetrics();
+            }
+
+            // RECORDING RUN //
+
+            try{
+                // a run that raised an error is not a valid measurement
+                if(output.isError()){
+                    throw new Exception("Run " + run + " of '" + benchmark.getProgramName() + "' raised an error.\n" + 
+                                        "Cause : \n\t" + output.getErrorMessage());
+                }
+
+                // warm-up runs are not measured
+                if(run > benchmark.getWarmups()){
+                    latencies.add(job.getDurationMillis());
+                }
+                outputLines = output.getLineCount();
+                outputBytes = output.getCharCount();
+            }
+            finally{
+                // output is only needed for the report
+                output.discard();
+            }
+        }
+
+        // returning the report
+        return benchmark.createReport(latencies, outputLines, outputBytes);
+    }
+
+    ///////////////////
+    // RUNNING BATCH //
+    ///////////////////
+
+    /**
+     * Runs all of the programs open in the Editor as a batch, with all of the 
+     * files in the Editor and TableStore available to them.
+     * 
+     * Programs are run as they are saved (unsaved changes are not included).
+     * 
+     * @return The BatchJob that is running the programs.
+     * @throws Exception Thrown if there are no saved programs open in the Editor.
+     */
+    public static BatchJob runOpenPrograms() throws Exception{
+        // gathering the saved programs open in the editor
+        ArrayList<File> programs = new ArrayList<File>();
+        for(EditorTab editorTab : SystemController.getInstance().getDashboard().getEditor().getEditorTabContainer().getEditorTabs()){
+            if(editorTab instanceof ProgramTab && editorTab.getFile() != null){
+                programs.add(editorTab.getFile());
+            }
+        }
+
+        return ProgramRunner.runBatch("Open programs", programs, ProgramRunner.getNeededFiles());
+    }
+
+    /**
+     * Runs all of the programs in the provided directory as a batch, with the 
+     * tables in the directory (and any tables in the TableStore that do not share
+     * a name with them) available to them.
+     * 
+     * @param directory The directory containing the programs.
+     * @return The BatchJob that is running the programs.
+     * @throws Exception Thrown if there are no programs in the directory.
+     */
+    public static BatchJob runProgramsInDirectory(File directory) throws Exception{
+        // sorting the files in the directory into programs and tables
+        ArrayList<File> programs = new ArrayList<File>();
+        ArrayList<File> availableFiles = new ArrayList<File>();
+        ArrayList<String> availableNames = new ArrayList<String>();
+
+        File[] files = directory.listFiles();
+        if(files != null){
+            Arrays.sort(files);
+            for(File file : files){
+                FileType fileType = FileType.getFileType(file);
+
+                if(fileType == FileType.TABLE){
+                    availableFiles.add(file);
+                    availableNames.add(file.getName());
+                }
+                else if(fileType != null){
+                    programs.add(file);
+                }
+            }
+        }
+
+        // stored tables (unless the directory has a table with the same name)
+        for(StoredTable storedTable : SystemController.getInstance().getDashboard().getTableStore().getStoredTables()){
+            if(!availableNames.contains(storedTable.getFile().getName())){
+                availableFiles.add(storedTable.getFile());
+            }
+        }
+
+        return ProgramRunner.runBatch(directory.getName(), programs, availableFiles);
+    }
+
+    /**
+     * Runs the provided programs as a batch, displaying the batch in the Terminal.
+     * 
+     * The batch waits for it's programs on a thread of it's own (not a worker of 
+     * the pool), as the programs themselves are run on the pool.
+     * 
+     * @param batchName The name of the batch.
+     * @param programs The programs in the batch.
+     * @param availableFiles The files available to the programs.
+     * @return The BatchJob that is running the programs.
+     * @throws Exception Thrown if there are no programs to run.
+     */
+    private static BatchJob runBatch(String batchName, ArrayList<File> programs, ArrayList<File> availableFiles) throws Exception{
+        // VALIDATING //
+
+        if(programs.isEmpty()){
+            throw new Exception("There are no saved programs to run.");
+        }
+
+        // CREATING BATCH //
+
+        BatchJob batch = new BatchJob(batchName, programs, availableFiles);
+
+        // SUBMITTING BATCH //
+
+        // displaying the batch in the terminal (report is displayed when the batch finishes)
+        SystemController.getInstance().getDashboard().getTerminal().addRunningBatch(batch);
+
+        // running the batch on it's own thread
+        Thread batchThread = new Thread(batch, "batch-runner");
+        batchThread.setDaemon(true);
+        batchThread.start();
+
+        return batch;
+    }
+
+    /**
+     * Executes the provided BatchJob. Called by the batch on the thread it is 
+     * running on.
+     * 
+     * Every program is submitted to the worker pool straight away (each with it's
+     * own staging directory), and the batch then waits for each of them in turn to
+     * build the report.
+     * 
+     * @param batch The BatchJob being executed.
+     * @return The CSV report of the batch (one row per program).
+     * @throws Exception Thrown if the batch was interrupted.
+     */
+    public static String executeBatchJob(BatchJob batch) throws Exception{
+        /////////////////////////
+        // SUBMITTING PROGRAMS //
+        /////////////////////////
+
+        ArrayList<ProgramJob> programJobs = new ArrayList<ProgramJob>();
+
+        for(File program : batch.getPrograms()){
+            // gathering needed files
+            FileType programType = FileType.getFileType(program);
+            ArrayList<File> neededFiles = new ArrayList<File>(batch.getAvailableFiles());
+            if(!neededFiles.contains(program)){
+                neededFiles.add(program);
+            }
+
+            // CSVQL PROGRAM - only staging referenced tables //
+            if(programType == FileType.PROGRAM_CSVQL){
+                try{
+                    neededFiles = ProgramRunner.getCsvqlNeededFiles(program, FileManager.getContentFromFile(program), neededFiles);
+                }
+                catch(Exception e){
+                    // program could not be scanned - staging all files
+                }
+            }
+
+            // submitting the program
+            ProgramJob job = new ProgramJob(program.getName(), programType, neededFiles);
+            batch.addProgramJob(job);
+            programJobs.add(job);
+            ProgramRunner.executor.execute(job);
+        }
+
+        ///////////////////////
+        // GATHERING RESULTS //
+        ///////////////////////
+
+        StringBuilder report = new StringBuilder("program,status,duration_ms,lines,output_bytes");
+        batch.setFinishedCount(0);
+
+        for(int i = 0; i < programJobs.size(); i++){
+            ProgramJob job = programJobs.get(i);
+
+            // waiting for the program to finish
+            String status;
+            try{
+                status = job.get().isError() ? "error" : "ok";
+            }
+            catch(CancellationException e){
+                status = "stopped";
+            }
+            catch(ExecutionException e){
+                status = "failed";
+            }
+
+            // adding the program to the report
+            report.append("\n")
+                  .append(ProgramRunner.toCsvValue(job.getProgramName())).append(",")
+                  .append(status).append(",")
+                  .append(String.format(Locale.ROOT, "%.1f", job.getDurationMillis())).append(",")
+                  .append(job.getOutput().getLineCount()).append(",")
+                  .append(job.getOutput().getCharCount());
+
+            // output is only needed for the report (so is never rendered)
+            job.getOutput().discard();
+            job.logMetrics();
+
+            batch.recordStatus(status);
+            batch.setFinishedCount(i + 1);
+        }
+
+        // returning the report
+        return report.toString();
     }
 
     ///////////////////////////
@@ -136,40 +656,53 @@ public class ProgramRunner {
     ///////////////////////////
 
     /**
-     * Gathers the output of executing a provided CSVQL program.
+     * Returns the source code of the program being run by the provided job.
      * 
+     * @param job The ProgramJob running the program.
+     * @return The source code of the program.
+     * @throws UnsupportedProgramException Thrown if the program could not be 
+     * read (the interpreter will then report the problem).
+     */
+    private static String getProgramSource(ProgramJob job) throws UnsupportedProgramException{
+        for(File file : job.getNeededFiles()){
+            if(file.getName().equals(job.getProgramName())){
+                try{
+                    return FileManager.getContentFromFile(file);
+                }
+                catch(Exception e){
+                    break;
+                }
+            }
+        }
+        throw new UnsupportedProgramException("Unable to read program '" + job.getProgramName() + "'.");
+    }
+
+    /**
+     * Executes the provided CSVQL program, streaming it's output into the job.
+     * 
+     * @param job The ProgramJob the program is being executed for.
      * @param tmpDir The temporary directory containing the system files in use,
      * @param programName The name of the CSVQL program to be executed.
      */
-    private static String getCsvqlProgramOutput(File tmpDir, String programName) throws Exception{
-
-        // string values of interpreter dir and executable
-        String interpreterDir = "interpreter";
-        String interpreterExe = "csvql-no-colour";
+    private static void runCsvqlProgram(ProgramJob job, File tmpDir, String programName) throws Exception{
 
-        // COPYING INTERPRETER INTO TMP DIRECTORY //
+        // GATHERING INTERPRETER //
 
-        try{
-            File interpreterFile = FileUtils.toFile(SystemController.class.getClassLoader().getResource(interpreterDir + File.separator + interpreterExe));
-
-            Files.copy(interpreterFile.toPath(),                                                  // SOURCE FILE
-                       (new File(TMP_DIR + File.separator + interpreterFile.getName())).toPath(), // TARGET DESTINATION
-                       StandardCopyOption.REPLACE_EXISTING);                                      // REPLACE PROTOCOL
-        }
-        catch(Exception e){
-            throw new Exception("Unable to cache CSVQL interpreter in tmp directory.\n" + 
-                                "Cause : \n\t" + e.toString());
-        }
+        /**
+         * The interpreter is extracted once and reused, and is invoked directly
+         * (rather than through a bash wrapper).
+         */
+        long interpreterStart = System.nanoTime();
+        File interpreter = InterpreterCache.getCsvqlInterpreter();
+        job.getMetrics().addTimeSince(RunMetrics.INTERPRETER, interpreterStart);
 
         // CREATING EXECUTION COMMANDS //
     
-        String[] commands = {"bash", "-c",                                  // CONFIGURING BASH MODE
-                            "chmod +x " + interpreterExe +                  // MAKING CSVQL INTEREPRETER EXECUTABLE
-                            " && ./" + interpreterExe + " " + programName}; // EXECUTING CSVQL INTERPRETER AND PROGRAM
+        String[] commands = {interpreter.getAbsolutePath(), programName}; // EXECUTING CSVQL INTERPRETER AND PROGRAM
 
         // EXECUTING COMMANDS //
             
-        return ProgramRunner.runProcess(commands);
+        ProgramRunner.runProcess(job, tmpDir, commands);
     }
 
     ////////////////////////////
@@ -177,13 +710,26 @@ public class ProgramRunner {
     ////////////////////////////
 
     /**
-     * Gathers the output of executing a provided Python program.
+     * Executes the provided Python program, streaming it's output into the job.
      * 
+     * If enabled in the RunSettings, the program is run in the warm PythonWorker,
+     * and is only run in a new process if the worker is busy or unavailable.
+     * 
+     * @param job The ProgramJob the program is being executed for.
      * @param tmpDir The temporary directory containing the system files in use,
-     * @param programName The name of the CSVQL program to be executed.
-     * @return 
+     * @param programName The name of the Python program to be executed.
      */
-    private static String getPythonProgramOutput(File tmpDir, String programName) throws Exception{
+    private static void runPythonProgram(ProgramJob job, File tmpDir, String programName) throws Exception{
+
+        // RUNNING IN WORKER //
+
+        long workerStart = System.nanoTime();
+        if(RunSettings.isPythonWorker() && PythonWorker.runProgram(job, tmpDir, programName)){
+            job.getMetrics().addTimeSince(RunMetrics.PROCESS, workerStart);
+            return;
+        }
+
+        // RUNNING IN NEW PROCESS //
 
         String interpreterExe = "python";
 
@@ -193,42 +739,70 @@ public class ProgramRunner {
 
         // EXECUTING COMMANDS //
             
-        return ProgramRunner.runProcess(commands);
+        ProgramRunner.runProcess(job, tmpDir, commands);
     }
 
     //////////////////////////
     // RUNNING JAVA PROGRAM //
     //////////////////////////
 
-    private static String getJavaProgramOutput(File tmpDir, String programName) throws Exception{
+    /**
+     * Compiles and executes the provided Java program, streaming the output of
+     * both into the job.
+     * 
+     * If enabled in the RunSettings (and a compiler is available), the program
+     * is compiled inside the IDE's JVM rather than in a 'javac' process (it is
+     * still run in a 'java' process - the IDE's own, as the classes are compiled
+     * for the IDE's Java version).
+     * 
+     * @param job The ProgramJob the program is being executed for.
+     * @param tmpDir The temporary directory containing the system files in use,
+     * @param programName The name of the Java program to be executed.
+     */
+    private static void runJavaProgram(ProgramJob job, File tmpDir, String programName) throws Exception{
 
         String compilerExe = "javac";
 
         String executorExe = "java";
 
-        // CREATING COMPILE COMMANDS //
+        int compileExitCode;
 
-        String[] compileCommands = {compilerExe, programName};
+        // COMPILING IN-PROCESS //
 
-        // EXECUTING COMPILE COMMANDS //
-            
-        String compileOutput = ProgramRunner.runProcess(compileCommands);
+        if(RunSettings.isJavaInProcess() && InProcessJavaCompiler.isAvailable()){
+            long compileStart = System.nanoTime();
+            compileExitCode = InProcessJavaCompiler.compileInto(job, tmpDir, programName) ? 0 : 1;
+            job.getMetrics().addTimeSince(RunMetrics.COMPILE, compileStart);
+            executorExe = InProcessJavaCompiler.getJavaExecutable();
+        }
+
+        // COMPILING IN NEW PROCESS //
 
-        // Compilation successful - need to run code
-        if(compileOutput == ""){
+        else{
+            // CREATING COMPILE COMMANDS //
+
+            String[] compileCommands = {compilerExe, programName};
+
+            // EXECUTING COMPILE COMMANDS //
+                
+            compileExitCode = ProgramRunner.runProcess(job, tmpDir, compileCommands);
+        }
+
+        /**
+         * If compilation failed, the compiler's output (the error) has already 
+         * been streamed into the job.
+         */
+
+        // Compilation successful - need to run code (unless the job was stopped during compilation)
+        if(compileExitCode == 0 && !job.isCancelled()){
             // CREATING EXECUTING COMMANDS //
 
             String[] executionCommands = {executorExe, programName.split("\\.")[0]}; 
 
             // EXECUTING EXECUTING COMMANDS //
                 
-            return ProgramRunner.runProcess(executionCommands);
-        }
-        // compilation failed - need to return the compilation output (the error)
-        else{
-            return compileOutput;
+            ProgramRunner.runProcess(job, tmpDir, executionCommands);
         }
-
     }
 
     ////////////////////
@@ -236,16 +810,15 @@ public class ProgramRunner {
     ////////////////////
 
     /**
-     * Creates a tmp directory that contains all of the files open in the
-     * editor and table store (all files needed to run a program).
+     * Gathers all of the files open in the editor and table store (all files 
+     * needed to run a program).
+     * 
+     * Must be called on the JavaFX thread, as it reads the state of the Editor
+     * and TableStore.
      * 
-     * The method places all files in the editor and table store into the
-     * returned destination (technically only the program being run is needed
-     * but copying all is more general).
+     * @return The list of files needed to run a program.
      */
-    private static File createTmpDir() throws Exception{
-        // MAKING LIST OF NEEDED FILES //
-
+    private static ArrayList<File> getNeededFiles(){
         // list to store needed files
         ArrayList<File> neededFiles = new ArrayList<File>();
 
@@ -264,79 +837,158 @@ public class ProgramRunner {
             }
         }
 
-        // WRITING NEEDED FILES INTO TEMP DIRECTORY //
+        // returning the needed files
+        return neededFiles;
+    }
 
-        // making tmp directory
-        File tmpDir = new File(TMP_DIR);
-        try{
-            if(!tmpDir.exists()){
-                tmpDir.mkdir();
+    /**
+     * Gathers the files needed to run the provided ProgramTab.
+     * 
+     * For CSVQL programs, only the tables referenced by the program are needed, 
+     * and the user is warned if the program references tables that are not 
+     * loaded into the system.
+     * 
+     * Must be called on the JavaFX thread, as it reads the state of the Editor
+     * and TableStore (and may display a confirmation window).
+     * 
+     * @param programTab The ProgramTab being run.
+     * @return The files needed to run the program, or null if the user chose not
+     * to run the program.
+     * @throws Exception Thrown if the program could not be read.
+     */
+    private static ArrayList<File> getProgramTabNeededFiles(ProgramTab programTab) throws Exception{
+        FileType programType = FileType.getFileType(programTab.getFile());
+        ArrayList<File> neededFiles = ProgramRunner.getNeededFiles();
+
+        // CSVQL PROGRAM - only staging referenced tables //
+        if(programType == FileType.PROGRAM_CSVQL){
+            // gathering the program source
+            String program = FileManager.getContentFromFile(programTab.getFile());
+
+            // warning about tables that are not loaded
+            ArrayList<String> missingTables = CsvqlReferenceScanner.getMissingTableNames(program, neededFiles);
+            if(!missingTables.isEmpty()){
+                boolean runConfirmed = PopUpWindow.showConfirmationWindow(SystemController.getInstance().getDashboard().getScene().getWindow(), 
+                                                                          "Missing Tables", 
+                                                                          "'" + programTab.getName() + "' uses tables that are not loaded into the system:\n\t" + 
+                                                                          String.join("\n\t", missingTables) + "\n" + 
+                                                                          "Are you sure you want to run it?");
+
+                // not running the program if the user did not confirm
+                if(!runConfirmed){
+                    return null;
+                }
             }
-        }
-        catch(Exception e){
-            // throwing exception if the temp directory could not be made
-            throw new Exception("Unable to create temp directory for program execution!\n" + 
-                                "Cause : \n\t" + e.toString());
-        }
 
-        // copying each needed file into the tmp directory
-        try{
-            for(File file : neededFiles) {
-                Files.copy(file.toPath(),                                                  // SOURCE FILE
-                           (new File(TMP_DIR + File.separator + file.getName())).toPath(), // TARGET DESTINATION FILE
-                           StandardCopyOption.REPLACE_EXISTING);                           // REPLACE PROTOCOL
-            }
+            // narrowing down the needed files
+            neededFiles = ProgramRunner.getCsvqlNeededFiles(programTab.getFile(), program, neededFiles);
         }
-        catch(Exception e){
 
-            /**
-             * Unable to copy files into tmp dir, need to delete 
-             * temp dir and throw exception.
-             */
+        return neededFiles;
+    }
 
-            try{
-                // deleting tmp directory
-                FileUtils.deleteDirectory(tmpDir);
-            }
-            catch(Exception ex){
-                // temp dir could not be deleted - need to throw additional exception
-                throw new Exception("Unable to cache needed files in temp directory.\n" +
-                                    "Cause : \n\t" + e.toString() + "\n" + 
-                                    "Unable to delete temp directory after failure.\n" + 
-                                    "Cause : \n\t" + ex.toString());
+    /**
+     * Narrows down the provided list of files to only those needed to run the 
+     * provided CSVQL program - the program itself and the tables it references.
+     * 
+     * If the program does not name any tables at all (e.g., it uses a construct
+     * the CsvqlReferenceScanner does not recognise), all tables are kept.
+     * 
+     * @param programFile The file of the CSVQL program being run.
+     * @param program The source code of the CSVQL program being run.
+     * @param allFiles All files available to the program.
+     * @return The files needed to run the CSVQL program.
+     */
+    public static ArrayList<File> getCsvqlNeededFiles(File programFile, String program, ArrayList<File> allFiles){
+        // gathering all tables
+        ArrayList<File> tables = new ArrayList<File>();
+        for(File file : allFiles){
+            if(FileType.TABLE.fileHasSameFileType(file)){
+                tables.add(file);
             }
+        }
 
-            // throwing exception for files not being copied
-            throw new Exception("Unable to cache needed files in temp directory.\n" + 
-                                "Cause : \n\t" + e.toString());
+        // gathering referenced tables
+        ArrayList<File> referencedTables = CsvqlReferenceScanner.getReferencedTables(program, tables);
+
+        // no tables referenced or named - keeping all tables to be safe
+        if(referencedTables.isEmpty() && CsvqlReferenceScanner.getReferencedTableNames(program).isEmpty()){
+            referencedTables = tables;
         }
 
-        // returning directory
-        return tmpDir;
+        // program + referenced tables
+        ArrayList<File> neededFiles = new ArrayList<File>();
+        neededFiles.add(programFile);
+        neededFiles.addAll(referencedTables);
+
+        return neededFiles;
+    }
+
+    /**
+     * Records the metrics of the job's output (the number of lines and bytes
+     * produced, and the time spent handling them) once the output is complete.
+     * 
+     * @param job The ProgramJob whose output is complete.
+     */
+    private static void recordOutputMetrics(ProgramJob job){
+        job.getMetrics().addTime(RunMetrics.OUTPUT_HANDLING, job.getOutput().getAppendTime());
+        job.getMetrics().addCount(RunMetrics.OUTPUT_LINES, job.getOutput().getLineCount());
+        job.getMetrics().addCount(RunMetrics.OUTPUT_BYTES, job.getOutput().getCharCount());
     }
 
     /**
-     * Runs the provided commands in a process and returns the output of 
-     * this process.
+     * Returns the provided value as a CSV value (quoted if it contains a comma,
+     * quote or new line).
      * 
+     * @param value The value being converted.
+     * @return The value as a CSV value.
+     */
+    private static String toCsvValue(String value){
+        if(value.contains(",") || value.contains("\"") || value.contains("\n")){
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    /**
+     * Runs the provided commands in a process, streaming the output of the
+     * process into the job's ProgramOutput.
+     * 
+     * The process is attached to the provided job while it runs, so that it 
+     * is killed if the job is stopped.
+     * 
+     * @param job The ProgramJob the process is being run for.
+     * @param directory The working directory of the process (the job's staging directory).
      * @param commands The commands being run in the process.
-     * @return The output of the command being run in the process.
+     * @return The exit code of the process.
      */
-    private static String runProcess(String[] commands) throws Exception{
+    private static int runProcess(ProgramJob job, File directory, String[] commands) throws Exception{
 
         // process builder to run the commandS
         ProcessBuilder pb = new ProcessBuilder(commands).redirectErrorStream(true); // redirect error stream to avoid deadlock
-        pb.directory(new File(ProgramRunner.TMP_DIR + File.separator));
+        pb.directory(directory);
 
         try{
             // starting the process
+            long spawnStart = System.nanoTime();
             Process p = pb.start();
+            long processStart = System.nanoTime();
+            job.getMetrics().addTime(RunMetrics.SPAWN, processStart - spawnStart);
 
-            // gathering the process output
-            String output = ProgramRunner.readProcessOutput(p);    
-            
-            // returning output
-            return output;
+            // attaching the process to the job (so it can be stopped)
+            job.attachProcess(p);
+
+            // streaming the process output
+            try{
+                ProgramRunner.readProcessOutput(p, job.getOutput());
+
+                // returning the exit code
+                return p.waitFor();
+            }
+            finally{
+                job.detachProcess();
+                job.getMetrics().addTimeSince(RunMetrics.PROCESS, processStart);
+            }
         }
         catch(Exception e){
             throw new Exception("Unable to execute commands in process.\n" + 
@@ -346,19 +998,16 @@ public class ProgramRunner {
     }
 
     /**
-     * Reads the response from the command. Please note that this works only
-     * if the process returns immediately.
+     * Reads the output of the process line by line as it is produced, passing 
+     * each line on to the provided ProgramOutput. Returns once the process has
+     * closed it's output (i.e., it has finished).
      * 
      * @param p The process for which the output is being read.
-     * 
-     * @return The output from the process.
+     * @param output The ProgramOutput the lines are passed on to.
      * 
      * @throws Exception If the process output could not be gathered.
      */
-    private static String readProcessOutput(Process p) throws Exception{
-        // string to hold response
-        ArrayList<String> responseLines = new ArrayList<String>();
-
+    private static void readProcessOutput(Process p, ProgramOutput output) throws Exception{
         // reader for response
         BufferedReader reader = new BufferedReader(new InputStreamReader(p.getInputStream()));
 
@@ -366,15 +1015,9 @@ public class ProgramRunner {
             // iterating through response
             String line;
             while ((line = reader.readLine()) != null) {
-                responseLines.add(line);
+                output.appendLine(line);
             }
             reader.close();
-
-            // concatinating response
-            String response = String.join("\n", responseLines);
-
-            // returning the response
-            return response;
         }
         catch(Exception e){
             throw new Exception("Unable to read process output.\n" + 
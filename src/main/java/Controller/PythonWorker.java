@@ -0,0 +1,221 @@
+package Controller;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * A long-lived Python process that Python programs are run in, so that each
+ * run does not pay the cost of starting the interpreter and importing modules
+ * from scratch.
+ *
+ * A run request (the staging directory and program name) is sent to the worker
+ * over it's standard input. The worker changes into the staging directory and
+ * runs the program with fresh globals (using runpy), and then writes a sentinel
+ * line to it's standard output so that the end of the program's output can be
+ * found. After each run the worker restores the state a program may have
+ * changed (the standard streams, sys.path, os.environ and the working
+ * directory), and forgets modules imported from the staging directory - all
+ * other imported modules stay loaded (keeping later runs warm).
+ *
+ * There is a single worker, started when first needed. If it is busy with
+ * another run (or cannot be started), the program should be run in a new
+ * process instead. If the worker dies (it crashes, or a run using it is
+ * stopped) a new worker is started for the next run - a run whose worker dies
+ * before it finishes (without being stopped) fails.
+ */
+public class PythonWorker {
+
+    // constants
+    private static final String INTERPRETER = "python";
+    private static final String SENTINEL = "### CSVQL-IDE RUN COMPLETE " + UUID.randomUUID() + " ###";
+    private static final String WORKER_SCRIPT = String.join("\n",
+        "import os, sys, runpy, traceback",
+        "sentinel = sys.argv[1]",
+        "requests = sys.stdin",
+        "output = sys.stdout",
+        "home = os.getcwd()",
+        "while True:",
+        "    request = requests.readline()",
+        "    if not request:",
+        "        break",
+        "    directory, program = request.rstrip('\\n').split('\\t', 1)",
+        "    saved_path = list(sys.path)",
+        "    saved_environ = dict(os.environ)",
+        "    os.chdir(directory)",
+        "    sys.path.insert(0, directory)",
+        "    sys.argv = [program]",
+        "    sys.stdin = open(os.devnull)",
+        "    sys.stdout = output",
+        "    sys.stderr = output",
+        "    try:",
+        "        runpy.run_path(program, run_name='__main__')",
+        "    except SystemExit:",
+        "        pass",
+        "    except BaseException:",
+        "        traceback.print_exc(file=output)",
+        "    finally:",
+        "        sys.stdin.close()",
+        "        sys.stdin = requests",
+        "        sys.stdout = output",
+        "        sys.stderr = output",
+        "        sys.path[:] = saved_path",
+        "        os.environ.clear()",
+        "        os.environ.update(saved_environ)",
+        "        os.chdir(home)",
+        "        for name, module in list(sys.modules.items()):",
+        "            if (getattr(module, '__file__', None) or '').startswith(directory):",
+        "                del sys.modules[name]",
+        "    output.write(sentinel + '\\n')",
+        "    output.flush()");
+
+    // member variables
+    private static Process process = null; /** The worker process (null until first needed) */
+    private static BufferedWriter requestWriter = null;
+    private static BufferedReader outputReader = null;
+    private static boolean busy = false; /** If a run is currently using the worker */
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * Private as cannot be instantiated.
+     */
+    private PythonWorker(){}
+
+    /////////////
+    // RUNNING //
+    /////////////
+
+    /**
+     * Runs the provided Python program in the worker, streaming it's output into
+     * the job.
+     *
+     * @param job The ProgramJob the program is being executed for.
+     * @param tmpDir The staging directory containing the program.
+     * @param programName The name of the Python program to be executed.
+     * @return True if the program was run in the worker, false if the worker was
+     * busy or could not be started (and so the program must be run in a new process).
+     * @throws Exception Thrown if the program's output could not be read.
+     */
+    public static boolean runProgram(ProgramJob job, File tmpDir, String programName) throws Exception{
+        // ACQUIRING THE WORKER //
+
+        Process workerProcess;
+        BufferedWriter writer;
+        BufferedReader reader;
+
+        synchronized(PythonWorker.class){
+            // worker in use by another run
+            if(PythonWorker.busy){
+                return false;
+            }
+
+            // (re)starting the worker if it is not running
+            if(PythonWorker.process == null || !PythonWorker.process.isAlive()){
+                try{
+                    PythonWorker.start();
+                }
+                catch(Exception e){
+                    // worker cannot be started - program run in a new process instead
+                    return false;
+                }
+            }
+
+            PythonWorker.busy = true;
+            workerProcess = PythonWorker.process;
+            writer = PythonWorker.requestWriter;
+            reader = PythonWorker.outputReader;
+        }
+
+        // RUNNING THE PROGRAM //
+
+        try{
+            // attaching the worker to the job (so stopping the job kills the worker)
+            job.attachProcess(workerProcess);
+
+            // sending the run request
+            writer.write(tmpDir.getAbsolutePath() + "\t" + programName + "\n");
+            writer.flush();
+
+            // streaming output until the sentinel (or the worker dies)
+            String line;
+            boolean finished = false;
+            while(!finished && (line = reader.readLine()) != null){
+                // end of the program's output (possibly after a partial last line)
+                if(line.endsWith(SENTINEL)){
+                    line = line.substring(0, line.length() - SENTINEL.length());
+                    finished = true;
+                    if(line.isEmpty()){
+                        break;
+                    }
+                }
+
+                job.getOutput().appendLine(line);
+            }
+
+            // worker died before the program finished (the next run starts a new one)
+            if(!finished && !job.isCancelled()){
+                workerProcess.destroyForcibly();
+                throw new Exception("Unable to run Python program '" + programName + "'.\n" + 
+                                    "Cause : \n\tThe Python worker exited before the program finished (the output may be incomplete).");
+            }
+
+            return true;
+        }
+        catch(Exception e){
+            // worker died mid-run (e.g., it was killed) - the next run starts a new one
+            if(job.isCancelled()){
+                return true;
+            }
+            throw e;
+        }
+        finally{
+            job.detachProcess();
+
+            synchronized(PythonWorker.class){
+                PythonWorker.busy = false;
+            }
+        }
+    }
+
+    ////////////////////
+    // HELPER METHODS //
+    ////////////////////
+
+    /**
+     * Starts a new worker process (replacing any previous worker).
+     *
+     * @throws Exception Thrown if the worker process could not be started.
+     */
+    private static void start() throws Exception{
+        // process running the worker script (unbuffered, so output is streamed)
+        ProcessBuilder pb = new ProcessBuilder(INTERPRETER, "-u", "-c", WORKER_SCRIPT, SENTINEL).redirectErrorStream(true);
+        pb.directory(new File(System.getProperty("java.io.tmpdir")));
+        pb.environment().put("PYTHONIOENCODING", "utf-8");
+
+        Process workerProcess = pb.start();
+
+        // killing the worker when the IDE exits (only registered for the first worker)
+        if(PythonWorker.process == null){
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                synchronized(PythonWorker.class){
+                    if(PythonWorker.process != null){
+                        PythonWorker.process.destroyForcibly();
+                    }
+                }
+            }));
+        }
+
+        PythonWorker.process = workerProcess;
+        PythonWorker.requestWriter = new BufferedWriter(new OutputStreamWriter(workerProcess.getOutputStream(), StandardCharsets.UTF_8));
+        PythonWorker.outputReader = new BufferedReader(new InputStreamReader(workerProcess.getInputStream(), StandardCharsets.UTF_8));
+    }
+}
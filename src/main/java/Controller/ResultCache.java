@@ -0,0 +1,216 @@
+package Controller;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+
+/**
+ * Cache of the output of CSVQL program runs, so that re-running an unchanged
+ * program against unchanged tables returns the previous output straight away
+ * (without staging files or running the interpreter).
+ *
+ * Outputs are stored as files in a per-user cache directory, named after a key
+ * made from the fingerprint (name, size, modification time and content hash)
+ * of every file staged for the run, along with the version of the interpreter.
+ * Content hashes are remembered for the rest of the session (for as long as a
+ * file's size and modification time do not change), so a large table is only
+ * hashed once.
+ *
+ * The cache is kept within a size budget by evicting the least recently used
+ * outputs.
+ */
+public class ResultCache {
+
+    // constants
+    private static final String CACHE_NAME = "results";
+    private static final String RESULT_EXTENSION = ".txt";
+    private static final long SIZE_BUDGET = 512L * 1024 * 1024; /** Maximum total size of cached outputs */
+
+    // member variables
+    private static final HashMap<String, String> contentHashes = new HashMap<String, String>(); /** "path:size:mtime" to content hash */
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * Private as cannot be instantiated.
+     */
+    private ResultCache(){}
+
+    //////////////////////
+    // CREATING THE KEY //
+    //////////////////////
+
+    /**
+     * Creates the cache key for a run of a CSVQL program that uses the provided
+     * files.
+     *
+     * @param neededFiles The files staged for the run (the program and it's tables).
+     * @return The cache key for the run.
+     * @throws Exception Thrown if the files could not be fingerprinted.
+     */
+    public static String getKey(ArrayList<File> neededFiles) throws Exception{
+        // files in a fixed order (so the key does not depend on the order they were gathered in)
+        ArrayList<File> files = new ArrayList<File>(neededFiles);
+        files.sort(Comparator.comparing(File::getName));
+
+        // fingerprint of the run
+        StringBuilder fingerprint = new StringBuilder();
+        fingerprint.append("interpreter:").append(InterpreterCache.getCsvqlInterpreter().getParentFile().getName()).append("\n");
+        for(File file : files){
+            fingerprint.append(file.getName()).append(":")
+                       .append(file.length()).append(":")
+                       .append(file.lastModified()).append(":")
+                       .append(ResultCache.getContentHash(file)).append("\n");
+        }
+
+        return FileManager.getChecksum(fingerprint.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /////////////
+    // LOADING //
+    /////////////
+
+    /**
+     * Loads the cached output for the provided key into the provided ProgramOutput
+     * (if there is one).
+     *
+     * @param key The cache key of the run.
+     * @param output The ProgramOutput the cached output is loaded into.
+     * @return True if a cached output was loaded, false otherwise.
+     * @throws Exception Thrown if the cached output could not be read.
+     */
+    public static boolean load(String key, ProgramOutput output) throws Exception{
+        File result;
+        synchronized(ResultCache.class){
+            result = new File(FileManager.getCacheDirectory(CACHE_NAME), key + RESULT_EXTENSION);
+
+            // no cached output
+            if(!result.exists()){
+                return false;
+            }
+
+            // marking the output as recently used
+            result.setLastModified(System.currentTimeMillis());
+        }
+
+        // streaming the cached output (outside the lock - an evicted file can still be read once open)
+        try(BufferedReader reader = Files.newBufferedReader(result.toPath(), StandardCharsets.UTF_8)){
+            String line;
+            while((line = reader.readLine()) != null){
+                output.appendLine(line);
+            }
+        }
+
+        return true;
+    }
+
+    /////////////
+    // STORING //
+    /////////////
+
+    /**
+     * Stores the provided ProgramOutput in the cache under the provided key, and
+     * evicts the least recently used outputs if the cache is over budget.
+     *
+     * @param key The cache key of the run.
+     * @param output The complete output of the run.
+     * @throws Exception Thrown if the output could not be stored.
+     */
+    public static synchronized void store(String key, ProgramOutput output) throws Exception{
+        File cacheDirectory = FileManager.getCacheDirectory(CACHE_NAME);
+
+        // saving to a temp file and moving it into place (so a partially written output is never loaded)
+        Path tmpFile = Files.createTempFile(cacheDirectory.toPath(), key, ".tmp");
+        try{
+            output.saveTo(tmpFile.toFile());
+
+            // outputs larger than the budget are never cached
+            if(Files.size(tmpFile) > SIZE_BUDGET){
+                return;
+            }
+
+            Files.move(tmpFile, new File(cacheDirectory, key + RESULT_EXTENSION).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally{
+            Files.deleteIfExists(tmpFile);
+        }
+
+        // keeping within budget
+        ResultCache.evict(cacheDirectory);
+    }
+
+    ////////////////////
+    // HELPER METHODS //
+    ////////////////////
+
+    /**
+     * Deletes the least recently used outputs in the cache until it is within
+     * the size budget.
+     *
+     * @param cacheDirectory The directory holding the cached outputs.
+     */
+    private static void evict(File cacheDirectory){
+        File[] results = cacheDirectory.listFiles((dir, name) -> name.endsWith(RESULT_EXTENSION));
+        if(results == null){
+            return;
+        }
+
+        // total size of the cache
+        long totalSize = 0;
+        for(File result : results){
+            totalSize += result.length();
+        }
+
+        // deleting least recently used first
+        Arrays.sort(results, Comparator.comparingLong(File::lastModified));
+        for(File result : results){
+            if(totalSize <= SIZE_BUDGET){
+                break;
+            }
+
+            long size = result.length();
+            if(result.delete()){
+                totalSize -= size;
+            }
+        }
+    }
+
+    /**
+     * Returns the hash of the content of the provided file, only hashing the
+     * file if it has changed since it was last hashed this session.
+     *
+     * @param file The file being hashed.
+     * @return The hash of the file's content.
+     * @throws Exception Thrown if the file could not be read.
+     */
+    private static String getContentHash(File file) throws Exception{
+        String fileVersion = file.getAbsolutePath() + ":" + file.length() + ":" + file.lastModified();
+
+        // already hashed this version of the file
+        synchronized(ResultCache.contentHashes){
+            if(ResultCache.contentHashes.containsKey(fileVersion)){
+                return ResultCache.contentHashes.get(fileVersion);
+            }
+        }
+
+        // hashing (outside the lock, as large files take a while)
+        String contentHash = FileManager.getChecksum(file);
+
+        synchronized(ResultCache.contentHashes){
+            ResultCache.contentHashes.put(fileVersion, contentHash);
+        }
+
+        return contentHash;
+    }
+}
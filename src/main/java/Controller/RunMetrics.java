@@ -0,0 +1,193 @@
+package Controller;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The timings and byte counts of a single program run, broken down by the phase
+ * of the run they were measured in (e.g., staging files, spawning the process,
+ * handling the output, rendering it in the Terminal).
+ *
+ * Metrics are recorded by the ProgramRunner (on the worker thread) and by the
+ * Terminal (on the JavaFX thread), displayed in the Terminal's metrics panel,
+ * and written as a JSON line to a log file in the per-user cache directory when
+ * the run finishes, so that runs can be compared outside the IDE.
+ */
+public class RunMetrics {
+
+    // constants - phases
+    public static final String CACHE_CHECK = "cache_check";
+    public static final String STAGING = "staging";
+    public static final String INTERPRETER = "interpreter";
+    public static final String ENGINE = "engine";
+    public static final String COMPILE = "compile";
+    public static final String SPAWN = "spawn";
+    public static final String PROCESS = "process";
+    public static final String OUTPUT_HANDLING = "output_handling";
+    public static final String CLEANUP = "cleanup";
+    public static final String CACHE_STORE = "cache_store";
+    public static final String RENDER = "render";
+
+    // constants - counters
+    public static final String BYTES_LINKED = "bytes_linked";
+    public static final String BYTES_COPIED = "bytes_copied";
+    public static final String OUTPUT_LINES = "output_lines";
+    public static final String OUTPUT_BYTES = "output_bytes";
+    public static final String BYTES_RENDERED = "bytes_rendered";
+
+    // constants - logging
+    private static final String LOG_NAME = "logs";
+    private static final String LOG_FILE = "runs.jsonl";
+
+    // member variables
+    private LinkedHashMap<String, Long> phaseTimes; /** Phase to time spent in it (in nanoseconds) */
+    private LinkedHashMap<String, Long> counters;
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     */
+    public RunMetrics(){
+        // initializing
+        this.phaseTimes = new LinkedHashMap<String, Long>();
+        this.counters = new LinkedHashMap<String, Long>();
+    }
+
+    ///////////////
+    // RECORDING //
+    ///////////////
+
+    /**
+     * Records time spent in the provided phase (added to any time already
+     * recorded for it).
+     *
+     * @param phase The phase the time was spent in.
+     * @param nanos The time spent in nanoseconds.
+     */
+    public synchronized void addTime(String phase, long nanos){
+        this.phaseTimes.merge(phase, nanos, Long::sum);
+    }
+
+    /**
+     * Records the time spent in the provided phase since the provided start time.
+     *
+     * @param phase The phase the time was spent in.
+     * @param startTime When the phase started (from System.nanoTime()).
+     */
+    public void addTimeSince(String phase, long startTime){
+        this.addTime(phase, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Adds the provided amount to the provided counter.
+     *
+     * @param counter The counter being added to.
+     * @param amount The amount being added.
+     */
+    public synchronized void addCount(String counter, long amount){
+        this.counters.merge(counter, amount, Long::sum);
+    }
+
+    ///////////////
+    // REPORTING //
+    ///////////////
+
+    /**
+     * Returns the phases of the run and the time spent in each (in nanoseconds).
+     *
+     * @return The phases of the run (in the order they were first recorded).
+     */
+    public synchronized LinkedHashMap<String, Long> getPhaseTimes(){
+        return new LinkedHashMap<String, Long>(this.phaseTimes);
+    }
+
+    /**
+     * Returns the counters of the run.
+     *
+     * @return The counters of the run (in the order they were first recorded).
+     */
+    public synchronized LinkedHashMap<String, Long> getCounters(){
+        return new LinkedHashMap<String, Long>(this.counters);
+    }
+
+    /**
+     * Returns the metrics as a single line of JSON.
+     *
+     * @param programName The name of the program that was run.
+     * @param outcome How the run ended (e.g., "succeeded").
+     * @param totalMillis The total duration of the run in milliseconds.
+     * @return The metrics as a line of JSON.
+     */
+    public synchronized String toJson(String programName, String outcome, double totalMillis){
+        StringBuilder json = new StringBuilder("{");
+        json.append("\"time\":\"").append(Instant.now()).append("\",");
+        json.append("\"program\":\"").append(programName.replace("\\", "\\\\").replace("\"", "\\\"")).append("\",");
+        json.append("\"outcome\":\"").append(outcome).append("\",");
+        json.append("\"total_ms\":").append(String.format(Locale.ROOT, "%.3f", totalMillis)).append(",");
+
+        // phases (in milliseconds)
+        json.append("\"phases_ms\":{");
+        String seperator = "";
+        for(Map.Entry<String, Long> phase : this.phaseTimes.entrySet()){
+            json.append(seperator).append("\"").append(phase.getKey()).append("\":").append(String.format(Locale.ROOT, "%.3f", phase.getValue() / 1e6));
+            seperator = ",";
+        }
+        json.append("},");
+
+        // counters
+        json.append("\"counters\":{");
+        seperator = "";
+        for(Map.Entry<String, Long> counter : this.counters.entrySet()){
+            json.append(seperator).append("\"").append(counter.getKey()).append("\":").append(counter.getValue());
+            seperator = ",";
+        }
+        json.append("}");
+
+        return json.append("}").toString();
+    }
+
+    /**
+     * Appends the metrics to the run log (~/.csvql-ide/logs/runs.jsonl) as a
+     * single line of JSON.
+     *
+     * Logging never causes a run to fail - if the log cannot be written the
+     * metrics are not logged.
+     *
+     * @param programName The name of the program that was run.
+     * @param outcome How the run ended (e.g., "succeeded").
+     * @param totalMillis The total duration of the run in milliseconds.
+     */
+    public void log(String programName, String outcome, double totalMillis){
+        String line = this.toJson(programName, outcome, totalMillis) + System.lineSeparator();
+
+        synchronized(RunMetrics.class){
+            try{
+                File logFile = new File(FileManager.getCacheDirectory(LOG_NAME), LOG_FILE);
+                Files.write(logFile.toPath(), line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            catch(Exception e){
+                // log could not be written - metrics not logged
+            }
+        }
+    }
+
+    /**
+     * Returns the display name of the provided phase or counter (e.g., "output
+     * handling" for "output_handling").
+     *
+     * @param name The name of the phase or counter.
+     * @return The display name of the phase or counter.
+     */
+    public static String getDisplayName(String name){
+        return name.replace("_", " ");
+    }
+}
@@ -0,0 +1,234 @@
+package Controller;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * A uniquely named temporary directory that holds the files needed for a
+ * single program run.
+ *
+ * Each ProgramJob owns it's own StagingDirectory (created when the job starts
+ * and deleted when it finishes), so that any number of programs can be run at
+ * the same time without one run's files interfering with another's.
+ * 
+ * Files that are allowed to be linked are staged as hard links (or symbolic 
+ * links if hard links are not supported, e.g., the staging directory is on a
+ * different filesystem) so that no file content needs to be copied. Other files
+ * are copied, as are linkable files if neither kind of link can be created.
+ */
+public class StagingDirectory {
+
+    // constants
+    private static final String DIRECTORY_PREFIX = "csvql-ide-run-";
+
+    // member variables
+    private File directory;
+    private int filesLinked;
+    private int filesCopied;
+    private long bytesLinked;
+    private long bytesCopied;
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * Private - use StagingDirectory.create().
+     *
+     * @param directory The directory being used for staging.
+     */
+    private StagingDirectory(File directory){
+        // initializing
+        this.directory = directory;
+        this.filesLinked = 0;
+        this.filesCopied = 0;
+        this.bytesLinked = 0;
+        this.bytesCopied = 0;
+    }
+
+    /**
+     * Creates a new StagingDirectory that contains all of the provided files.
+     *
+     * A file should only be linked if the program being run will not write to
+     * it, as any changes made through a link are made to the original file.
+     *
+     * @param neededFiles The files needed to run the program.
+     * @param linkableFiles The needed files that can be staged as links rather
+     * than copies.
+     * @return The new StagingDirectory.
+     * @throws Exception Thrown if the directory could not be created, or the files
+     * could not be placed into it.
+     */
+    public static StagingDirectory create(ArrayList<File> neededFiles, ArrayList<File> linkableFiles) throws Exception{
+        // CREATING DIRECTORY //
+
+        StagingDirectory stagingDirectory;
+        try{
+            stagingDirectory = new StagingDirectory(Files.createTempDirectory(DIRECTORY_PREFIX).toFile());
+        }
+        catch(Exception e){
+            // throwing exception if the directory could not be made
+            throw new Exception("Unable to create temp directory for program execution!\n" +
+                                "Cause : \n\t" + e.toString());
+        }
+
+        // STAGING FILES //
+
+        try{
+            for(File file : neededFiles){
+                stagingDirectory.stage(file, linkableFiles.contains(file));
+            }
+        }
+        catch(Exception e){
+
+            /**
+             * Unable to stage files, need to delete the directory
+             * and throw exception.
+             */
+
+            try{
+                // deleting directory
+                stagingDirectory.delete();
+            }
+            catch(Exception ex){
+                // directory could not be deleted - need to throw additional exception
+                throw new Exception("Unable to cache needed files in temp directory.\n" +
+                                    "Cause : \n\t" + e.toString() + "\n" +
+                                    "Unable to delete temp directory after failure.\n" +
+                                    "Cause : \n\t" + ex.toString());
+            }
+
+            // throwing exception for files not being staged
+            throw new Exception("Unable to cache needed files in temp directory.\n" +
+                                "Cause : \n\t" + e.toString());
+        }
+
+        // returning directory
+        return stagingDirectory;
+    }
+
+    /////////////
+    // STAGING //
+    /////////////
+
+    /**
+     * Places the provided file into the staging directory - as a link if linking
+     * is allowed and supported, and as a copy otherwise.
+     *
+     * @param file The file being staged.
+     * @param linkingAllowed If the file can be staged as a link rather than a copy.
+     * @throws Exception Thrown if the file could not be staged.
+     */
+    public void stage(File file, boolean linkingAllowed) throws Exception{
+        Path source = file.toPath().toAbsolutePath();
+        Path target = this.resolve(file.getName()).toPath();
+        long size = Files.size(source);
+
+        // LINKING //
+
+        if(linkingAllowed){
+            // links cannot replace an existing file
+            Files.deleteIfExists(target);
+
+            // hard link
+            try{
+                Files.createLink(target, source);
+                this.recordLinked(size);
+                return;
+            }
+            catch(Exception e){
+                // hard links not supported here (e.g., different filesystem) - trying symbolic link
+            }
+
+            // symbolic link
+            try{
+                Files.createSymbolicLink(target, source);
+                this.recordLinked(size);
+                return;
+            }
+            catch(Exception e){
+                // symbolic links not supported here (e.g., no permission) - falling back to copy
+            }
+        }
+
+        // COPYING //
+
+        Files.copy(source,                                // SOURCE FILE
+                   target,                                // TARGET DESTINATION FILE
+                   StandardCopyOption.REPLACE_EXISTING);  // REPLACE PROTOCOL
+        this.filesCopied++;
+        this.bytesCopied += size;
+    }
+
+    /**
+     * Records that a file of the provided size was staged as a link.
+     *
+     * @param size The size of the linked file in bytes.
+     */
+    private void recordLinked(long size){
+        this.filesLinked++;
+        this.bytesLinked += size;
+    }
+
+    /**
+     * Returns the File with the provided name inside the staging directory.
+     *
+     * @param filename The name of the file.
+     * @return The File with the provided name inside the staging directory.
+     */
+    public File resolve(String filename){
+        return new File(this.directory, filename);
+    }
+
+    //////////////
+    // DELETING //
+    //////////////
+
+    /**
+     * Deletes the staging directory along with all of it's content.
+     *
+     * @throws Exception Thrown if the directory could not be deleted.
+     */
+    public void delete() throws Exception{
+        FileUtils.deleteDirectory(this.directory);
+    }
+
+    ///////////////
+    // REPORTING //
+    ///////////////
+
+    /**
+     * Returns a summary of how the files in the directory were staged (e.g.,
+     * "3 files staged (1.2 GB linked, 4.0 KB copied)").
+     *
+     * @return A summary of how the files in the directory were staged.
+     */
+    public String getSummary(){
+        return (this.filesLinked + this.filesCopied) + " files staged (" + 
+               FileManager.getReadableSize(this.bytesLinked) + " linked, " + 
+               FileManager.getReadableSize(this.bytesCopied) + " copied)";
+    }
+
+    /////////////////////////
+    // GETTERS AND SETTERS //
+    /////////////////////////
+
+    public File getDirectory(){
+        return this.directory;
+    }
+
+    public long getBytesLinked(){
+        return this.bytesLinked;
+    }
+
+    public long getBytesCopied(){
+        return this.bytesCopied;
+    }
+}
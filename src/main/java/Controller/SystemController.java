@@ -261,17 +261,30 @@ public class SystemController {
 
         // VALIDATED //
 
-        // gathering content to be saved
-        String content = editorTab.getCodeArea().getCode();
+        String content;
 
-        // saving content to file
-        FileManager.writeContentToFile(file, content);
+        // content not loaded - the file has not been edited, so it is copied as it is
+        if(!editorTab.isContentLoaded()){
+            content = editorTab.getTextAtLastSave();
+
+            // copying the file (releasing the tab's hold on it first)
+            editorTab.releaseFile();
+            FileManager.copyFile(editorTab.getFile(), file);
+        }
+        // content loaded - saving it into the new file
+        else{
+            content = editorTab.getCodeArea().getCode();
+
+            // saving content to file (releasing the tab's hold on it's file first)
+            editorTab.releaseFile();
+            FileManager.writeContentToFile(file, content);
+        }
 
         // attaching the chosen file
         editorTab.setFile(file);
 
         // updating tab information
-        editorTab.updateAfterSave();
+        editorTab.updateAfterSave(content);
 
         // HANDLING TABLE TAB CASE //
         if(editorTab.getFileType() == FileType.TABLE){
@@ -297,14 +310,20 @@ public class SystemController {
     public void saveEditorTab(EditorTab editorTab) throws Exception{
         // Program Has File //
         if(editorTab.getFile() != null){
+            // content not loaded - the file has not been edited, so there is nothing to save
+            if(!editorTab.isContentLoaded()){
+                return;
+            }
+
             // getting content to save
             String content = editorTab.getCodeArea().getCode();
 
-            // saving content to file
+            // saving content to file (releasing the tab's hold on it first)
+            editorTab.releaseFile();
             FileManager.writeContentToFile(editorTab.getFile(), content);
 
             // updating tab information
-            editorTab.updateAfterSave();
+            editorTab.updateAfterSave(content);
         }
 
         // EditorFile Has No File (open dialog and let the user select one) //
@@ -368,7 +387,8 @@ public class SystemController {
         String newName = newFilename;
         File newFile = null;
         if(editorTab.getFile() != null){
-            // gathering new file object
+            // gathering new file object (releasing the tab's hold on the file first)
+            editorTab.releaseFile();
             newFile = FileManager.renameFile(editorTab.getFile(), newName);
         }
         FileType newFileType = FileType.getFileType(newFilename);
@@ -425,10 +445,13 @@ public class SystemController {
         // CONFIGURING NEW EDITOR TAB WITH OLD CONTENT //
         /////////////////////////////////////////////////
 
-        // confuguring new editor tab
-        newEditorTab.getCodeArea().setCode(code);
-        newEditorTab.setTextAtLastSave(textAtLastSave);
-        newEditorTab.setUnsavedChanges(unsavedChanges);
+        // confuguring new editor tab (if the old content was loaded - otherwise the new tab reads it from the renamed file)
+        if(editorTab.isContentLoaded()){
+            newEditorTab.getCodeArea().setCode(code);
+            newEditorTab.setTextAtLastSave(textAtLastSave);
+            newEditorTab.setUnsavedChanges(unsavedChanges);
+            newEditorTab.setContentLoaded(true);
+        }
 
         ///////////////////////////////////////
         // PLACING NEW EDITORTAB INTO EDITOR // 
@@ -0,0 +1,33 @@
+package Model;
+
+/**
+ * Defines the settings that control how files are edited within the system.
+ *
+ * Settings are changed through the 'File' menu of the DashboardToolbar, and are
+ * read when an EditorTab is created (so they apply to files opened after they
+ * are changed).
+ */
+public class EditorSettings {
+
+    // member variables
+    private static boolean sharedEditor = false; /** If EditorTabs share a single CodeMirror editor (each holding only a document) */
+
+    /**
+     * Class constructor.
+     *
+     * Private - cannot be constructed.
+     */
+    private EditorSettings(){}
+
+    /////////////////////////
+    // GETTERS AND SETTERS //
+    /////////////////////////
+
+    public static boolean isSharedEditor(){
+        return EditorSettings.sharedEditor;
+    }
+
+    public static void setSharedEditor(boolean sharedEditor){
+        EditorSettings.sharedEditor = sharedEditor;
+    }
+}
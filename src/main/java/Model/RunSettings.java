@@ -0,0 +1,60 @@
+package Model;
+
+/**
+ * Defines the settings that control how programs are run within the system.
+ *
+ * Settings are changed through the 'Run' menu of the DashboardToolbar, and are
+ * read by the ProgramRunner when a program is run (on a worker thread, so they
+ * are volatile).
+ */
+public class RunSettings {
+
+    // member variables
+    private static volatile boolean javaInProcess = false; /** If Java programs are compiled inside the IDE's JVM (rather than by 'javac') */
+    private static volatile boolean pythonWorker = true; /** If Python programs are run in the warm PythonWorker */
+    private static volatile boolean resultCache = true; /** If CSVQL outputs are served from the ResultCache */
+    private static volatile boolean csvqlEngine = false; /** If CSVQL programs are run by the in-process CsvqlEngine (falling back to the interpreter) */
+
+    /**
+     * Class constructor.
+     *
+     * Private - cannot be constructed.
+     */
+    private RunSettings(){}
+
+    /////////////////////////
+    // GETTERS AND SETTERS //
+    /////////////////////////
+
+    public static boolean isJavaInProcess(){
+        return RunSettings.javaInProcess;
+    }
+
+    public static void setJavaInProcess(boolean javaInProcess){
+        RunSettings.javaInProcess = javaInProcess;
+    }
+
+    public static boolean isPythonWorker(){
+        return RunSettings.pythonWorker;
+    }
+
+    public static void setPythonWorker(boolean pythonWorker){
+        RunSettings.pythonWorker = pythonWorker;
+    }
+
+    public static boolean isResultCache(){
+        return RunSettings.resultCache;
+    }
+
+    public static void setResultCache(boolean resultCache){
+        RunSettings.resultCache = resultCache;
+    }
+
+    public static boolean isCsvqlEngine(){
+        return RunSettings.csvqlEngine;
+    }
+
+    public static void setCsvqlEngine(boolean csvqlEngine){
+        RunSettings.csvqlEngine = csvqlEngine;
+    }
+}
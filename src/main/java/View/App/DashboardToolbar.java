@@ -1,17 +1,24 @@
 package View.App;
 
+import javafx.scene.control.CheckMenuItem;
 import javafx.scene.control.Menu;
 import javafx.scene.control.MenuBar;
 import javafx.scene.control.MenuItem;
 import javafx.scene.image.ImageView;
+import javafx.scene.control.SeparatorMenuItem;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 
 import java.io.File;
 import java.util.List;
 
+import Controller.InProcessJavaCompiler;
+import Controller.ProgramRunner;
 import Controller.SystemController;
+import Model.EditorSettings;
 import Model.FileType;
 import Model.Images;
+import Model.RunSettings;
 import View.Tools.PopUpWindow;
 import View.Forms.*;
 
@@ -25,6 +32,14 @@ public class DashboardToolbar extends MenuBar {
     private Menu file;
     private MenuItem newFile;
     private MenuItem openFile;
+    private CheckMenuItem sharedEditor;
+    private Menu run;
+    private MenuItem runOpenPrograms;
+    private MenuItem runDirectory;
+    private CheckMenuItem javaInProcess;
+    private CheckMenuItem pythonWorker;
+    private CheckMenuItem resultCache;
+    private CheckMenuItem csvqlEngine;
 
     //////////////////
     // INITIALIZING //
@@ -41,11 +56,38 @@ public class DashboardToolbar extends MenuBar {
         this.file = new Menu("File", new ImageView(Images.FILE));
         this.newFile = new MenuItem("New", new ImageView(Images.NEW_FILE));
         this.openFile = new MenuItem("Open", new ImageView(Images.OPEN));
+        this.sharedEditor = new CheckMenuItem("Share One Editor Between Tabs (Experimental)");
+        this.run = new Menu("Run", new ImageView(Images.RUN));
+        this.runOpenPrograms = new MenuItem("Run All Open Programs", new ImageView(Images.RUN));
+        this.runDirectory = new MenuItem("Run Programs In Directory", new ImageView(Images.OPEN));
+        this.javaInProcess = new CheckMenuItem("Compile Java Programs In-Process");
+        this.pythonWorker = new CheckMenuItem("Keep Python Worker Warm");
+        this.resultCache = new CheckMenuItem("Cache CSVQL Results");
+        this.csvqlEngine = new CheckMenuItem("Run CSVQL Programs In-Process (Experimental)");
 
         // Configuring Member Variables //
 
         // File Menu Item
-        this.file.getItems().addAll(this.newFile, this.openFile);
+        this.file.getItems().addAll(this.newFile, this.openFile, new SeparatorMenuItem(), this.sharedEditor);
+
+        // Shared Editor Item
+        this.sharedEditor.setSelected(EditorSettings.isSharedEditor());
+
+        // Run Menu Item
+        this.run.getItems().addAll(this.runOpenPrograms, this.runDirectory, new SeparatorMenuItem(), this.javaInProcess, this.pythonWorker, this.resultCache, this.csvqlEngine);
+
+        // Java In-Process Item (only available when running on a JDK)
+        this.javaInProcess.setSelected(RunSettings.isJavaInProcess());
+        this.javaInProcess.setDisable(!InProcessJavaCompiler.isAvailable());
+
+        // Python Worker Item
+        this.pythonWorker.setSelected(RunSettings.isPythonWorker());
+
+        // Result Cache Item
+        this.resultCache.setSelected(RunSettings.isResultCache());
+
+        // CSVQL Engine Item
+        this.csvqlEngine.setSelected(RunSettings.isCsvqlEngine());
 
         /////////////////
         // CONFIGURING //
@@ -55,7 +97,7 @@ public class DashboardToolbar extends MenuBar {
         this.configureEvents();
 
         // content
-        this.getMenus().addAll(this.file);
+        this.getMenus().addAll(this.file, this.run);
     }
 
     /**
@@ -63,6 +105,70 @@ public class DashboardToolbar extends MenuBar {
      * within the control.
      */
     private void configureEvents(){
+        // Run All Open Programs
+        this.runOpenPrograms.setOnAction((e) -> {
+            try{
+                // running the open programs as a batch
+                ProgramRunner.runOpenPrograms();
+            }
+            catch(Exception ex){
+                // handling errors
+                PopUpWindow.showErrorWindow(this.getScene().getWindow(), ex);
+            }
+        });
+
+        // Run Programs In Directory
+        this.runDirectory.setOnAction((e) -> {
+            // configuring the directory chooser to select the programs' directory
+            DirectoryChooser directoryChooser = new DirectoryChooser();
+            directoryChooser.setTitle("Run Programs In Directory");
+
+            // showing the open dialog
+            File selectedDirectory = directoryChooser.showDialog(this.getScene().getWindow());
+
+            // checking if a directory was selected
+            if(selectedDirectory != null){
+                try{
+                    // running the programs in the directory as a batch
+                    ProgramRunner.runProgramsInDirectory(selectedDirectory);
+                }
+                catch(Exception ex){
+                    // handling errors
+                    PopUpWindow.showErrorWindow(this.getScene().getWindow(), ex);
+                }
+            }
+        });
+
+        // Java In-Process
+        this.javaInProcess.setOnAction((e) -> {
+            // updating the run settings
+            RunSettings.setJavaInProcess(this.javaInProcess.isSelected());
+        });
+
+        // Python Worker
+        this.pythonWorker.setOnAction((e) -> {
+            // updating the run settings
+            RunSettings.setPythonWorker(this.pythonWorker.isSelected());
+        });
+
+        // Result Cache
+        this.resultCache.setOnAction((e) -> {
+            // updating the run settings
+            RunSettings.setResultCache(this.resultCache.isSelected());
+        });
+
+        // CSVQL Engine
+        this.csvqlEngine.setOnAction((e) -> {
+            // updating the run settings
+            RunSettings.setCsvqlEngine(this.csvqlEngine.isSelected());
+        });
+
+        // Shared Editor
+        this.sharedEditor.setOnAction((e) -> {
+            // updating the editor settings (applies to files opened from now on)
+            EditorSettings.setSharedEditor(this.sharedEditor.isSelected());
+        });
+
         // New File
         this.newFile.setOnAction((e) -> {
             // displaying new file form
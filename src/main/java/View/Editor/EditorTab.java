@@ -2,12 +2,14 @@ package View.Editor;
 
 import java.io.File;
 
+import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 
 import Controller.FileManager;
 import Controller.SystemController;
+import Model.EditorSettings;
 import Model.FileType;
 import Model.KeyCodes;
 import View.Tools.CodeArea;
@@ -28,8 +30,11 @@ public abstract class EditorTab extends Tab{
     private FileType fileType;
     private EditorTabToolbar toolbar;
     private CodeArea codeArea;
+    private BorderPane container;
     private String textAtLastSave;
     private boolean unsavedChanges;
+    private boolean contentLoaded; /** If the content of the file has been placed into the code area */
+    private long lastActive; /** Time the tab was last selected (in milliseconds) */
 
     //////////////////
     // INITIALIZING //
@@ -42,25 +47,26 @@ public abstract class EditorTab extends Tab{
         this.file = file;
         this.fileType = fileType;
         this.toolbar = new EditorTabToolbar(this);
-        this.codeArea = new CodeArea(this.fileType.getCodeMirrorTemplate(), "");
+        if(EditorSettings.isSharedEditor()){
+            this.codeArea = new CodeArea(this.editorTabContainer.getSharedCodeMirror(), this.fileType.getCodeMirrorTemplate(), "");
+        }
+        else{
+            this.codeArea = new CodeArea(this.fileType.getCodeMirrorTemplate(), "", false); // WebView created when the tab is first selected
+        }
+        this.container = new BorderPane();
         this.textAtLastSave = "";
         if(this.file == null) {this.unsavedChanges = true;} else {this.unsavedChanges = false;}
+        this.contentLoaded = (this.file == null); // a new file has no content to load
+        this.lastActive = System.currentTimeMillis();
 
         // Configuring Member Variables //
 
-        if(this.file != null){
+        if(this.file != null && this.loadContentOnOpen()){
             /**
              * Editor tab set-up with file - need to load file content into the editor.
              */
             try{
-                // getting content from the file
-                String content = FileManager.getContentFromFile(this.file);
-                
-                // setting the content into the code area
-                this.codeArea.setCode(content);
-
-                // configuring the text at the last save
-                this.textAtLastSave = content;
+                this.loadContent();
             }
             // handling error
             catch(Exception e){
@@ -73,9 +79,8 @@ public abstract class EditorTab extends Tab{
         // CONTAINERS AND EXTRAS //
         ///////////////////////////
 
-        BorderPane container = new BorderPane();
-        container.setTop(this.toolbar);
-        container.setCenter(this.codeArea);
+        this.container.setTop(this.toolbar);
+        this.container.setCenter(this.codeArea);
         
         /////////////////
         // CONFIGURING //
@@ -88,7 +93,7 @@ public abstract class EditorTab extends Tab{
         this.updateTabTitleContent();
 
         // content
-        this.setContent(container);
+        this.setContent(this.container);
     }
 
 
@@ -100,6 +105,12 @@ public abstract class EditorTab extends Tab{
         // Tab Selection 
         this.setOnSelectionChanged((e) ->{
             this.editorTabContainer.setCurrentEditorTab(this);
+
+            // creating (or restoring) the editor when the tab is shown (or swapping in the tab's document)
+            if(this.isSelected()){
+                this.activate();
+            }
+            this.lastActive = System.currentTimeMillis();
         });
 
         // Tab Close
@@ -161,9 +172,9 @@ public abstract class EditorTab extends Tab{
             }
         });
 
-        // Key Released
-        this.codeArea.setOnKeyReleased((e) -> {
-            // checking for changes to code
+        // Code Changed (reported by the code area, rather than pulling the code on every key)
+        this.codeArea.cleanProperty().addListener((observable, wasClean, isClean) -> {
+            // updating the save state to match the code area
             this.checkForCodeChanges();
         });
     }
@@ -191,11 +202,14 @@ public abstract class EditorTab extends Tab{
 
     /**
      * Updates the properties after a save has been carried out
+     * 
+     * @param savedText The text that was saved.
      */
-    public void updateAfterSave(){
+    public void updateAfterSave(String savedText){
         // updating properties
         this.unsavedChanges = false;
-        this.textAtLastSave = this.codeArea.getCode();
+        this.textAtLastSave = savedText;
+        this.codeArea.markClean();
 
         // updating tab title
         this.updateTabTitleContent();
@@ -203,34 +217,106 @@ public abstract class EditorTab extends Tab{
 
     /**
      * Checks the EditorTab's CodeArea to see if there have been any changes to the text since the last save.
+     * 
+     * The CodeArea tracks this itself, so the check does not depend on the size of the text.
      */
     public void checkForCodeChanges(){
         if(!(this.file == null)) { // if there is no file, it must be unsaved, so no need to check
-            // text has changed
-            if(!this.textAtLastSave.equals(this.codeArea.getCode())){
-                // there are no unsaved changes yet - need to update tab information
-                if(!this.unsavedChanges){
-                    // altering save state
-                    this.unsavedChanges = true;
-                    
-                    // updating tab title
-                    this.updateTabTitleContent();
-                }
-            }
-            // text has gone back to last save
-            else{
-                // there were previously unsaved changes - need to update tab information
-                if(this.unsavedChanges){
-                    // upudating save state
-                    this.unsavedChanges = false;
+            boolean changed = !this.codeArea.isClean();
 
-                    // updating tab title
-                    this.updateTabTitleContent();
-                }
+            // save state has changed - need to update tab information
+            if(changed != this.unsavedChanges){
+                // altering save state
+                this.unsavedChanges = changed;
+
+                // updating tab title
+                this.updateTabTitleContent();
             }
         }
     }
 
+    /////////////////////////
+    // MANAGING THE EDITOR //
+    /////////////////////////
+
+    /**
+     * Determines if the content of the tab's file is placed into the editor when
+     * the tab is opened (if not, it is loaded when it is first needed).
+     * 
+     * Called from the EditorTab constructor, so can only rely on the properties
+     * of the EditorTab.
+     * 
+     * @return True if the content is loaded when the tab is opened.
+     */
+    protected boolean loadContentOnOpen(){
+        return true;
+    }
+
+    /**
+     * Places the content of the tab's file into the editor, if it has not
+     * already been loaded.
+     * 
+     * @throws Exception Thrown if the content of the file could not be read.
+     */
+    public void loadContent() throws Exception{
+        if(!this.contentLoaded){
+            // getting content from the file
+            String content = FileManager.getContentFromFile(this.file);
+
+            // setting the content into the code area
+            this.codeArea.setCode(content);
+
+            // configuring the text at the last save
+            this.textAtLastSave = content;
+            this.contentLoaded = true;
+        }
+    }
+
+    /**
+     * Creates (or restores) the editor displayed in the tab.
+     */
+    public void activate(){
+        this.codeArea.activate();
+    }
+
+    /**
+     * Releases the resources of the tab once it has been removed from the editor.
+     */
+    public void close(){
+        this.codeArea.close();
+    }
+
+    /**
+     * Releases any hold the tab has on it's file (so that the file can be
+     * written to or renamed) - called before the tab is saved or renamed.
+     */
+    public void releaseFile(){
+        // code area holds the content of the file, not the file itself
+    }
+
+    /**
+     * Displays the provided node beneath the tab's toolbar (in place of the
+     * code area).
+     * 
+     * @param node The node being displayed.
+     */
+    protected void setEditorContent(Node node){
+        this.container.setCenter(node);
+    }
+
+    /**
+     * Hibernates the tab's editor if the tab is not selected and has not been 
+     * selected for at least the provided time, releasing it's WebView until it 
+     * is next selected.
+     * 
+     * @param inactiveTime The time the tab must have been inactive for (in milliseconds).
+     */
+    public void hibernateIfInactive(long inactiveTime){
+        if(!this.isSelected() && this.codeArea.isActive() && System.currentTimeMillis() - this.lastActive >= inactiveTime){
+            this.codeArea.hibernate();
+        }
+    }
+
     /////////////////////////
     // GETTERS AND SETTERS //
     /////////////////////////
@@ -263,6 +349,10 @@ public abstract class EditorTab extends Tab{
         return this.unsavedChanges;
     }
 
+    public boolean isContentLoaded(){
+        return this.contentLoaded;
+    }
+
     public void setName(String name){
         this.name = name;
 
@@ -283,6 +373,10 @@ public abstract class EditorTab extends Tab{
                 
     }
 
+    public void setContentLoaded(boolean contentLoaded){
+        this.contentLoaded = contentLoaded;
+    }
+
     public void setTextAtLastSave(String textAtLastSave){
         this.textAtLastSave = textAtLastSave;
     }
@@ -290,6 +384,14 @@ public abstract class EditorTab extends Tab{
     public void setUnsavedChanges(boolean unsavedChanges){
         this.unsavedChanges = unsavedChanges;
 
+        // keeping the code area's clean state in step
+        if(unsavedChanges){
+            this.codeArea.markDirty();
+        }
+        else{
+            this.codeArea.markClean();
+        }
+
         /**
          * Need to update title if save state has changed.
          */
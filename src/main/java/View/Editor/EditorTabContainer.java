@@ -2,17 +2,36 @@ package View.Editor;
 
 import java.util.ArrayList;
 
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.scene.control.*;
+import javafx.util.Duration;
+
+import View.Tools.SharedCodeMirror;
 
 /**
  * View to contain all the programs being edited within the editor.
+ * 
+ * Tabs that have not been selected for a while are hibernated (their WebView is
+ * released), so having many files open does not hold an editor in memory for 
+ * each of them.
+ * 
+ * When the shared editor setting is on, new tabs instead hold a document within
+ * a single SharedCodeMirror hosted by the container.
  */
 public class EditorTabContainer extends TabPane{
+
+    // constants
+    private static final long hibernateAfter = 5 * 60 * 1000; /** Time a tab must be inactive for before it is hibernated (in milliseconds) */
+    private static final Duration hibernateCheckInterval = Duration.minutes(1);
     
     // member variables
     private Editor editor;
     private ArrayList<EditorTab> editorTabs;
     private EditorTab currentEditorTab;
+    private Timeline hibernateTimer; /** Periodically hibernates inactive tabs */
+    private SharedCodeMirror sharedCodeMirror; /** Editor shared between tabs (null until first needed) */
 
     //////////////////
     // INITIALIZING //
@@ -28,6 +47,8 @@ public class EditorTabContainer extends TabPane{
         this.editor = editor;
         this.editorTabs = new ArrayList<EditorTab>(); 
         this.currentEditorTab = null;
+        this.hibernateTimer = new Timeline(new KeyFrame(hibernateCheckInterval, (e) -> this.hibernateInactiveTabs()));
+        this.sharedCodeMirror = null;
 
         /////////////////
         // CONFIGURING //
@@ -35,6 +56,10 @@ public class EditorTabContainer extends TabPane{
 
         // formatting the tab pane
         this.getStyleClass().add("floating"); // TODO should be done with CSS
+
+        // hibernating inactive tabs
+        this.hibernateTimer.setCycleCount(Animation.INDEFINITE);
+        this.hibernateTimer.play();
     }
 
     //////////////////////////////
@@ -51,6 +76,7 @@ public class EditorTabContainer extends TabPane{
         this.editorTabs.add(editorTab);
         this.getTabs().add(editorTab);
         this.getSelectionModel().select(editorTab);
+        editorTab.activate();
 
         // setting current program
         this.setCurrentEditorTab(editorTab);
@@ -69,6 +95,9 @@ public class EditorTabContainer extends TabPane{
         this.editorTabs.remove(editorTab);
         this.getTabs().remove(editorTab);
 
+        // releasing the tab's editor
+        editorTab.close();
+
         // updating the contents of the editor view (display no tabs screen if this is last tab)
         this.editor.updateContents();
     }
@@ -93,6 +122,16 @@ public class EditorTabContainer extends TabPane{
 
         // selecting new editor tab (because it was previously selected)
         this.getSelectionModel().select(newEditorTab);
+        newEditorTab.activate();
+    }
+
+    /**
+     * Hibernates the editors of all tabs that have not been selected recently.
+     */
+    private void hibernateInactiveTabs(){
+        for(EditorTab editorTab : this.editorTabs){
+            editorTab.hibernateIfInactive(hibernateAfter);
+        }
     }
 
     ////////////////////
@@ -125,6 +164,18 @@ public class EditorTabContainer extends TabPane{
         return this.editorTabs;
     }
 
+    /**
+     * Returns the editor shared between tabs, creating it if it does not yet exist.
+     * 
+     * @return The shared editor.
+     */
+    public SharedCodeMirror getSharedCodeMirror(){
+        if(this.sharedCodeMirror == null){
+            this.sharedCodeMirror = new SharedCodeMirror();
+        }
+        return this.sharedCodeMirror;
+    }
+
     public EditorTab getCurrentEditorTab(){
         return this.currentEditorTab;
     }
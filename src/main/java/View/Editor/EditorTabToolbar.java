@@ -116,8 +116,8 @@ public class EditorTabToolbar extends AppToolbar{
             // undoing the last action in the text area
             this.editorTab.getCodeArea().undo();
 
-            // check for changes
-            this.editorTab.checkForCodeChanges();
+            // check for changes (straight away, rather than after the debounce)
+            this.editorTab.getCodeArea().checkClean();
         });
 
         // redo
@@ -125,8 +125,8 @@ public class EditorTabToolbar extends AppToolbar{
             // redoing the last action in the text area
             this.editorTab.getCodeArea().redo();
 
-            // checking for changes
-            this.editorTab.checkForCodeChanges();
+            // checking for changes (straight away, rather than after the debounce)
+            this.editorTab.getCodeArea().checkClean();
         });
 
         // zoom in
@@ -2,12 +2,14 @@ package View.Editor;
 
 import java.io.File;
 
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.image.ImageView;
 
 import Controller.ProgramRunner;
 import Model.FileType;
 import Model.Images;
+import View.Forms.BenchmarkForm;
 import View.Tools.PopUpWindow;
 
 /**
@@ -17,6 +19,7 @@ public class ProgramTab extends EditorTab{
 
     // member variables
     private Button runButton;
+    private Button benchmarkButton;
 
     //////////////////
     // INITIALIZING //
@@ -33,6 +36,7 @@ public class ProgramTab extends EditorTab{
         // initializing
         super(editorTabContainer, name, file, fileType);
         this.runButton = new Button("Run", new ImageView(Images.RUN));
+        this.benchmarkButton = new Button("Benchmark", new ImageView(Images.RUN));
 
         /////////////////
         // CONFIGURING //
@@ -41,8 +45,8 @@ public class ProgramTab extends EditorTab{
         // event handling
         this.configureEvents();
 
-        // adding run button to toolbar
-        this.getEditorTabToolbar().addRightContainerWithSep(this.runButton);
+        // adding run and benchmark buttons to toolbar
+        this.getEditorTabToolbar().addAllRightContainerWithSep(new Node[] {this.runButton, this.benchmarkButton});
     }
 
     /**
@@ -62,5 +66,11 @@ public class ProgramTab extends EditorTab{
                 PopUpWindow.showErrorWindow(this.getEditorTabToolbar().getScene().getWindow(), ex);
             }
         });
+
+        // BENCHMARK
+        this.benchmarkButton.setOnAction((e) -> {
+            // displaying benchmark form
+            BenchmarkForm.showForm(this.getEditorTabToolbar().getScene().getWindow(), this);
+        });
     } 
 }
\ No newline at end of file
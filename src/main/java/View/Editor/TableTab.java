@@ -2,16 +2,38 @@ package View.Editor;
 
 import java.io.File;
 
+import javafx.scene.Node;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.control.Tooltip;
+import javafx.scene.image.ImageView;
+
+import Controller.MappedCsvReader;
 import Model.FileType;
+import Model.Images;
 import View.TableStore.StoredTable;
+import View.Tools.PopUpWindow;
+import View.Tools.TableGrid;
 
 /**
  * View that represents an individual table being edited in the editor.
+ *
+ * A saved table can be shown either as text (in the code area) or as a grid
+ * read straight from it's file. Large tables are opened as a grid, and their
+ * text is only loaded if they are switched to the text view.
  */
 public class TableTab extends EditorTab{
 
+    // constants
+    private static final long gridViewSize = 16L * 1024 * 1024; /** Tables larger than this (in bytes) are opened as a grid */
+    private static final String[] delimNames = {"Comma", "Tab", "Semicolon", "Pipe"};
+    private static final String[] delims = {",", "\t", ";", "|"}; /** Delimiter of each of the delimNames */
+
     // member variables
     private StoredTable storedTable; /** The stored table associated with this TableTab */
+    private ToggleButton gridViewButton;
+    private ChoiceBox<String> delimChoice; /** Delimiter the table's fields are separated by */
+    private TableGrid tableGrid; /** Grid view of the table's file (null until first shown) */
 
     //////////////////
     // INITIALIZING //
@@ -19,7 +41,7 @@ public class TableTab extends EditorTab{
 
     /**
      * Class constructor
-     * 
+     *
      * @param editorTabContainer The container associated with the ProgramTab.
      * @param name The name of the program.
      * @param file The file associated with the program.
@@ -28,6 +50,170 @@ public class TableTab extends EditorTab{
         // initializing
         super(editorTabContainer, name, file, FileType.TABLE);
         this.storedTable = storedTable;
+        this.gridViewButton = new ToggleButton("Grid View", new ImageView(Images.TABLE));
+        this.delimChoice = new ChoiceBox<String>();
+        this.tableGrid = null;
+
+        // Configuring Member Variables //
+
+        // delimiter of the table (the stored table's, or detected from the file)
+        this.delimChoice.getItems().addAll(delimNames);
+        this.delimChoice.setTooltip(new Tooltip("Delimiter between the fields of the table"));
+        this.setDelim(TableTab.getInitialDelim(file, storedTable));
+
+        // grid view shows the file as it is saved (so is only available once there is a file)
+        this.gridViewButton.setTooltip(new Tooltip("Show the saved table as a grid"));
+        this.gridViewButton.setDisable(file == null);
+
+        /////////////////
+        // CONFIGURING //
+        /////////////////
+
+        // event handling
+        this.configureEvents();
+
+        // adding grid view button to toolbar
+        this.getEditorTabToolbar().addAllRightContainerWithSep(new Node[] {this.delimChoice, this.gridViewButton});
+
+        // large tables open as a grid (their text has not been loaded)
+        if(!this.isContentLoaded()){
+            this.gridViewButton.setSelected(true);
+            this.showGrid();
+        }
+    }
+
+    /**
+     * Defines the event handling for the events that can occur
+     * within the control.
+     */
+    private void configureEvents(){
+        // DELIMITER
+        this.delimChoice.setOnAction((e) -> {
+            String delim = this.getDelim();
+
+            // the stored table is read with the same delimiter
+            if(this.storedTable != null && !delim.equals(this.storedTable.getDelim())){
+                this.storedTable.setDelim(delim);
+            }
+
+            // re-reading the grid with the new delimiter
+            if(this.gridViewButton.isSelected()){
+                this.showGrid();
+            }
+        });
+
+        // GRID VIEW
+        this.gridViewButton.setOnAction((e) -> {
+            if(this.gridViewButton.isSelected()){
+                this.showGrid();
+            }
+            else{
+                this.showText();
+            }
+        });
+    }
+
+    /////////////////////////
+    // MANAGING THE EDITOR //
+    /////////////////////////
+
+    @Override
+    protected boolean loadContentOnOpen(){
+        return this.getFile().length() <= gridViewSize;
+    }
+
+    /**
+     * Displays the table as a grid read from it's file.
+     */
+    private void showGrid(){
+        if(this.tableGrid == null){
+            this.tableGrid = new TableGrid();
+        }
+        this.tableGrid.open(this.getFile(), this.getDelim());
+        this.setEditorContent(this.tableGrid);
+    }
+
+    /**
+     * Displays the table as text in the code area, loading it's text if it has
+     * not yet been loaded.
+     */
+    private void showText(){
+        try{
+            this.loadContent();
+        }
+        // handling error
+        catch(Exception e){
+            PopUpWindow.showErrorWindow(this.getEditorTabToolbar().getScene().getWindow(), e);
+            this.gridViewButton.setSelected(true);
+            return;
+        }
+
+        this.setEditorContent(this.getCodeArea());
+        this.getCodeArea().activate();
+    }
+
+    @Override
+    public void activate(){
+        // the code area is only needed when the table is shown as text
+        if(!this.gridViewButton.isSelected()){
+            super.activate();
+        }
+    }
+
+    @Override
+    public void close(){
+        super.close();
+
+        // releasing the grid's index of the file
+        if(this.tableGrid != null){
+            this.tableGrid.close();
+        }
+    }
+
+    @Override
+    public void releaseFile(){
+        // the grid maps the file (which can lock it)
+        if(this.tableGrid != null){
+            this.tableGrid.close();
+        }
+    }
+
+    @Override
+    public void updateAfterSave(String savedText){
+        super.updateAfterSave(savedText);
+
+        // the table can now be shown as a grid
+        this.gridViewButton.setDisable(false);
+
+        // the statistics of the table have changed
+        if(this.storedTable != null){
+            this.storedTable.readStatistics();
+        }
+
+        // showing the saved file in the grid (it was released for the save)
+        if(this.gridViewButton.isSelected()){
+            this.showGrid();
+        }
+    }
+
+    /**
+     * Returns the delimiter a tab starts with - it's stored table's delimiter,
+     * or the delimiter detected from it's file (a comma if it has neither).
+     *
+     * @param file The file of the tab (null if it has none).
+     * @param storedTable The stored table of the tab (null if it has none).
+     * @return The delimiter the tab starts with.
+     */
+    private static String getInitialDelim(File file, StoredTable storedTable){
+        if(storedTable != null){
+            return storedTable.getDelim();
+        }
+        try{
+            return (file == null) ? "," : MappedCsvReader.detectDelimiter(file);
+        }
+        catch(Exception e){
+            return ",";
+        }
     }
 
     /////////////////////////
@@ -41,4 +227,18 @@ public class TableTab extends EditorTab{
     public void setStoredTable(StoredTable storedTable){
         this.storedTable = storedTable;
     }
-}
\ No newline at end of file
+
+    public String getDelim(){
+        return delims[Math.max(0, this.delimChoice.getSelectionModel().getSelectedIndex())];
+    }
+
+    public void setDelim(String delim){
+        for(int i = 0; i < delims.length; i++){
+            if(delims[i].equals(delim)){
+                this.delimChoice.getSelectionModel().select(i);
+                return;
+            }
+        }
+        this.delimChoice.getSelectionModel().select(0);
+    }
+}
@@ -0,0 +1,118 @@
+package View.Forms;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.Spinner;
+import javafx.scene.layout.VBox;
+import javafx.stage.Window;
+
+import Controller.ProgramRunner;
+import View.Editor.ProgramTab;
+import View.Tools.InputForm;
+import View.Tools.PopUpWindow;
+
+/**
+ * View to represent the window displayed when benchmarking a program.
+ */
+public class BenchmarkForm extends InputForm{
+
+    // constants
+    private static final String title = "Benchmark Program";
+    private static final int width = 350;
+    private static final int height = 250;
+    private static final String confirmText = "Benchmark";
+    private static final String cancelText = "Cancel";
+    private static final int defaultIterations = 10;
+    private static final int maxIterations = 1000;
+    private static final int defaultWarmups = 2;
+    private static final int maxWarmups = 100;
+
+    // member variables
+    private ProgramTab programTab;
+    private Spinner<Integer> iterations;
+    private Spinner<Integer> warmups;
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * @param programTab The ProgramTab being benchmarked.
+     */
+    public BenchmarkForm(ProgramTab programTab){
+        // initializing
+        super(title, width, height, confirmText, cancelText, false);
+        this.programTab = programTab;
+        this.iterations = new Spinner<Integer>(1, maxIterations, defaultIterations);
+        this.warmups = new Spinner<Integer>(0, maxWarmups, defaultWarmups);
+
+        // Configuring Member Variables //
+
+        this.iterations.setEditable(true);
+        this.warmups.setEditable(true);
+
+        ///////////////////////////
+        // CONTAINERS AND EXTRAS //
+        ///////////////////////////
+
+        // labels
+        Label iterationsLabel = new Label("Measured runs:");
+        Label warmupsLabel = new Label("Warm-up runs:");
+
+        // contanier for all items
+        VBox container = new VBox(iterationsLabel, this.iterations, warmupsLabel, this.warmups);
+        container.setAlignment(Pos.CENTER);
+        container.setPadding(new Insets(10));
+        container.setSpacing(10);
+
+        /////////////////
+        // CONFIGURING //
+        /////////////////
+
+        // content
+        this.setContent(container);
+    }
+
+    /////////////////////
+    // DISPLAYING FORM //
+    /////////////////////
+
+    /**
+     * Creates a BenchmarkForm instance and displays it on the screen.
+     *
+     * @param owner The Window the BenchmarkForm will be displayed into.
+     * @param programTab The ProgramTab being benchmarked.
+     */
+    public static void showForm(Window owner, ProgramTab programTab){
+        // configuring benchmark window
+        BenchmarkForm benchmarkForm = new BenchmarkForm(programTab);
+        benchmarkForm.initOwner(owner);
+
+        // displaying benchmark window
+        benchmarkForm.show();
+    }
+
+    //////////////////////////////
+    // SUBMITTING FORM CONTENTS //
+    //////////////////////////////
+
+    /**
+     * Starts the benchmark with the number of runs entered by the user.
+     */
+    public void submit(){
+        try{
+            // starting the benchmark
+            ProgramRunner.benchmarkProgramTab(this.programTab, this.iterations.getValue(), this.warmups.getValue());
+
+            // closing the form
+            this.close();
+        }
+        catch(Exception ex){
+            // displaying error alert
+            PopUpWindow.showErrorWindow(this.getOwner(), ex);
+        }
+    }
+}
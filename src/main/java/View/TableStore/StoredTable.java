@@ -1,14 +1,23 @@
 package View.TableStore;
 
 import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import javafx.concurrent.Task;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.Tooltip;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox; 
 
+import Controller.FileManager;
+import Controller.MappedCsvReader;
 import Controller.SystemController;
+import Controller.Engine.ColumnStatistics;
+import Controller.Engine.ColumnarTable;
+import Controller.Engine.TableCache;
 import Model.Images;
 import View.Tools.ConfirmationButton;
 import View.Tools.PopUpWindow;
@@ -18,13 +27,26 @@ import View.Tools.PopUpWindow;
  */
 public class StoredTable extends HBox{
 
+    // constants
+    private static final int MAX_TOOLTIP_COLUMNS = 10;
+
     // member variables
+    private static final ExecutorService statisticsReader = Executors.newSingleThreadExecutor((runnable) -> {
+        // reader thread is a daemon so that it does not keep the application alive
+        Thread thread = new Thread(runnable, "table-statistics");
+        thread.setDaemon(true);
+        return thread;
+    }); /** Reads the statistics of stored tables in the background, one at a time */
     private TableStore filestore;
     private File file;
     private String name; 
     private Label nameLabel;
     private Button openInEditorButton;
     private ConfirmationButton removeButton; 
+    private Tooltip tooltip;
+    private String delim; /** Delimiter between the fields of the table */
+    private ColumnStatistics[] statistics; /** Statistics of each column (null until they have been read) */
+    private Task<ColumnStatistics[]> statisticsTask; /** Task reading the statistics (null if not reading) */
 
     //////////////////
     // INITIALIZING //
@@ -46,12 +68,19 @@ public class StoredTable extends HBox{
                                                    "Remove Loaded File", 
                                                    "Are you sure you want to remove this table from the system?" + "\n" +
                                                    "Any unsaved progress in the Editor will be lost.");
+        this.tooltip = new Tooltip(this.name);
+        this.delim = StoredTable.detectDelimiter(file);
+        this.statistics = null;
+        this.statisticsTask = null;
 
         // Configuring Member Variables //
 
         // setting graphic of name label
         this.nameLabel.setGraphic(new ImageView(Images.TABLE));
 
+        // tooltip showing the table's details
+        this.nameLabel.setTooltip(this.tooltip);
+
         /////////////////
         // CONFIGURING //
         /////////////////
@@ -107,6 +136,92 @@ public class StoredTable extends HBox{
         this.nameLabel.setText(this.name);
     }
 
+    /**
+     * Reads the statistics of the table's columns in the background (one
+     * table at a time), and displays them in the table's tooltip.
+     * 
+     * The statistics are read in a single pass over the file, without holding
+     * the table in memory.
+     */
+    public void readStatistics(){
+        // cancelling any previous read
+        if(this.statisticsTask != null){
+            this.statisticsTask.cancel();
+        }
+
+        File file = this.file;
+        String delim = this.delim;
+        this.statistics = null;
+        this.tooltip.setText(this.name + "\nReading statistics...");
+
+        // task to read the statistics
+        Task<ColumnStatistics[]> statisticsTask = new Task<ColumnStatistics[]>(){
+            @Override
+            protected ColumnStatistics[] call() throws Exception{
+                return ColumnStatistics.read(file, delim);
+            }
+        };
+        this.statisticsTask = statisticsTask;
+
+        // statistics read
+        statisticsTask.setOnSucceeded((e) -> {
+            this.statisticsTask = null;
+            this.statistics = statisticsTask.getValue();
+            this.tooltip.setText(this.getDetails());
+        });
+
+        // statistics could not be read
+        statisticsTask.setOnFailed((e) -> {
+            this.statisticsTask = null;
+            this.tooltip.setText(this.name + "\nStatistics could not be read.");
+        });
+
+        // queueing the task
+        StoredTable.statisticsReader.execute(statisticsTask);
+    }
+
+    /**
+     * Returns a description of the table - it's size and the statistics of
+     * it's columns.
+     * 
+     * @return The description of the table.
+     */
+    private String getDetails(){
+        int rowCount = (this.statistics.length == 0) ? 0 : this.statistics[0].getRowCount();
+        String delimName = this.delim.equals("\t") ? "tab" : "'" + this.delim + "'";
+
+        StringBuilder details = new StringBuilder();
+        details.append(this.name).append("\n")
+               .append(rowCount).append(" rows, ").append(this.statistics.length).append(" columns (")
+               .append(delimName).append(" separated), ")
+               .append(FileManager.getReadableSize(this.file.length()));
+
+        // statistics of the first few columns
+        for(int column = 0; column < Math.min(this.statistics.length, MAX_TOOLTIP_COLUMNS); column++){
+            details.append("\nColumn ").append(column + 1).append(" : ").append(this.statistics[column]);
+        }
+        if(this.statistics.length > MAX_TOOLTIP_COLUMNS){
+            details.append("\n... ").append(this.statistics.length - MAX_TOOLTIP_COLUMNS).append(" more columns");
+        }
+
+        return details.toString();
+    }
+
+    /**
+     * Detects the delimiter of the provided file (a comma if it cannot be read).
+     * 
+     * @param file The file of the table.
+     * @return The delimiter between the fields of the table.
+     */
+    private static String detectDelimiter(File file){
+        try{
+            return MappedCsvReader.detectDelimiter(file);
+        }
+        catch(Exception e){
+            return ",";
+        }
+    }
+
     /////////////////////////
     // GETTERS AND SETTERS //
     /////////////////////////
@@ -119,6 +234,43 @@ public class StoredTable extends HBox{
         return this.name;
     }
 
+    public String getDelim(){
+        return this.delim;
+    }
+
+    public void setDelim(String delim){
+        this.delim = delim;
+
+        /**
+         * The statistics depend on the delimiter, so need to be read again.
+         */
+        this.readStatistics();
+    }
+
+    /**
+     * Returns the statistics of each column of the table.
+     * 
+     * @return The statistics of each column (null if they have not been read yet).
+     */
+    public ColumnStatistics[] getStatistics(){
+        return this.statistics;
+    }
+
+    /**
+     * Returns the content of the table in it's columnar form, through the
+     * TableCache (reading it if it is not already cached).
+     * 
+     * The table is not held by the StoredTable, so it can still be evicted
+     * from the cache once it is no longer being used.
+     * 
+     * @param delim The delimiter the table is read with.
+     * @return The content of the table.
+     * @throws Exception Thrown if the table could not be read.
+     */
+    public ColumnarTable getData(String delim) throws Exception{
+        return TableCache.loadTable(this.file, delim);
+    }
+
     public void setFile(File file){
         this.file = file;
 
@@ -127,5 +279,7 @@ public class StoredTable extends HBox{
          */
         this.name = file.getName();
         this.updateContent();
+        this.delim = StoredTable.detectDelimiter(file);
+        this.readStatistics();
     }
 }
\ No newline at end of file
@@ -199,6 +199,9 @@ public class TableStore extends VBox{
 
         // adding into container
         this.storedTablesContainer.getChildren().add(storedTable);
+
+        // reading the table's statistics in the background
+        storedTable.readStatistics();
     }
 
     /**
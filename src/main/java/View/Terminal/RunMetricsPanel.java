@@ -0,0 +1,109 @@
+package View.Terminal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.geometry.Insets;
+import javafx.scene.control.Label;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.VBox;
+
+import Controller.FileManager;
+import Controller.ProgramJob;
+import Controller.RunMetrics;
+
+/**
+ * Panel displayed at the bottom of the Terminal that shows the metrics of the
+ * most recent run - the time spent in each phase of the run (and it's share of
+ * the total), along with the run's byte counters.
+ */
+public class RunMetricsPanel extends VBox{
+
+    // constants
+    private static final int panelPadding = 10;
+    private static final int columnSpace = 20;
+
+    // member variables
+    private Label titleLabel;
+    private GridPane phaseGrid;
+    private GridPane counterGrid;
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     */
+    public RunMetricsPanel(){
+        // initializing
+        this.titleLabel = new Label("No run metrics");
+        this.phaseGrid = new GridPane();
+        this.counterGrid = new GridPane();
+
+        // Configuring Member Variables //
+
+        this.phaseGrid.setHgap(columnSpace);
+        this.counterGrid.setHgap(columnSpace);
+
+        /////////////////
+        // CONFIGURING //
+        /////////////////
+
+        // adding controls
+        this.getChildren().addAll(this.titleLabel, this.phaseGrid, this.counterGrid);
+        this.setSpacing(5);
+        this.setPadding(new Insets(panelPadding));
+    }
+
+    //////////////
+    // UPDATING //
+    //////////////
+
+    /**
+     * Displays the metrics of the provided job.
+     *
+     * @param job The ProgramJob whose metrics are displayed (null if there is no run).
+     */
+    public void setMetrics(ProgramJob job){
+        // clearing previous metrics
+        this.phaseGrid.getChildren().clear();
+        this.counterGrid.getChildren().clear();
+
+        // no run to display
+        if(job == null){
+            this.titleLabel.setText("No run metrics");
+            return;
+        }
+
+        // title (total duration of the run)
+        this.titleLabel.setText("Run Metrics : " + job.getProgramName() + " : " + String.format("%.1f ms", job.getDurationMillis()));
+
+        // PHASES //
+
+        LinkedHashMap<String, Long> phaseTimes = job.getMetrics().getPhaseTimes();
+        double totalNanos = Math.max(job.getDurationMillis() * 1e6, 1);
+
+        int row = 0;
+        for(Map.Entry<String, Long> phase : phaseTimes.entrySet()){
+            this.phaseGrid.addRow(row++,
+                                  new Label(RunMetrics.getDisplayName(phase.getKey())),
+                                  new Label(String.format("%.1f ms", phase.getValue() / 1e6)),
+                                  new Label(String.format("%.0f%%", 100 * phase.getValue() / totalNanos)));
+        }
+
+        // COUNTERS //
+
+        row = 0;
+        for(Map.Entry<String, Long> counter : job.getMetrics().getCounters().entrySet()){
+            // byte counters displayed as readable sizes
+            String value = counter.getKey().startsWith("bytes") || counter.getKey().endsWith("bytes") ?
+                           FileManager.getReadableSize(counter.getValue()) :
+                           String.format("%,d", counter.getValue());
+
+            this.counterGrid.addRow(row++,
+                                    new Label(RunMetrics.getDisplayName(counter.getKey())),
+                                    new Label(value));
+        }
+    }
+}
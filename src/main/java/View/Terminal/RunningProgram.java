@@ -0,0 +1,101 @@
+package View.Terminal;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.concurrent.Task;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+
+import Controller.ProgramJob;
+import Model.Images;
+
+/**
+ * View to represent a program (or batch of programs) that is currently being 
+ * run, displayed within the Terminal until it finishes.
+ */
+public class RunningProgram extends HBox{
+
+    // constants
+    private static final double progressSize = 16;
+
+    // member variables
+    private Task<?> job;
+    private Label nameLabel;
+    private Label phaseLabel;
+    private ProgressIndicator progressIndicator;
+    private Button stopButton;
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     *
+     * @param job The ProgramJob being displayed.
+     */
+    public RunningProgram(ProgramJob job){
+        this(job, job.getProgramName(), job.getProgramType().getGraphic());
+    }
+
+    /**
+     * Class constructor.
+     *
+     * @param job The job (e.g., a BatchJob) being displayed.
+     * @param name The name displayed for the job.
+     * @param graphic The graphic displayed for the job.
+     */
+    public RunningProgram(Task<?> job, String name, Image graphic){
+        // initializing
+        this.job = job;
+        this.nameLabel = new Label(name, new ImageView(graphic));
+        this.phaseLabel = new Label();
+        this.progressIndicator = new ProgressIndicator();
+        this.stopButton = new Button("Stop", new ImageView(Images.REMOVE));
+
+        // Configuring Member Variables //
+
+        // phase and progress follow the job
+        this.phaseLabel.textProperty().bind(this.job.messageProperty());
+        this.progressIndicator.progressProperty().bind(this.job.progressProperty());
+        this.progressIndicator.setPrefSize(progressSize, progressSize);
+
+        /////////////////
+        // CONFIGURING //
+        /////////////////
+
+        // event handling
+        this.configureEvents();
+
+        // adding controls
+        this.getChildren().addAll(this.progressIndicator, this.nameLabel, this.phaseLabel, this.stopButton);
+        this.setAlignment(Pos.CENTER_LEFT);
+        this.setSpacing(10);
+    }
+
+    /**
+     * Defines the event handling for the events that can occur
+     * within the control.
+     */
+    private void configureEvents(){
+        // Stop
+        this.stopButton.setOnAction((e) -> {
+            // stopping the job (kills the running process)
+            this.job.cancel();
+
+            // disabling the button (job can only be stopped once)
+            this.stopButton.setDisable(true);
+        });
+    }
+
+    /////////////////////////
+    // GETTERS AND SETTERS //
+    /////////////////////////
+
+    public Task<?> getJob(){
+        return this.job;
+    }
+}
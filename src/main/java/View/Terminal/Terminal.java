@@ -1,13 +1,23 @@
 package View.Terminal;
 
+import java.io.File;
+import java.util.function.Supplier;
+
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
+import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.VBox;
 
+import Controller.BatchJob;
+import Controller.BenchmarkJob;
 import Controller.FileManager;
+import Controller.ProgramJob;
+import Controller.ProgramOutput;
+import Controller.RunMetrics;
 import Model.FileType;
 import Model.Images;
 import Model.KeyCodes;
@@ -28,6 +38,11 @@ public class Terminal extends BorderPane{
     private Dashboard dashboard;
     private TerminalToolbar terminalToolbar;
     private CodeArea codeArea;
+    private VBox runningProgramsContainer;
+    private Task<?> displayedJob; /** The job whose output is displayed (the most recently run) */
+    private ProgramOutput displayedOutput; /** The output currently held in the code area */
+    private RunMetricsPanel runMetricsPanel;
+    private ProgramJob metricsJob; /** The job whose metrics are displayed (the most recently run program) */
 
     //////////////////
     // INITIALIZING //
@@ -43,6 +58,16 @@ public class Terminal extends BorderPane{
         this.dashboard = dashboard;
         this.terminalToolbar = new TerminalToolbar(this);
         this.codeArea = new CodeArea(FileType.TABLE.getCodeMirrorTemplate(), "");
+        this.runningProgramsContainer = new VBox();
+        this.displayedJob = null;
+        this.displayedOutput = null;
+        this.runMetricsPanel = new RunMetricsPanel();
+        this.metricsJob = null;
+
+        // Configuring Member Variables //
+
+        // running programs container
+        this.runningProgramsContainer.setSpacing(5);
 
         ///////////////////////////
         // CONTAINERS AND EXTRAS //
@@ -51,8 +76,9 @@ public class Terminal extends BorderPane{
         // configuring title label
         SectionTitle titleLabel = new SectionTitle("Terminal", new ImageView(Images.TERMINAL));
 
-        // container for title 
-        VBox container = new VBox(titleLabel);
+        // container for title and running programs
+        VBox container = new VBox(titleLabel, this.runningProgramsContainer);
+        container.setSpacing(10);
         container.setPadding(new Insets(10));
 
         /////////////////
@@ -116,10 +142,260 @@ public class Terminal extends BorderPane{
         this.setCenter(container);
     }
 
+    //////////////////////
+    // RUNNING PROGRAMS //
+    //////////////////////
+
+    /**
+     * Returns a description of how the provided job was run - served from the
+     * cache, run in-process by the CsvqlEngine (without staging), or how it's 
+     * files were staged.
+     * 
+     * @param job The job that has finished.
+     * @return The description of the run.
+     */
+    private String getRunSummary(ProgramJob job){
+        if(job.isServedFromCache()){
+            return "served from cache";
+        }
+        else if(job.getStagingDirectory() == null){
+            return "run in-process";
+        }
+        return job.getStagingDirectory().getSummary();
+    }
+
+    /**
+     * Displays the provided ProgramJob in the Terminal while it runs, and
+     * streams it's output into the Terminal as it is produced.
+     * 
+     * The Terminal follows the most recently run program - output from programs
+     * started before it is no longer displayed.
+     * 
+     * @param job The ProgramJob that has been submitted to run.
+     */
+    public void addRunningProgram(ProgramJob job){
+        // creating running program graphic
+        RunningProgram runningProgram = new RunningProgram(job);
+
+        // adding into container
+        this.runningProgramsContainer.getChildren().add(runningProgram);
+
+        // following the new job
+        this.displayedJob = job;
+        this.metricsJob = job;
+        this.refreshRunMetrics();
+
+        // Output Produced
+        job.getOutput().setListener((chunk) -> {
+            // only displaying output of the followed job
+            if(this.displayedJob == job){
+                this.appendProgramOutput(job, chunk);
+            }
+        });
+
+        // Job Finished
+        job.setOnSucceeded((e) -> {
+            // removing the running program
+            this.runningProgramsContainer.getChildren().remove(runningProgram);
+
+            // delivering any output still waiting to be displayed
+            job.getOutput().flush();
+
+            // only updating the display for the followed job
+            if(this.displayedJob == job){
+                // displaying error
+                if(job.getOutput().isError()){
+                    this.displayErrorScreen(job.getOutput().getErrorMessage());
+                }
+                // displaying final output statistics and how the run was staged
+                else if(this.displayedOutput == job.getOutput()){
+                    this.terminalToolbar.setStatus(job.getProgramName() + " : " + 
+                                                   job.getOutput().getSummary() + " : " + 
+                                                   this.getRunSummary(job));
+                }
+            }
+
+            // displaying final metrics
+            if(this.metricsJob == job){
+                this.refreshRunMetrics();
+            }
+
+            // output not displayed - discarding it
+            if(this.displayedOutput != job.getOutput()){
+                job.getOutput().discard();
+            }
+
+            // logging the run's metrics (now that it's output has been rendered)
+            job.logMetrics();
+        });
+
+        // Job Failed
+        job.setOnFailed((e) -> {
+            // removing the running program
+            this.runningProgramsContainer.getChildren().remove(runningProgram);
+
+            // logging the run's metrics
+            job.logMetrics();
+
+            // showing error window
+            Throwable exception = job.getException();
+            PopUpWindow.showErrorWindow(this.getScene().getWindow(), (exception instanceof Exception) ? (Exception) exception : new Exception(exception.toString()));
+        });
+
+        // Job Stopped
+        job.setOnCancelled((e) -> {
+            // removing the running program
+            this.runningProgramsContainer.getChildren().remove(runningProgram);
+
+            // only updating the display for the followed job
+            if(this.displayedJob == job){
+                // output displayed - keeping it and noting the stop
+                if(this.displayedOutput == job.getOutput()){
+                    job.getOutput().flush();
+                    this.terminalToolbar.setStatus(job.getProgramName() + " (stopped) : " + job.getOutput().getSummary());
+                }
+                // no output displayed - displaying stopped screen
+                else{
+                    this.displayStoppedScreen(job.getProgramName());
+                }
+            }
+
+            // output not displayed - discarding it
+            if(this.displayedOutput != job.getOutput()){
+                job.getOutput().discard();
+            }
+
+            // logging the run's metrics
+            job.logMetrics();
+        });
+    }
+
+    /**
+     * Displays the provided BatchJob in the Terminal while it runs, and displays
+     * it's report once it finishes.
+     * 
+     * @param batch The BatchJob that has been started.
+     */
+    public void addRunningBatch(BatchJob batch){
+        this.addRunningReportJob(batch, batch.getBatchName(), Images.RUN, batch::getSummary);
+    }
+
+    /**
+     * Displays the provided BenchmarkJob in the Terminal while it runs, and 
+     * displays it's report once it finishes.
+     * 
+     * @param benchmark The BenchmarkJob that has been started.
+     */
+    public void addRunningBenchmark(BenchmarkJob benchmark){
+        this.addRunningReportJob(benchmark, benchmark.getProgramName() + " (benchmark)", benchmark.getProgramType().getGraphic(), benchmark::getSummary);
+    }
+
+    /**
+     * Displays the provided job that produces a report (e.g., a BatchJob) in the
+     * Terminal while it runs, and displays the report once it finishes.
+     * 
+     * @param job The job that has been started.
+     * @param name The name displayed for the job.
+     * @param graphic The graphic displayed for the job.
+     * @param summary Supplies the summary of the job (displayed with the report).
+     */
+    private void addRunningReportJob(Task<String> job, String name, Image graphic, Supplier<String> summary){
+        // creating running program for the job
+        RunningProgram runningProgram = new RunningProgram(job, name, graphic);
+
+        // adding into container
+        this.runningProgramsContainer.getChildren().add(runningProgram);
+
+        // following the new job
+        this.displayedJob = job;
+
+        // Job Finished
+        job.setOnSucceeded((e) -> {
+            // removing the running program
+            this.runningProgramsContainer.getChildren().remove(runningProgram);
+
+            // displaying the report (unless a newer job is being followed)
+            if(this.displayedJob == job){
+                this.displayProgramOutput(job.getValue());
+                this.terminalToolbar.setStatus(name + " : " + summary.get());
+            }
+        });
+
+        // Job Failed
+        job.setOnFailed((e) -> {
+            // removing the running program
+            this.runningProgramsContainer.getChildren().remove(runningProgram);
+
+            // showing error window
+            Throwable exception = job.getException();
+            PopUpWindow.showErrorWindow(this.getScene().getWindow(), (exception instanceof Exception) ? (Exception) exception : new Exception(exception.toString()));
+        });
+
+        // Job Stopped
+        job.setOnCancelled((e) -> {
+            // removing the running program
+            this.runningProgramsContainer.getChildren().remove(runningProgram);
+
+            // displaying stopped screen
+            if(this.displayedJob == job){
+                this.displayStoppedScreen(name);
+            }
+        });
+    }
+
+    /**
+     * Configures the panel to display a special screen for when a program was
+     * stopped before it finished.
+     * 
+     * @param programName The name of the program that was stopped.
+     */
+    private void displayStoppedScreen(String programName){
+        // creating stopped label
+        Label stoppedLabel = new Label("Stopped", new ImageView(Images.MESSAGE));
+
+        // creating message label
+        Label messageLabel = new Label("'" + programName + "' was stopped before it finished.");
+
+        // container for labels
+        VBox container = new VBox(stoppedLabel, messageLabel);
+        container.setSpacing(10);
+        container.setAlignment(Pos.CENTER);
+
+        // setting container into panel
+        this.setCenter(container);
+    }
+
     ///////////////////////
     // DISPLAYING OUTPUT //
     ///////////////////////
 
+    /**
+     * Appends a chunk of output produced by a running program to the panel. Only 
+     * the most recent lines (up to the ProgramOutput window size) are held in the 
+     * panel.
+     * 
+     * @param job The job that produced the output.
+     * @param chunk The chunk of output being appended.
+     */
+    private void appendProgramOutput(ProgramJob job, String chunk){
+        // first output from this job - clearing the previous output
+        if(this.displayedOutput != job.getOutput()){
+            this.setDisplayedOutput(job.getOutput());
+            this.codeArea.setCode("");
+            this.displayCodeArea();
+        }
+
+        // appending the chunk (timing how long the code area takes to render it)
+        long renderStart = System.nanoTime();
+        this.codeArea.appendCode(chunk, ProgramOutput.WINDOW_SIZE);
+        job.getMetrics().addTimeSince(RunMetrics.RENDER, renderStart);
+        job.getMetrics().addCount(RunMetrics.BYTES_RENDERED, chunk.length());
+        this.refreshRunMetrics();
+
+        // updating line counter and throughput
+        this.terminalToolbar.setStatus(job.getProgramName() + " : " + job.getOutput().getSummary());
+    }
+
     /**
      * Displays the provided program output within the panel.
      * 
@@ -137,15 +413,59 @@ public class Terminal extends BorderPane{
         else{
             // setting the text area text
             this.codeArea.setCode(output);
+            this.setDisplayedOutput(null);
+            this.terminalToolbar.setStatus("");
+
+            // displaying the code area
+            this.displayCodeArea();
+        }
+    }
 
-            // creating container for toolbar and code editor
-            VBox container = new VBox(this.terminalToolbar, this.codeArea);
+    /**
+     * Sets the ProgramOutput held in the code area, discarding the previously
+     * displayed output (as it can no longer be saved or copied).
+     * 
+     * @param output The ProgramOutput now held in the code area (null if the 
+     * code area holds output that was not streamed).
+     */
+    private void setDisplayedOutput(ProgramOutput output){
+        if(this.displayedOutput != null){
+            this.displayedOutput.discard();
+        }
+        this.displayedOutput = output;
+    }
 
-            // displaying the container
-            this.setCenter(container);
+    /**
+     * Shows or hides the run metrics panel at the bottom of the Terminal.
+     * 
+     * @param shown If the run metrics panel is shown.
+     */
+    public void setRunMetricsShown(boolean shown){
+        this.setBottom(shown ? this.runMetricsPanel : null);
+        this.refreshRunMetrics();
+    }
+
+    /**
+     * Updates the run metrics panel with the metrics of the most recently run
+     * program (if the panel is shown).
+     */
+    private void refreshRunMetrics(){
+        if(this.getBottom() == this.runMetricsPanel){
+            this.runMetricsPanel.setMetrics(this.metricsJob);
         }
     }
 
+    /**
+     * Displays the toolbar and code area within the panel.
+     */
+    private void displayCodeArea(){
+        // creating container for toolbar and code editor
+        VBox container = new VBox(this.terminalToolbar, this.codeArea);
+
+        // displaying the container
+        this.setCenter(container);
+    }
+
     /////////////////////
     // HANDLING ERRORS //
     /////////////////////
@@ -203,10 +523,24 @@ public class Terminal extends BorderPane{
 
     /**
      * Saves the terminal content into a new file.
+     * 
+     * If the content is streamed program output, the complete output is saved 
+     * (not just the lines held in the code area).
      */
     public void save(){
         try{
-            FileManager.writeContentToNewFile(this.codeArea.getCode(), this.getScene().getWindow(), Terminal.initialFileName, FileType.TABLE.getExtensionFilters());
+            // streamed output - saving the complete output
+            if(this.displayedOutput != null){
+                File chosenFile = FileManager.getNewSaveFile(this.getScene().getWindow(), Terminal.initialFileName, FileType.TABLE.getExtensionFilters());
+
+                if(chosenFile != null){
+                    this.displayedOutput.saveTo(chosenFile);
+                }
+            }
+            // other content - saving the code area content
+            else{
+                FileManager.writeContentToNewFile(this.codeArea.getCode(), this.getScene().getWindow(), Terminal.initialFileName, FileType.TABLE.getExtensionFilters());
+            }
         }
         catch(Exception e){
             PopUpWindow.showErrorWindow(this.getScene().getWindow(), e);
@@ -218,11 +552,22 @@ public class Terminal extends BorderPane{
     /////////////
 
     /**
-     * Copies the Terminal's content to the system clipboard
+     * Copies the Terminal's content to the system clipboard.
+     * 
+     * If the content is streamed program output, the complete output is copied 
+     * (not just the lines held in the code area).
      */
     public void copy(){
-        // copying the content to the clipboard
-        FileManager.copyContentToClipboard(this.codeArea.getCode());
+        try{
+            // gathering the content
+            String content = (this.displayedOutput != null) ? this.displayedOutput.getContent() : this.codeArea.getCode();
+
+            // copying the content to the clipboard
+            FileManager.copyContentToClipboard(content);
+        }
+        catch(Exception e){
+            PopUpWindow.showErrorWindow(this.getScene().getWindow(), e);
+        }
     }
 
     /////////////////////////
@@ -2,6 +2,8 @@ package View.Terminal;
 
 import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ToggleButton;
 import javafx.scene.image.ImageView;
 
 import Model.Images;
@@ -24,6 +26,8 @@ public class TerminalToolbar extends AppToolbar{
     private Button zoomInButton;
     private Button zoomOutButton;
     private Button copyButton;
+    private Label statusLabel;
+    private ToggleButton metricsButton;
 
     //////////////////
     // INITIALIZING //
@@ -42,6 +46,8 @@ public class TerminalToolbar extends AppToolbar{
         this.zoomInButton = new Button("", new ImageView(Images.ZOOM_IN));
         this.zoomOutButton = new Button("", new ImageView(Images.ZOOM_OUT));
         this.copyButton = new Button("", new ImageView(Images.COPY));
+        this.statusLabel = new Label();
+        this.metricsButton = new ToggleButton("Metrics");
 
         /////////////////
         // CONFIGURING //
@@ -53,8 +59,11 @@ public class TerminalToolbar extends AppToolbar{
         // LHS controls
         this.addGroupsLeftContainerWithSepSplice(new Node[] {this.saveAsButton},                      // SAVING GROUP
                                                  new Node[] {this.zoomInButton, this.zoomOutButton}); // ZOOM GROUP
+        // Center controls
+        this.addCenterContainer(this.statusLabel);
         // RHS controls
-        this.addRightContainerWithSep(this.copyButton);
+        this.addGroupsRightContainerWithSepSplice(new Node[] {this.metricsButton}, // METRICS GROUP
+                                                  new Node[] {this.copyButton});   // COPY GROUP
                                 
     }
 
@@ -86,5 +95,25 @@ public class TerminalToolbar extends AppToolbar{
             // copying the output
             this.terminal.copy();
         });
+
+        // metrics
+        this.metricsButton.setOnAction((e) -> {
+            // showing/hiding the run metrics
+            this.terminal.setRunMetricsShown(this.metricsButton.isSelected());
+        });
+    }
+
+    /////////////////////////
+    // GETTERS AND SETTERS //
+    /////////////////////////
+
+    /**
+     * Sets the status message displayed in the toolbar (information about the 
+     * run that produced the displayed output).
+     * 
+     * @param status The status message.
+     */
+    public void setStatus(String status){
+        this.statusLabel.setText(status);
     }
 }
\ No newline at end of file
@@ -1,17 +1,44 @@
 package View.Tools;
 
+import java.util.ArrayList;
+
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.concurrent.Worker;
 import javafx.geometry.Orientation;
 import javafx.scene.control.Separator;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
+import javafx.scene.web.WebEngine;
 import javafx.scene.web.WebView;
+import netscape.javascript.JSObject;
 
 /**
  * A code editor created by wrapping a CodeMirror application in a JavaFX
  * WebView.
- * 
+ *
  * A CodeMirror template (JavaScript code that set's up the CodeMirror widget)
- * must be supplied in order to configure the CodeArea.
+ * must be supplied in order to configure the CodeArea. The template is only
+ * loaded once - the code in the editor is then changed through the page's
+ * JavaScript (so CodeMirror, it's mode and it's addons are not re-loaded each
+ * time the code changes).
+ *
+ * The CodeArea tracks if it's code has changed since it was last marked clean
+ * (e.g., when a file is saved) using CodeMirror's change generations. The page
+ * calls back into Java (at most once per debounce interval, and only when the
+ * clean state actually changes), so tracking costs the same however large the
+ * code is.
+ *
+ * The WebView is only created when the CodeArea is activated, and can be
+ * released again by hibernating the CodeArea (e.g., when it's tab has not been
+ * used for a while). Hibernating keeps the code, undo history, cursor and scroll
+ * position in Java, and activating restores them into a new WebView. While
+ * there is no page, the CodeArea can still be read from and written to as
+ * normal.
+ *
+ * Alternatively, a CodeArea can use a SharedCodeMirror - it then only owns a
+ * CodeMirror document within the shared page, which is swapped into the shared
+ * editor when the CodeArea is activated.
  */
 public class CodeArea extends StackPane {
 
@@ -20,10 +47,49 @@ public class CodeArea extends StackPane {
     private static final double maxZoom = 2.0;
     private static final double minZoom = 0.8;
     private static final double zoomIncrement = 0.2;
+    private static final int cleanCheckDelay = 150; /** Milliseconds between a change and the clean state being checked */
+    private static final int ownDocumentId = 0; /** Identifier of the document within a CodeArea's own page */
+
+    /**
+     * JavaScript that defines the documents of a page, and the functions used to
+     * track if each document is clean (calling back into it's CodeArea's Bridge
+     * when this changes).
+     *
+     * A restored undo history does not keep CodeMirror's change generations, so
+     * code that was changed before hibernating stays changed until it is next
+     * marked clean (even if the changes are undone).
+     */
+    static final String documentScript =
+        "var docs = {};" +
+        "function trackClean(doc, bridge, clean) {" +
+        "  doc.bridge = bridge;" +
+        "  doc.cleanTimer = null;" +
+        "  doc.cleanGeneration = clean ? doc.changeGeneration(true) : -1;" +
+        "  doc.lastClean = clean;" +
+        "  doc.on('change', function() {" +
+        "    if(doc.cleanTimer === null) { doc.cleanTimer = setTimeout(function() { checkClean(doc); }, " + cleanCheckDelay + "); }" +
+        "  });" +
+        "}" +
+        "function checkClean(doc) {" +
+        "  doc.cleanTimer = null;" +
+        "  var clean = (doc.cleanGeneration >= 0) && doc.isClean(doc.cleanGeneration);" +
+        "  if(clean !== doc.lastClean) { doc.lastClean = clean; doc.bridge.cleanChanged(clean); }" +
+        "}";
 
     // member variables
-    private WebView webview;
+    private WebView webview; /** The WebView holding the CodeArea's own page (null if not active, or using a shared page) */
+    private VBox container;
     private final String codeMirrorTemplate;
+    private SharedCodeMirror sharedCodeMirror; /** The shared page the CodeArea's document is in (null if it has it's own page) */
+    private int documentId; /** Identifier of the CodeArea's document within it's page */
+    private boolean created; /** If the CodeArea's document has been (or is being) created */
+    private boolean loaded; /** If the CodeArea's document has finished loading */
+    private ArrayList<Runnable> pendingScripts; /** Scripts waiting for the document to load */
+    private String detachedCode; /** The code while there is no loaded document */
+    private String detachedState; /** The undo history, cursor and scroll position (as JSON) while there is no loaded document (null if none) */
+    private double zoom;
+    private SimpleBooleanProperty clean; /** If the code is unchanged since it was last marked clean */
+    private Bridge bridge; /** Object the page calls back into (strongly held, as the page only holds it weakly) */
 
     //////////////////
     // INITIALIZING //
@@ -31,20 +97,58 @@ public class CodeArea extends StackPane {
 
     /**
      * Class constructor.
-     * 
+     *
      * @param codeMirrorTemplate The JavaScript that will be loaded into
      * the WebView to configure the CodeMirror widget.
      * @param editingCode The initial code to be shown in the CodeMirror.
      */
     public CodeArea(String codeMirrorTemplate, String initialCode) {
-        // initializing
-        this.codeMirrorTemplate = codeMirrorTemplate;
-        this.webview = new WebView();
+        this(codeMirrorTemplate, initialCode, true);
+    }
 
-        // Configuring Member Variables //
+    /**
+     * Class constructor.
+     *
+     * @param codeMirrorTemplate The JavaScript that will be loaded into
+     * the WebView to configure the CodeMirror widget.
+     * @param editingCode The initial code to be shown in the CodeMirror.
+     * @param active If the WebView should be created straight away (if not, it
+     * is created when the CodeArea is activated).
+     */
+    public CodeArea(String codeMirrorTemplate, String initialCode, boolean active) {
+        this(null, codeMirrorTemplate, initialCode);
 
-        //configuring the zoom of the webview
-        this.webview.setZoom(startZoom);
+        // creating the webview (if needed now)
+        if(active){
+            this.activate();
+        }
+    }
+
+    /**
+     * Class constructor.
+     *
+     * @param sharedCodeMirror The shared page the CodeArea's document is held in
+     * (null if the CodeArea has it's own page). The document is created when the
+     * CodeArea is first activated.
+     * @param codeMirrorTemplate The JavaScript that will be loaded into
+     * the WebView to configure the CodeMirror widget (only the mode is used with
+     * a shared page).
+     * @param editingCode The initial code to be shown in the CodeMirror.
+     */
+    public CodeArea(SharedCodeMirror sharedCodeMirror, String codeMirrorTemplate, String initialCode) {
+        // initializing
+        this.webview = null;
+        this.codeMirrorTemplate = codeMirrorTemplate;
+        this.sharedCodeMirror = sharedCodeMirror;
+        this.documentId = (sharedCodeMirror != null) ? sharedCodeMirror.createDocumentId() : ownDocumentId;
+        this.created = false;
+        this.loaded = false;
+        this.pendingScripts = new ArrayList<Runnable>();
+        this.detachedCode = initialCode;
+        this.detachedState = null;
+        this.zoom = startZoom;
+        this.clean = new SimpleBooleanProperty(true);
+        this.bridge = new Bridge();
 
         ///////////////////////////
         // CONTAINERS AND EXTRAS //
@@ -54,20 +158,14 @@ public class CodeArea extends StackPane {
         Separator sep = new Separator(Orientation.HORIZONTAL);
 
         // container for webview and sep
-        VBox container = new VBox(sep, this.webview);
+        this.container = new VBox(sep);
 
         /////////////////
         // CONFIGURING //
         /////////////////
 
-        // setting the code into the webview (loading the code mirror)
-        this.setCode(initialCode);
-
-        // disabling right click (messes with unsaved changes detection)
-        this.webview.setContextMenuEnabled(false);
-
         // dispaying the container in the pane
-        this.getChildren().add(container);
+        this.getChildren().add(this.container);
     }
 
     ////////////////////////
@@ -76,7 +174,7 @@ public class CodeArea extends StackPane {
 
     /**
      * Updates the CodeMirror template to include the provided code.
-     * 
+     *
      * @param code The code being placed in the code mirror templatee.
      * @return The updated CodeMirror template that includes the provided code.
      */
@@ -84,20 +182,284 @@ public class CodeArea extends StackPane {
         return codeMirrorTemplate.replace("${code}", code);
     }
 
+    /**
+     * Returns the JavaScript expression for the CodeArea's document.
+     *
+     * @return The expression for the document.
+     */
+    private String doc(){
+        return "docs[" + this.documentId + "]";
+    }
+
+    /**
+     * Returns the engine of the page the CodeArea's document is in.
+     *
+     * @return The engine of the page.
+     */
+    private WebEngine getEngine(){
+        return (this.sharedCodeMirror != null) ? this.sharedCodeMirror.getWebView().getEngine() : this.webview.getEngine();
+    }
+
+    /**
+     * Runs the provided script against the CodeArea's document - straight away if
+     * the document has loaded, or once it has finished loading if not.
+     *
+     * @param script The script being run.
+     */
+    private void runWhenLoaded(Runnable script){
+        if(this.loaded){
+            script.run();
+        }
+        else{
+            this.pendingScripts.add(script);
+        }
+    }
+
+    /**
+     * Creates the CodeArea's document (if it does not already exist), and
+     * displays it.
+     *
+     * With it's own page, this creates the WebView and loads the CodeMirror page
+     * into it. With a shared page, this creates the document in the shared page
+     * and swaps it into the shared editor.
+     */
+    public void activate(){
+        this.createDocument();
+
+        // showing the document in the shared editor
+        if(this.sharedCodeMirror != null){
+            this.sharedCodeMirror.runWhenLoaded(() -> {
+                if(this.loaded){
+                    this.sharedCodeMirror.show(this);
+                }
+            });
+        }
+    }
+
+    /**
+     * Creates the CodeArea's document if it does not already exist, restoring the
+     * code and editing state held since the CodeArea was created or hibernated.
+     */
+    private void createDocument(){
+        if(this.created){
+            return;
+        }
+        this.created = true;
+
+        // SHARED PAGE //
+        if(this.sharedCodeMirror != null){
+            this.sharedCodeMirror.runWhenLoaded(() -> {
+                if(this.created){ // may have been closed while the page was loading
+                    this.getEngine().executeScript(this.doc() + " = CodeMirror.Doc('', '" + SharedCodeMirror.getMode(this.codeMirrorTemplate) + "');");
+                    this.onDocumentLoaded();
+                }
+            });
+            return;
+        }
+
+        // OWN PAGE //
+
+        // creating the webview
+        WebView webview = new WebView();
+        webview.setZoom(this.zoom);
+        this.webview = webview;
+
+        // restoring state and running pending scripts once the page has loaded
+        webview.getEngine().getLoadWorker().stateProperty().addListener((observable, oldState, newState) -> {
+            if(newState == Worker.State.SUCCEEDED && this.webview == webview){
+                this.getEngine().executeScript(CodeArea.documentScript + this.doc() + " = editor.getDoc();");
+                this.onDocumentLoaded();
+            }
+        });
+
+        // loading the code mirror (once) - the code is placed in it once it has loaded
+        webview.getEngine().loadContent(this.updateCodeMirrorTemplate(""));
+
+        // disabling right click (messes with unsaved changes detection)
+        webview.setContextMenuEnabled(false);
+
+        // displaying the webview
+        this.container.getChildren().add(webview);
+    }
+
+    /**
+     * Restores the code and editing state into the newly loaded document, starts
+     * tracking it's clean state, and runs any scripts that were waiting for it.
+     */
+    private void onDocumentLoaded(){
+        this.loaded = true;
+
+        // passing the code, state and bridge into the page
+        JSObject window = (JSObject) this.getEngine().executeScript("window");
+        window.setMember("newCode", this.detachedCode);
+        window.setMember("newState", this.detachedState);
+        window.setMember("newBridge", this.bridge);
+
+        // restoring the code and state
+        this.getEngine().executeScript(
+            "(function(doc) {" +
+            "  doc.setValue(newCode);" +
+            "  doc.clearHistory();" +
+            "  if(newState != null) {" +
+            "    var state = JSON.parse(newState);" +
+            "    doc.setHistory(state.history);" +
+            "    doc.setCursor(state.cursor);" +
+            "    if(editor.getDoc() === doc) { editor.scrollTo(state.scroll.left, state.scroll.top); }" +
+            "  }" +
+            "  trackClean(doc, newBridge, " + this.isClean() + ");" +
+            "  newCode = null;" +
+            "  newState = null;" +
+            "  newBridge = null;" +
+            "})(" + this.doc() + ");");
+
+        this.detachedCode = null;
+        this.detachedState = null;
+
+        // running scripts in the order they were requested
+        ArrayList<Runnable> scripts = new ArrayList<Runnable>(this.pendingScripts);
+        this.pendingScripts.clear();
+        for(Runnable script : scripts){
+            script.run();
+        }
+    }
+
+    /**
+     * Releases the WebView, keeping the code, undo history, cursor and scroll
+     * position so they can be restored when the CodeArea is next activated.
+     *
+     * Does nothing if the CodeArea is not active, it's page is still loading, or
+     * it uses a shared page (where it only holds a document).
+     */
+    public void hibernate(){
+        if(this.webview == null || !this.loaded){
+            return;
+        }
+
+        // bringing the clean state up to date before the page is released
+        this.checkClean();
+
+        // keeping the code and editing state
+        this.detachedCode = this.getCode();
+        this.detachedState = (String) this.getEngine().executeScript(
+            "JSON.stringify({" +
+            "  history: editor.getHistory()," +
+            "  cursor: editor.getCursor()," +
+            "  scroll: editor.getScrollInfo()" +
+            "});");
+
+        // releasing the webview (unloading the page first so WebKit frees it)
+        this.container.getChildren().remove(this.webview);
+        this.webview.getEngine().loadContent("");
+        this.webview = null;
+        this.created = false;
+        this.loaded = false;
+    }
+
+    /**
+     * Releases the CodeArea's document (and WebView) once it is no longer needed.
+     */
+    public void close(){
+        // SHARED PAGE //
+        if(this.sharedCodeMirror != null){
+            this.sharedCodeMirror.hide(this);
+            if(this.loaded){
+                this.getEngine().executeScript(
+                    "if(editor.getDoc() === " + this.doc() + ") { editor.swapDoc(CodeMirror.Doc('')); }" +
+                    "delete " + this.doc() + ";");
+            }
+        }
+        // OWN PAGE //
+        else if(this.webview != null){
+            this.container.getChildren().remove(this.webview);
+            this.webview.getEngine().loadContent("");
+            this.webview = null;
+        }
+
+        this.created = false;
+        this.loaded = false;
+        this.pendingScripts.clear();
+    }
+
+    /**
+     * Marks the current code as clean (e.g., after it has been saved).
+     */
+    public void markClean(){
+        this.clean.set(true);
+        if(this.loaded){
+            this.getEngine().executeScript(this.doc() + ".cleanGeneration = " + this.doc() + ".changeGeneration(true); " + this.doc() + ".lastClean = true;");
+        }
+    }
+
+    /**
+     * Marks the current code as changed, so that it is not clean until it is
+     * next marked clean.
+     */
+    public void markDirty(){
+        this.clean.set(false);
+        if(this.loaded){
+            this.getEngine().executeScript(this.doc() + ".cleanGeneration = -1; " + this.doc() + ".lastClean = false;");
+        }
+    }
+
+    /**
+     * Checks the clean state of the editor straight away (rather than waiting
+     * for the debounced check).
+     */
+    public void checkClean(){
+        if(this.loaded){
+            this.getEngine().executeScript("checkClean(" + this.doc() + ");");
+        }
+    }
+
+    /**
+     * Appends the provided code to the end of the code editor, and removes lines
+     * from the start of the editor so that it holds at most the provided number
+     * of lines.
+     *
+     * The code is passed into the page as a Java object (rather than being placed
+     * into the page source), so it does not need to be escaped, and the page does
+     * not need to be reloaded.
+     *
+     * @param code The code being appended.
+     * @param maxLines The maximum number of lines to be held in the editor.
+     */
+    public void appendCode(String code, int maxLines){
+        this.createDocument();
+        this.runWhenLoaded(() -> {
+            // passing the code into the page
+            JSObject window = (JSObject) this.getEngine().executeScript("window");
+            window.setMember("appendedCode", code);
+
+            // appending the code and trimming the editor
+            this.getEngine().executeScript(
+                "(function(doc) {" +
+                "  var last = doc.lastLine();" +
+                "  var empty = (doc.lineCount() == 1 && doc.getLine(0) == '');" +
+                "  doc.replaceRange((empty ? '' : '\\n') + appendedCode, CodeMirror.Pos(last, doc.getLine(last).length));" +
+                "  var excess = doc.lineCount() - " + maxLines + ";" +
+                "  if(excess > 0) { doc.replaceRange('', CodeMirror.Pos(0, 0), CodeMirror.Pos(excess, 0)); }" +
+                "  doc.clearHistory();" + // appended output should not be undoable (and history would keep trimmed lines in memory)
+                "  appendedCode = null;" +
+                "})(" + this.doc() + ");");
+        });
+    }
+
     /**
      * Performs an undo action on the code editor.
      */
     public void undo(){
         // running the undo method
-        this.webview.getEngine().executeScript("editor.undo()");
+        this.createDocument();
+        this.runWhenLoaded(() -> this.getEngine().executeScript(this.doc() + ".undo()"));
     }
 
     /**
      * Performs a redo action on the code editor.
      */
     public void redo(){
-        // running the undo method
-        webview.getEngine().executeScript("editor.redo()");
+        // running the redo method
+        this.createDocument();
+        this.runWhenLoaded(() -> this.getEngine().executeScript(this.doc() + ".redo()"));
     }
 
     /**
@@ -105,8 +467,9 @@ public class CodeArea extends StackPane {
      */
     public void zoomIn(){
         // zooming the webview
-        if(this.webview.getZoom() <= maxZoom){
-            this.webview.setZoom(this.webview.getZoom() + zoomIncrement);
+        if(this.zoom <= maxZoom){
+            this.zoom += zoomIncrement;
+            this.updateZoom();
         }
     }
 
@@ -115,8 +478,44 @@ public class CodeArea extends StackPane {
      */
     public void zoomOut(){
         // zooming the webview
-        if(this.webview.getZoom() >= minZoom){
-            this.webview.setZoom(this.webview.getZoom() - zoomIncrement);
+        if(this.zoom >= minZoom){
+            this.zoom -= zoomIncrement;
+            this.updateZoom();
+        }
+    }
+
+    /**
+     * Applies the CodeArea's zoom to the WebView displaying it (if there is one).
+     */
+    private void updateZoom(){
+        if(this.webview != null){
+            this.webview.setZoom(this.zoom);
+        }
+        else if(this.sharedCodeMirror != null && this.sharedCodeMirror.isShowing(this)){
+            this.sharedCodeMirror.getWebView().setZoom(this.zoom);
+        }
+    }
+
+    ////////////
+    // BRIDGE //
+    ////////////
+
+    /**
+     * Object passed into the CodeMirror page, that the page calls to tell the
+     * CodeArea about changes to it's state.
+     *
+     * Public, as the page can only call public methods of public classes.
+     */
+    public class Bridge {
+
+        /**
+         * Called by the page when the clean state of the editor changes.
+         *
+         * @param clean If the editor's code is unchanged since it was last
+         * marked clean.
+         */
+        public void cleanChanged(boolean clean){
+            CodeArea.this.clean.set(clean);
         }
     }
 
@@ -124,12 +523,71 @@ public class CodeArea extends StackPane {
     // GETTERS AND SETTERS //
     /////////////////////////
 
+    VBox getContainer(){
+        return this.container;
+    }
+
+    int getDocumentId(){
+        return this.documentId;
+    }
+
+    double getZoom(){
+        return this.zoom;
+    }
+
+    public ReadOnlyBooleanProperty cleanProperty(){
+        return this.clean;
+    }
+
+    public boolean isClean(){
+        return this.clean.get();
+    }
+
+    public boolean isActive(){
+        return this.webview != null;
+    }
+
     public String getCode() {
-        return (String ) this.webview.getEngine().executeScript("editor.getValue();");
+        // no loaded document - the code is held in Java
+        if(!this.loaded){
+            return this.detachedCode;
+        }
+
+        return (String ) this.getEngine().executeScript(this.doc() + ".getValue();");
     }
 
+    /**
+     * Replaces the code in the editor.
+     *
+     * The code is passed into the page as a Java object (rather than being placed
+     * into the page source), so it does not need to be escaped, and the page does
+     * not need to be reloaded. As with opening a file, the replaced code cannot
+     * be returned to with undo.
+     *
+     * @param code The code being placed into the editor.
+     */
     public void setCode(String code) {
-        // updating the code-editor
-        this.webview.getEngine().loadContent(this.updateCodeMirrorTemplate(code));
+        // no loaded document - holding the code until there is one
+        if(!this.loaded){
+            this.detachedCode = code;
+            this.detachedState = null;
+        }
+        else{
+            // passing the code into the page
+            JSObject window = (JSObject) this.getEngine().executeScript("window");
+            window.setMember("newCode", code);
+
+            // replacing the code
+            this.getEngine().executeScript(
+                "(function(doc) {" +
+                "  doc.setValue(newCode);" +
+                "  doc.clearHistory();" +
+                "  if(editor.getDoc() === doc) { editor.scrollTo(0, 0); }" +
+                "  newCode = null;" +
+                "})(" + this.doc() + ");");
+        }
+
+        // the new code is the new clean state
+        this.markClean();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,195 @@
+package View.Tools;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javafx.concurrent.Worker;
+import javafx.scene.layout.Pane;
+import javafx.scene.web.WebView;
+
+import Model.FileType;
+
+/**
+ * A single WebView and CodeMirror editor shared between many CodeAreas.
+ *
+ * Each CodeArea using the shared editor owns a CodeMirror.Doc within the page
+ * (holding it's code, undo history, cursor and scroll position), and the doc is
+ * swapped into the editor when the CodeArea is shown. Only one CodeArea can be
+ * shown at a time, so each one only costs the memory of it's document, and
+ * switching between them does not load a page.
+ *
+ * The page loads the scripts and stylesheets of every FileType's CodeMirror
+ * template, and each document uses the mode from it's own template. The
+ * options of the editor itself (line numbers, theme, etc.) are those of the
+ * CSVQL template.
+ */
+public class SharedCodeMirror {
+
+    // constants
+    private static final Pattern headTagPattern = Pattern.compile("<script[^>]*></script>|<link[^>]*>");
+    private static final Pattern modePattern = Pattern.compile("mode:\\s*\"([^\"]*)\"");
+
+    // member variables
+    private WebView webview;
+    private boolean loaded; /** If the page has finished loading */
+    private ArrayList<Runnable> pendingScripts; /** Scripts waiting for the page to load */
+    private CodeArea shownCodeArea; /** The CodeArea currently displaying the editor (null if none) */
+    private int nextDocumentId;
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     */
+    public SharedCodeMirror(){
+        // initializing
+        this.webview = new WebView();
+        this.loaded = false;
+        this.pendingScripts = new ArrayList<Runnable>();
+        this.shownCodeArea = null;
+        this.nextDocumentId = 1;
+
+        // Configuring Member Variables //
+
+        // running pending scripts once the page has loaded
+        this.webview.getEngine().getLoadWorker().stateProperty().addListener((observable, oldState, newState) -> {
+            if(newState == Worker.State.SUCCEEDED){
+                this.loaded = true;
+
+                // defining the functions used to track each document
+                this.webview.getEngine().executeScript(CodeArea.documentScript);
+
+                // running scripts in the order they were requested
+                ArrayList<Runnable> scripts = new ArrayList<Runnable>(this.pendingScripts);
+                this.pendingScripts.clear();
+                for(Runnable script : scripts){
+                    script.run();
+                }
+            }
+        });
+
+        /////////////////
+        // CONFIGURING //
+        /////////////////
+
+        // loading the page (once)
+        this.webview.getEngine().loadContent(SharedCodeMirror.createTemplate());
+
+        // disabling right click (messes with unsaved changes detection)
+        this.webview.setContextMenuEnabled(false);
+    }
+
+    /**
+     * Creates the page for the shared editor - the CSVQL template, with the
+     * scripts and stylesheets of every FileType's template in it's head.
+     *
+     * @return The page for the shared editor.
+     */
+    private static String createTemplate(){
+        // gathering the head tags of every template (without duplicates)
+        LinkedHashSet<String> headTags = new LinkedHashSet<String>();
+        for(FileType fileType : FileType.values()){
+            Matcher matcher = headTagPattern.matcher(fileType.getCodeMirrorTemplate());
+            while(matcher.find()){
+                headTags.add(matcher.group());
+            }
+        }
+
+        // placing them into the CSVQL template
+        String template = FileType.PROGRAM_CSVQL.getCodeMirrorTemplate().replace("${code}", "");
+        int headStart = template.indexOf("<head>") + "<head>".length();
+        int headEnd = template.indexOf("</head>");
+
+        return template.substring(0, headStart) + String.join("", headTags) + template.substring(headEnd);
+    }
+
+    /**
+     * Returns the CodeMirror mode set in the provided template.
+     *
+     * @param codeMirrorTemplate The template the mode is taken from.
+     * @return The mode set in the template (empty if there is none).
+     */
+    static String getMode(String codeMirrorTemplate){
+        Matcher matcher = modePattern.matcher(codeMirrorTemplate);
+        return matcher.find() ? matcher.group(1) : "";
+    }
+
+    ////////////////////////
+    // MANAGEMENT METHODS //
+    ////////////////////////
+
+    /**
+     * Runs the provided script against the page - straight away if the page has
+     * loaded, or once it has finished loading if not.
+     *
+     * @param script The script being run.
+     */
+    void runWhenLoaded(Runnable script){
+        if(this.loaded){
+            script.run();
+        }
+        else{
+            this.pendingScripts.add(script);
+        }
+    }
+
+    /**
+     * Returns a new identifier for a document within the page.
+     *
+     * @return The identifier.
+     */
+    int createDocumentId(){
+        return this.nextDocumentId++;
+    }
+
+    /**
+     * Displays the editor within the provided CodeArea, showing it's document.
+     *
+     * The CodeArea's document must already have been created in the page.
+     *
+     * @param codeArea The CodeArea the editor is shown in.
+     */
+    void show(CodeArea codeArea){
+        // moving the webview into the code area
+        if(this.shownCodeArea != codeArea){
+            this.hide(this.shownCodeArea);
+            codeArea.getContainer().getChildren().add(this.webview);
+            this.shownCodeArea = codeArea;
+        }
+
+        // swapping in the code area's document
+        this.webview.setZoom(codeArea.getZoom());
+        this.webview.getEngine().executeScript(
+            "if(editor.getDoc() !== docs[" + codeArea.getDocumentId() + "]) {" +
+            "  editor.swapDoc(docs[" + codeArea.getDocumentId() + "]);" +
+            "}");
+    }
+
+    /**
+     * Removes the editor from the provided CodeArea (if it is being shown in it).
+     *
+     * @param codeArea The CodeArea the editor is removed from.
+     */
+    void hide(CodeArea codeArea){
+        if(codeArea != null && this.shownCodeArea == codeArea){
+            ((Pane) this.webview.getParent()).getChildren().remove(this.webview);
+            this.shownCodeArea = null;
+        }
+    }
+
+    /////////////////////////
+    // GETTERS AND SETTERS //
+    /////////////////////////
+
+    WebView getWebView(){
+        return this.webview;
+    }
+
+    boolean isShowing(CodeArea codeArea){
+        return this.shownCodeArea == codeArea;
+    }
+}
@@ -0,0 +1,285 @@
+package View.Tools;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.ObservableListBase;
+import javafx.concurrent.Task;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.StackPane;
+
+import Controller.MappedCsvReader;
+
+/**
+ * A read-only grid that displays a delimited table straight from it's file.
+ *
+ * The file is indexed by a MappedCsvReader in the background (recording only
+ * the offset of each row), and the grid is a virtualised TableView over the row
+ * indexes - so only the rows that are on screen are ever decoded, and a table
+ * of any size opens once it has been indexed.
+ */
+public class TableGrid extends StackPane {
+
+    // constants
+    private static final int sampleRows = 1000; /** Number of rows checked to find the number of columns */
+    private static final double cellSize = 24;
+
+    // member variables
+    private TableView<Integer> tableView;
+    private Label placeholder;
+    private MappedCsvReader reader; /** Reader for the displayed file (null until indexed) */
+    private Task<MappedCsvReader> indexTask; /** Task indexing the file (null if not indexing) */
+    private File file; /** The file being displayed (null if none) */
+    private String delim; /** Delimiter between the fields of the displayed file */
+    private long fileLength; /** Size of the file when it was indexed */
+    private long fileModified; /** Modified time of the file when it was indexed */
+    private int cachedRow; /** Row whose field offsets are cached (-1 if none) */
+    private long[] cachedOffsets; /** Field offsets of the cached row (cells of a row are read together) */
+
+    //////////////////
+    // INITIALIZING //
+    //////////////////
+
+    /**
+     * Class constructor.
+     */
+    public TableGrid(){
+        // initializing
+        this.tableView = new TableView<Integer>();
+        this.placeholder = new Label();
+        this.reader = null;
+        this.indexTask = null;
+        this.file = null;
+        this.delim = null;
+        this.cachedRow = -1;
+        this.cachedOffsets = null;
+
+        // Configuring Member Variables //
+
+        // fixed row height, so the rows on screen can be found without measuring them
+        this.tableView.setFixedCellSize(cellSize);
+        this.tableView.setPlaceholder(this.placeholder);
+
+        /////////////////
+        // CONFIGURING //
+        /////////////////
+
+        // dispaying the table view in the pane
+        this.getChildren().add(this.tableView);
+    }
+
+    ////////////////////////
+    // MANAGEMENT METHODS //
+    ////////////////////////
+
+    /**
+     * Displays the provided file in the grid, indexing it in the background.
+     *
+     * Does nothing if the file is already displayed (with the same delimiter)
+     * and has not changed since it was indexed.
+     *
+     * @param file The file being displayed.
+     * @param delim The delimiter between the fields of the file.
+     */
+    public void open(File file, String delim){
+        // file already displayed and unchanged
+        if(file.equals(this.file) && delim.equals(this.delim) && file.length() == this.fileLength && file.lastModified() == this.fileModified){
+            return;
+        }
+
+        // cancelling any previous index
+        if(this.indexTask != null){
+            this.indexTask.cancel();
+        }
+
+        long length = file.length();
+        long modified = file.lastModified();
+        this.file = file;
+        this.delim = delim;
+        this.fileLength = length;
+        this.fileModified = modified;
+        this.clear();
+        this.placeholder.setText("Indexing '" + file.getName() + "'...");
+
+        // reader created by the task (taken by whichever of the task and the grid finishes with it)
+        AtomicReference<MappedCsvReader> indexedReader = new AtomicReference<MappedCsvReader>();
+
+        // task to index the file
+        Task<MappedCsvReader> indexTask = new Task<MappedCsvReader>(){
+            @Override
+            protected MappedCsvReader call() throws Exception{
+                MappedCsvReader reader = new MappedCsvReader(file, delim, Runtime.getRuntime().availableProcessors());
+                indexedReader.set(reader);
+
+                // reader no longer needed (if cancelled later, it is closed when the cancel is handled)
+                if(this.isCancelled()){
+                    TableGrid.closeReader(indexedReader);
+                }
+
+                return reader;
+            }
+        };
+        this.indexTask = indexTask;
+
+        // file indexed
+        indexTask.setOnSucceeded((e) -> {
+            this.indexTask = null;
+            this.display(indexedReader.getAndSet(null));
+        });
+
+        // file could not be indexed
+        indexTask.setOnFailed((e) -> {
+            this.indexTask = null;
+            this.placeholder.setText(indexTask.getException().getMessage());
+        });
+
+        // index cancelled - closing the reader if it was created
+        indexTask.setOnCancelled((e) -> {
+            TableGrid.closeReader(indexedReader);
+        });
+
+        // starting the task
+        Thread thread = new Thread(indexTask, "table-indexer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Displays the rows of the provided reader.
+     *
+     * @param reader The reader for the indexed file.
+     */
+    private void display(MappedCsvReader reader){
+        this.reader = reader;
+        this.placeholder.setText("'" + this.file.getName() + "' is empty.");
+
+        // finding the number of columns from the first rows
+        int columnCount = 0;
+        for(int row = 0; row < Math.min(reader.getRowCount(), sampleRows); row++){
+            columnCount = Math.max(columnCount, reader.getFieldOffsets(row).length / 2);
+        }
+
+        // row number column
+        TableColumn<Integer, String> rowColumn = new TableColumn<Integer, String>("#");
+        rowColumn.setCellValueFactory((cell) -> new ReadOnlyObjectWrapper<String>(String.valueOf(cell.getValue() + 1)));
+        rowColumn.setSortable(false);
+        this.tableView.getColumns().add(rowColumn);
+
+        // field columns
+        for(int column = 0; column < columnCount; column++){
+            int field = column;
+            TableColumn<Integer, String> tableColumn = new TableColumn<Integer, String>("Column " + (column + 1));
+            tableColumn.setCellValueFactory((cell) -> new ReadOnlyObjectWrapper<String>(this.getField(cell.getValue(), field)));
+            tableColumn.setSortable(false);
+            this.tableView.getColumns().add(tableColumn);
+        }
+
+        // rows (only the indexes - values are read when a row is shown)
+        this.tableView.setItems(new RowIndexes(reader.getRowCount()));
+    }
+
+    /**
+     * Returns the value of the provided field of the displayed file.
+     *
+     * @param row The index of the row.
+     * @param field The index of the field within the row.
+     * @return The value of the field (empty if the row does not have the field).
+     */
+    private String getField(int row, int field){
+        if(this.reader == null){
+            return "";
+        }
+
+        // locating the fields of the row (once per row)
+        if(row != this.cachedRow){
+            this.cachedOffsets = this.reader.getFieldOffsets(row);
+            this.cachedRow = row;
+        }
+
+        if(2 * field + 1 >= this.cachedOffsets.length){
+            return "";
+        }
+        return this.reader.getField(this.cachedOffsets[2 * field], this.cachedOffsets[2 * field + 1]);
+    }
+
+    /**
+     * Removes the displayed rows and closes the reader.
+     */
+    private void clear(){
+        this.tableView.setItems(null);
+        this.tableView.getColumns().clear();
+        this.cachedRow = -1;
+        this.cachedOffsets = null;
+
+        if(this.reader != null){
+            this.reader.close();
+            this.reader = null;
+        }
+    }
+
+    /**
+     * Closes the reader held by the provided reference (if it still holds one),
+     * taking it so that it is only ever closed once.
+     *
+     * @param reference The reference holding the reader.
+     */
+    private static void closeReader(AtomicReference<MappedCsvReader> reference){
+        MappedCsvReader reader = reference.getAndSet(null);
+        if(reader != null){
+            reader.close();
+        }
+    }
+
+    /**
+     * Stops displaying the file, releasing it's index (and the file, so that it
+     * can be written to).
+     */
+    public void close(){
+        if(this.indexTask != null){
+            this.indexTask.cancel();
+            this.indexTask = null;
+        }
+        this.clear();
+        this.file = null;
+        this.delim = null;
+    }
+
+    /////////////////
+    // ROW INDEXES //
+    /////////////////
+
+    /**
+     * The items of the grid - the indexes of the rows of the file, without
+     * holding a value for each of them.
+     */
+    private static class RowIndexes extends ObservableListBase<Integer> {
+
+        // member variables
+        private int rowCount;
+
+        /**
+         * Class constructor.
+         *
+         * @param rowCount The number of rows in the file.
+         */
+        public RowIndexes(int rowCount){
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public Integer get(int index){
+            if(index < 0 || index >= this.rowCount){
+                throw new IndexOutOfBoundsException(index);
+            }
+            return index;
+        }
+
+        @Override
+        public int size(){
+            return this.rowCount;
+        }
+    }
+}
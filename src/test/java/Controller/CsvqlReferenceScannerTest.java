@@ -0,0 +1,65 @@
+package Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the CsvqlReferenceScanner - finding the tables a program reads and
+ * the tables it may write to.
+ */
+public class CsvqlReferenceScannerTest {
+
+    private static final ArrayList<File> TABLES = new ArrayList<File>(Arrays.asList(new File("A.csv"), 
+                                                                                   new File("B.csv"), 
+                                                                                   new File("C.csv"),
+                                                                                   new File("D.csv")));
+
+    /**
+     * Returns the names of the provided files.
+     *
+     * @param files The files.
+     * @return The names of the files.
+     */
+    private static List<String> getNames(ArrayList<File> files){
+        ArrayList<String> names = new ArrayList<String>();
+        for(File file : files){
+            names.add(file.getName());
+        }
+        return names;
+    }
+
+    @Test
+    public void findsReferencedTables(){
+        String program = "LET @a = READ \"data/A.csv\";\n" + 
+                         "RETURN @a JOIN READ 'B.csv' ON 1 = 1;\n" + 
+                         "RETURN READ C;";
+
+        assertEquals(Arrays.asList("A.csv", "B.csv", "C.csv"), getNames(CsvqlReferenceScanner.getReferencedTables(program, TABLES)));
+    }
+
+    @Test
+    public void findsWrittenTables(){
+        String program = "LET a = READ 'A.csv';\n" + 
+                         "LET b = a;\n" + 
+                         "INSERT VALUES (\"x;y\") INTO b;\n" + 
+                         "RETURN SELECT * FROM \"B.csv\";\n" + 
+                         "DELETE FROM 'C.csv' WHERE 1 = \"z\";\n" + 
+                         "RETURN READ 'D.csv';";
+
+        assertEquals(Arrays.asList("A.csv", "C.csv"), getNames(CsvqlReferenceScanner.getWrittenTables(program, TABLES)));
+    }
+
+    @Test
+    public void findsNoWrittenTablesInReadOnlyProgram(){
+        String program = "LET a = READ 'A.csv';\n" + 
+                         "RETURN a UNION READ 'B.csv';";
+
+        assertEquals(Arrays.asList(), getNames(CsvqlReferenceScanner.getWrittenTables(program, TABLES)));
+    }
+}
@@ -0,0 +1,74 @@
+package Controller.Engine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the ColumnarCache - storing and loading tables, and ignoring cached
+ * tables once their file has changed.
+ */
+public class ColumnarCacheTest {
+
+    @TempDir
+    Path tmpDir; /** Directory the test tables are written into */
+
+    /**
+     * Writes the provided content into a new table file.
+     *
+     * @param name The name of the file.
+     * @param content The content of the file.
+     * @return The table file.
+     */
+    private File writeTable(String name, String content) throws Exception{
+        Path file = this.tmpDir.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
+
+    @Test
+    public void loadsStoredTable() throws Exception{
+        File file = this.writeTable("stored.csv", "a,b,c\n1,,3\nx\n");
+        ColumnarTable table = ColumnarTable.read(file, ",");
+        String key = ColumnarCache.getKey(file, ",");
+        ColumnarCache.store(file, ",", key, table);
+
+        ColumnarTable loaded = ColumnarCache.load(file, ",", key);
+        assertEquals(table.getRowCount(), loaded.getRowCount());
+        assertEquals(table.getColumnCount(), loaded.getColumnCount());
+        for(int row = 0; row < table.getRowCount(); row++){
+            assertArrayEquals(table.getRow(row), loaded.getRow(row));
+        }
+    }
+
+    @Test
+    public void ignoresChangedTable() throws Exception{
+        File file = this.writeTable("changed.csv", "a,b\n1,2\n");
+        String key = ColumnarCache.getKey(file, ",");
+        ColumnarCache.store(file, ",", key, ColumnarTable.read(file, ","));
+
+        // content changed - new key, and the stored table is not loaded
+        this.writeTable("changed.csv", "a,b\n1,2\n3,4\n");
+        String newKey = ColumnarCache.getKey(file, ",");
+        assertNotEquals(key, newKey);
+        assertNull(ColumnarCache.load(file, ",", newKey));
+    }
+
+    @Test
+    public void ignoresOtherDelimiter() throws Exception{
+        File file = this.writeTable("delim.csv", "a;b\n1;2\n");
+        String key = ColumnarCache.getKey(file, ",");
+        ColumnarCache.store(file, ",", key, ColumnarTable.read(file, ","));
+
+        assertNull(ColumnarCache.load(file, ";", ColumnarCache.getKey(file, ";")));
+    }
+}
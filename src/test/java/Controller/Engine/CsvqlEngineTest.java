@@ -0,0 +1,91 @@
+package Controller.Engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the CsvqlEngine - running supported programs, and falling back
+ * (with an UnsupportedProgramException) on programs it cannot run the same way
+ * as the interpreter.
+ */
+public class CsvqlEngineTest {
+
+    @TempDir
+    Path tmpDir; /** Directory the test tables are written into */
+
+    private ArrayList<File> tables; /** Tables available to the programs */
+
+    /**
+     * Writes the provided content into a new table file.
+     *
+     * @param name The name of the file.
+     * @param content The content of the file.
+     * @return The table file.
+     */
+    private File writeTable(String name, String content) throws Exception{
+        Path file = this.tmpDir.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
+
+    @BeforeEach
+    public void writeTables() throws Exception{
+        this.tables = new ArrayList<File>();
+        this.tables.add(this.writeTable("people.csv", "ann,31,1\nbob,17,2\ncat,45,1\n"));
+        this.tables.add(this.writeTable("places.csv", "1,leeds\n2,york\n"));
+        this.tables.add(this.writeTable("quoted.csv", "\"a,b\",1\n"));
+    }
+
+    /**
+     * Runs the provided program against the test tables.
+     *
+     * @param program The source code of the program.
+     * @return The lines of output.
+     * @throws Exception Thrown if the program could not be run.
+     */
+    private ArrayList<String> run(String program) throws Exception{
+        return CsvqlEngine.run(program, this.tables, () -> {});
+    }
+
+    @Test
+    public void runsSupportedProgram() throws Exception{
+        String program = "SETUP { OUTPUTDELIM \";\"; }\n" + 
+                         "LET @people = READ \"people.csv\";\n" + 
+                         "RETURN SELECT 1, 2 FROM @people WHERE 2 > \"18\" ORDER BY 1 DESC;\n" + 
+                         "RETURN (@people JOIN READ \"places.csv\" ON 3 = 1) LIMIT 1 OFFSET 1;";
+
+        assertEquals(Arrays.asList("cat;45", "ann;31", "bob;17;2;2;york"), this.run(program));
+    }
+
+    @Test
+    public void fallsBackOnUnsupportedPrograms(){
+        // syntax the engine does not support
+        assertThrows(UnsupportedProgramException.class, () -> this.run("INSERT VALUES (\"a\") INTO READ \"people.csv\";"));
+
+        // column outside of the table
+        assertThrows(UnsupportedProgramException.class, () -> this.run("RETURN SELECT 9 FROM READ \"people.csv\";"));
+
+        // undefined variable
+        assertThrows(UnsupportedProgramException.class, () -> this.run("RETURN @missing;"));
+
+        // table that is not available
+        assertThrows(UnsupportedProgramException.class, () -> this.run("RETURN READ \"missing.csv\";"));
+
+        // quoted fields are left to the interpreter
+        assertThrows(UnsupportedProgramException.class, () -> this.run("RETURN READ \"quoted.csv\";"));
+
+        // output that would need quoting
+        assertThrows(UnsupportedProgramException.class, () -> this.run("SETUP { OUTPUTDELIM \"1\"; }\nRETURN READ \"people.csv\";"));
+    }
+}
@@ -0,0 +1,112 @@
+package Controller.Engine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the JoinOperator, comparing it's hash join against a nested-loop
+ * join of the same tables.
+ */
+public class JoinOperatorTest {
+
+    /**
+     * Finds the matching pairs of two tables by comparing every pair of rows.
+     *
+     * @param left The left table.
+     * @param leftIndex The join column of the left table.
+     * @param right The right table.
+     * @param rightIndex The join column of the right table.
+     * @return The matching pairs, as (left row << 32 | right row), sorted.
+     */
+    private static long[] nestedLoopMatches(Table left, int leftIndex, Table right, int rightIndex){
+        long[] matches = new long[16];
+        int count = 0;
+        for(int l = 0; l < left.getRowCount(); l++){
+            for(int r = 0; r < right.getRowCount(); r++){
+                if(left.get(l, leftIndex).equals(right.get(r, rightIndex))){
+                    if(count == matches.length){
+                        matches = Arrays.copyOf(matches, count * 2);
+                    }
+                    matches[count++] = ((long) l << 32) | r;
+                }
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Creates a table whose first column holds values drawn from the provided
+     * number of keys (some rows are short, so have no join column).
+     *
+     * @param random The source of the values.
+     * @param rowCount The number of rows.
+     * @param keyCount The number of distinct keys.
+     * @param hotKeyShare The fraction of rows holding the same key (skew).
+     * @param columnar If the table is a ColumnarTable rather than a RowTable.
+     * @return The table.
+     */
+    private static Table createTable(Random random, int rowCount, int keyCount, double hotKeyShare, boolean columnar){
+        ArrayList<String[]> rows = new ArrayList<String[]>();
+        for(int row = 0; row < rowCount; row++){
+            if(random.nextInt(50) == 0){
+                rows.add(new String[0]);
+                continue;
+            }
+            String key = (random.nextDouble() < hotKeyShare) ? "hot" : "k" + random.nextInt(keyCount);
+            rows.add(new String[] {key, String.valueOf(row)});
+        }
+
+        if(!columnar){
+            return new RowTable(rows);
+        }
+        ColumnarTable table = new ColumnarTable();
+        for(String[] row : rows){
+            table.addRow(row);
+        }
+        table.finish();
+        return table;
+    }
+
+    @Test
+    public void matchesNestedLoopJoin(){
+        Random random = new Random(1);
+        for(boolean columnar : new boolean[] {false, true}){
+            Table left = createTable(random, 700, 200, 0, columnar);
+            Table right = createTable(random, 900, 200, 0, columnar);
+
+            assertArrayEquals(nestedLoopMatches(left, 0, right, 0), JoinOperator.findMatches(left, 0, right, 0));
+            assertArrayEquals(nestedLoopMatches(right, 0, left, 0), JoinOperator.findMatches(right, 0, left, 0));
+        }
+    }
+
+    @Test
+    public void matchesNestedLoopJoinWhenPartitioned(){
+        Random random = new Random(2);
+        for(boolean columnar : new boolean[] {false, true}){
+            Table left = createTable(random, 2000, 1500, 0, columnar);
+            Table right = createTable(random, 1500, 1500, 0, columnar);
+
+            // a tiny budget, so the build side is partitioned
+            assertArrayEquals(nestedLoopMatches(left, 0, right, 0), JoinOperator.findMatches(left, 0, right, 0, 1024));
+            assertArrayEquals(nestedLoopMatches(right, 0, left, 0), JoinOperator.findMatches(right, 0, left, 0, 1024));
+        }
+    }
+
+    @Test
+    public void matchesNestedLoopJoinWhenSkewed(){
+        Random random = new Random(3);
+        for(boolean columnar : new boolean[] {false, true}){
+            // most rows share a single key, which cannot be split over partitions
+            Table left = createTable(random, 1200, 300, 0.8, columnar);
+            Table right = createTable(random, 1000, 300, 0.6, columnar);
+
+            assertArrayEquals(nestedLoopMatches(left, 0, right, 0), JoinOperator.findMatches(left, 0, right, 0, 1024));
+            assertArrayEquals(nestedLoopMatches(left, 0, right, 0), JoinOperator.findMatches(left, 0, right, 0));
+        }
+    }
+}
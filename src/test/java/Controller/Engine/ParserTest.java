@@ -0,0 +1,58 @@
+package Controller.Engine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the Lexer and Parser.
+ */
+public class ParserTest {
+
+    /**
+     * Tokenises and parses the provided program.
+     *
+     * @param program The source code of the program.
+     * @return The parser, after parsing the program.
+     * @throws UnsupportedProgramException Thrown if the program is not supported.
+     */
+    private static Parser parse(String program) throws UnsupportedProgramException{
+        Parser parser = new Parser(Lexer.tokenise(program));
+        parser.parseProgram();
+        return parser;
+    }
+
+    @Test
+    public void parsesSupportedProgram() throws Exception{
+        String program = "SETUP { INPUTDELIM \";\"; OUTPUTDELIM \"|\"; }\n" + 
+                         "LET @people = READ \"people.csv\";\n" + 
+                         "LET @adults = SELECT 1, 2 FROM @people WHERE 2 >= \"18\" AND NOT (1 = \"\" OR 1 = \"-\");\n" + 
+                         "RETURN (@adults LEFT OUTER JOIN READ \"places.csv\" ON 1 = 1) ORDER BY 2 DESC LIMIT 10 OFFSET 5;\n" + 
+                         "RETURN UNIQUE TRANSPOSE (@adults UNION @people DIFFERENCE @adults);";
+
+        Parser parser = new Parser(Lexer.tokenise(program));
+        ArrayList<Statement> statements = parser.parseProgram();
+
+        assertEquals(4, statements.size());
+        assertEquals(2, parser.getSetup().size());
+        assertArrayEquals(new String[] {"INPUTDELIM", ";"}, parser.getSetup().get(0));
+        assertArrayEquals(new String[] {"OUTPUTDELIM", "|"}, parser.getSetup().get(1));
+    }
+
+    @Test
+    public void rejectsUnsupportedPrograms(){
+        // statements that write to tables
+        assertThrows(UnsupportedProgramException.class, () -> parse("INSERT VALUES (\"a\") INTO @t;"));
+        assertThrows(UnsupportedProgramException.class, () -> parse("DELETE FROM @t WHERE 1 = \"a\";"));
+
+        // incomplete or unknown syntax
+        assertThrows(UnsupportedProgramException.class, () -> parse("RETURN foo;"));
+        assertThrows(UnsupportedProgramException.class, () -> parse("RETURN READ \"a.csv\""));
+        assertThrows(UnsupportedProgramException.class, () -> parse("RETURN SELECT 1 FROM READ \"a.csv\" WHERE 1 ~ \"a\";"));
+        assertThrows(UnsupportedProgramException.class, () -> parse("SETUP { INPUTDELIM \"\"; }"));
+    }
+}
@@ -0,0 +1,109 @@
+package Controller.Engine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Benchmark comparing the sequential and parallel paths of ColumnarTable.read
+ * on a table file.
+ *
+ * Tagged "benchmark", so it is not part of the normal test run - it is run
+ * with the benchmark profile:
+ *
+ *     mvn test -P benchmark [-Dbenchmark.table=table.csv] [-Dbenchmark.delim=,] [-Dbenchmark.runs=5]
+ *
+ * Without a table, a generated table is used. Each path is run once to warm
+ * up and then the given number of times, and the median time of each is
+ * logged. The benchmark fails if both paths do not produce the same table.
+ */
+@Tag("benchmark")
+public class TableReadBenchmark {
+
+    // constants
+    private static final int DEFAULT_RUNS = 5;
+    private static final int GENERATED_ROWS = 2_000_000; /** Rows in the generated table */
+    private static final Logger logger = Logger.getLogger(TableReadBenchmark.class.getName());
+
+    @TempDir
+    Path tmpDir; /** Directory the generated table is written into */
+
+    @Test
+    public void compareSequentialAndParallelRead() throws Exception{
+        String table = System.getProperty("benchmark.table");
+        File file = (table != null) ? new File(table) : this.generateTable();
+        String delim = System.getProperty("benchmark.delim", ",");
+        int runs = Integer.getInteger("benchmark.runs", DEFAULT_RUNS);
+        int parallelism = Runtime.getRuntime().availableProcessors();
+
+        // BENCHMARKING //
+
+        ColumnarTable sequential = ColumnarTable.read(file, delim, 1);
+        ColumnarTable parallel = ColumnarTable.read(file, delim, parallelism);
+        double sequentialMillis = TableReadBenchmark.time(file, delim, 1, runs);
+        double parallelMillis = TableReadBenchmark.time(file, delim, parallelism, runs);
+
+        // REPORTING //
+
+        logger.info(String.format("%s (%d bytes, %d rows, %d columns) : sequential %.1f ms, parallel %.1f ms (%d threads), speed-up %.2fx (median of %d)",
+                                  file.getName(), file.length(), sequential.getRowCount(), sequential.getColumnCount(),
+                                  sequentialMillis, parallelMillis, parallelism, sequentialMillis / parallelMillis, runs));
+
+        // CHECKING //
+
+        assertEquals(sequential.getRowCount(), parallel.getRowCount());
+        assertEquals(sequential.getColumnCount(), parallel.getColumnCount());
+        for(int row = 0; row < sequential.getRowCount(); row++){
+            assertArrayEquals(sequential.getRow(row), parallel.getRow(row));
+        }
+    }
+
+    /**
+     * Times reading the table.
+     *
+     * @param file The table file.
+     * @param delim The delimiter used in the file.
+     * @param parallelism The number of threads used to read the table.
+     * @param runs The number of times the table is read.
+     * @return The median time taken to read the table in milliseconds.
+     * @throws Exception Thrown if the table could not be read.
+     */
+    private static double time(File file, String delim, int parallelism, int runs) throws Exception{
+        double[] millis = new double[runs];
+        for(int run = 0; run < runs; run++){
+            long start = System.nanoTime();
+            ColumnarTable.read(file, delim, parallelism);
+            millis[run] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(millis);
+        return millis[runs / 2];
+    }
+
+    /**
+     * Writes a comma separated table to benchmark with.
+     *
+     * @return The generated table file.
+     * @throws Exception Thrown if the table could not be written.
+     */
+    private File generateTable() throws Exception{
+        Path file = this.tmpDir.resolve("benchmark.csv");
+        try(BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)){
+            out.write("id,name,city,amount\n");
+            for(int row = 0; row < GENERATED_ROWS; row++){
+                out.write(row + ",name" + (row % 5000) + ",\"city, " + (row % 300) + "\"," + (row % 1000) / 10.0 + "\n");
+            }
+        }
+        return file.toFile();
+    }
+}
@@ -0,0 +1,106 @@
+package Controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the MappedCsvReader.
+ */
+public class MappedCsvReaderTest {
+
+    @TempDir
+    Path tmpDir; /** Directory the test tables are written into */
+
+    /**
+     * Writes the provided content into a new table file.
+     *
+     * @param name The name of the file.
+     * @param content The content of the file.
+     * @return The table file.
+     */
+    private File writeTable(String name, String content) throws Exception{
+        Path file = this.tmpDir.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
+
+    @Test
+    public void readsQuotedFields() throws Exception{
+        File file = this.writeTable("quoted.csv", "id,name\r\n1,\"Smith, John\"\r\n2,\"line\nbreak\"\r\n3,\"say \"\"hi\"\"\"\r\n");
+
+        try(MappedCsvReader reader = new MappedCsvReader(file, ",")){
+            assertEquals(4, reader.getRowCount());
+            assertTrue(reader.isQuoted());
+            assertArrayEquals(new String[] {"1", "Smith, John"}, reader.getRow(1));
+            assertArrayEquals(new String[] {"2", "line\nbreak"}, reader.getRow(2));
+            assertArrayEquals(new String[] {"3", "say \"hi\""}, reader.getRow(3));
+        }
+    }
+
+    @Test
+    public void keepsQuotesInsideUnquotedFields() throws Exception{
+        // a single stray quote used to swallow every row after it
+        File file = this.writeTable("stray.csv", "id,height,name\n1,5'10\",Ann\n2,6',Bob\n3,5\",\"O\"\"Neil\"\n");
+
+        try(MappedCsvReader reader = new MappedCsvReader(file, ",")){
+            assertEquals(4, reader.getRowCount());
+            assertArrayEquals(new String[] {"1", "5'10\"", "Ann"}, reader.getRow(1));
+            assertArrayEquals(new String[] {"2", "6'", "Bob"}, reader.getRow(2));
+            assertArrayEquals(new String[] {"3", "5\"", "O\"Neil"}, reader.getRow(3));
+        }
+    }
+
+    @Test
+    public void readsMultiByteDelimiter() throws Exception{
+        File file = this.writeTable("multi.txt", "a::b\n\"x::y\"::z\"\n");
+
+        try(MappedCsvReader reader = new MappedCsvReader(file, "::")){
+            assertEquals(2, reader.getRowCount());
+            assertArrayEquals(new String[] {"a", "b"}, reader.getRow(0));
+            assertArrayEquals(new String[] {"x::y", "z\""}, reader.getRow(1));
+        }
+    }
+
+    @Test
+    public void parallelIndexMatchesSequential() throws Exception{
+        // large enough to be split into ranges, with quoted line breaks and stray quotes throughout
+        StringBuilder content = new StringBuilder("id,text,size\n");
+        for(int row = 0; content.length() < 12 * 1024 * 1024; row++){
+            switch(row % 4){
+                case 0: content.append(row).append(",plain,").append(row % 97).append('\n'); break;
+                case 1: content.append(row).append(",\"multi\nline, \"\"quoted\"\"\",1\n"); break;
+                case 2: content.append(row).append(",5'10\",2\n"); break;
+                default: content.append(row).append(",a\"b\"c,\"3\"\r\n"); break;
+            }
+        }
+        File file = this.writeTable("large.csv", content.toString());
+
+        try(MappedCsvReader sequential = new MappedCsvReader(file, ",", 1);
+            MappedCsvReader parallel = new MappedCsvReader(file, ",", 4)){
+            assertEquals(sequential.getRowCount(), parallel.getRowCount());
+            for(int row = 0; row < sequential.getRowCount(); row++){
+                assertEquals(sequential.getRowStart(row), parallel.getRowStart(row));
+            }
+            assertEquals(sequential.isQuoted(), parallel.isQuoted());
+            assertArrayEquals(new String[] {"1", "multi\nline, \"quoted\"", "1"}, parallel.getRow(2));
+            assertArrayEquals(new String[] {"2", "5'10\"", "2"}, parallel.getRow(3));
+            assertArrayEquals(new String[] {"3", "a\"b\"c", "3"}, parallel.getRow(4));
+        }
+    }
+
+    @Test
+    public void detectsDelimiter() throws Exception{
+        assertEquals("\t", MappedCsvReader.detectDelimiter(this.writeTable("tabs.txt", "a\tb\tc\n1\t\"x, y\"\t3\n4\t5'6\"\t6\n")));
+        assertEquals(";", MappedCsvReader.detectDelimiter(this.writeTable("semi.csv", "a;b\n1,5;2\n3;4\n")));
+        assertEquals(",", MappedCsvReader.detectDelimiter(this.writeTable("none.csv", "single\nvalue\n")));
+    }
+}
@@ -0,0 +1,65 @@
+package Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the ProgramOutput.
+ */
+public class ProgramOutputTest {
+
+    @TempDir
+    Path tmpDir; /** Directory outputs are saved into */
+
+    @Test
+    public void savesAppendedLines() throws Exception{
+        ProgramOutput output = new ProgramOutput();
+        output.open();
+        output.appendLine("a,b");
+        output.appendLine("1,2");
+        output.close();
+
+        File saved = this.tmpDir.resolve("output.csv").toFile();
+        output.saveTo(saved);
+        assertEquals("a,b\n1,2", new String(Files.readAllBytes(saved.toPath()), StandardCharsets.UTF_8).replace(System.lineSeparator(), "\n"));
+        assertEquals(2, output.getLineCount());
+        output.discard();
+    }
+
+    @Test
+    public void ignoresLinesAfterDiscard() throws Exception{
+        ProgramOutput output = new ProgramOutput();
+        output.open();
+        output.appendLine("before");
+
+        output.discard();
+        output.appendLine("after");
+
+        // no new spill file is created for the late line
+        assertEquals(1, output.getLineCount());
+        assertEquals("", output.getContent());
+    }
+
+    @Test
+    public void deletesSpillFileOnDiscard() throws Exception{
+        File tmp = new File(System.getProperty("java.io.tmpdir"));
+        String[] before = tmp.list((dir, name) -> name.startsWith("csvql-ide-output-"));
+
+        ProgramOutput output = new ProgramOutput();
+        output.appendLine("line");
+        String[] during = tmp.list((dir, name) -> name.startsWith("csvql-ide-output-"));
+        assertTrue(during.length > before.length);
+
+        output.discard();
+        String[] after = tmp.list((dir, name) -> name.startsWith("csvql-ide-output-"));
+        assertEquals(before.length, after.length);
+    }
+}
@@ -0,0 +1,88 @@
+package Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the ResultCache - the keys of runs, and storing and loading their
+ * output.
+ */
+public class ResultCacheTest {
+
+    @TempDir
+    Path tmpDir; /** Directory the test files are written into */
+
+    /**
+     * Writes the provided content into a file.
+     *
+     * @param name The name of the file.
+     * @param content The content of the file.
+     * @return The file.
+     */
+    private File writeFile(String name, String content) throws Exception{
+        Path file = this.tmpDir.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
+
+    @Test
+    public void keyDoesNotDependOnFileOrder() throws Exception{
+        File program = this.writeFile("main.csvql", "RETURN READ \"a.csv\";");
+        File table = this.writeFile("a.csv", "1,2\n");
+
+        assertEquals(ResultCache.getKey(new ArrayList<File>(Arrays.asList(program, table))),
+                     ResultCache.getKey(new ArrayList<File>(Arrays.asList(table, program))));
+    }
+
+    @Test
+    public void keyChangesWithContent() throws Exception{
+        File program = this.writeFile("main.csvql", "RETURN READ \"a.csv\";");
+        File table = this.writeFile("a.csv", "1,2\n");
+        ArrayList<File> files = new ArrayList<File>(Arrays.asList(program, table));
+        String key = ResultCache.getKey(files);
+
+        // same length, different content (saved later)
+        long lastModified = table.lastModified();
+        this.writeFile("a.csv", "3,4\n");
+        table.setLastModified(lastModified + 2000);
+
+        assertNotEquals(key, ResultCache.getKey(files));
+    }
+
+    @Test
+    public void loadsStoredOutput() throws Exception{
+        File program = this.writeFile("main.csvql", "RETURN READ \"b.csv\";");
+        String key = ResultCache.getKey(new ArrayList<File>(Arrays.asList(program)));
+
+        ProgramOutput output = new ProgramOutput();
+        output.open();
+        output.appendLine("x,y");
+        output.appendLine("1,2");
+        output.close();
+        ResultCache.store(key, output);
+        output.discard();
+
+        ProgramOutput loaded = new ProgramOutput();
+        assertTrue(ResultCache.load(key, loaded));
+        loaded.close();
+        assertEquals(2, loaded.getLineCount());
+        assertEquals("x,y" + System.lineSeparator() + "1,2", loaded.getContent());
+        loaded.discard();
+    }
+
+    @Test
+    public void missesUnknownKey() throws Exception{
+        assertEquals(false, ResultCache.load("unknown", new ProgramOutput()));
+    }
+}